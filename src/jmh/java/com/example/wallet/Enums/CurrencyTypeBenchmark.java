@@ -0,0 +1,40 @@
+package com.example.wallet.Enums;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurrencyTypeBenchmark {
+    @Param({"USD", "JPY"})
+    private String from;
+
+    @Param({"EUR", "INR"})
+    private String to;
+
+    private CurrencyType fromCurrency;
+    private CurrencyType toCurrency;
+    private double amount;
+
+    @Setup
+    public void setUp() {
+        fromCurrency = CurrencyType.valueOf(from);
+        toCurrency = CurrencyType.valueOf(to);
+        amount = 125.75;
+    }
+
+    @Benchmark
+    public double convert() {
+        return toCurrency.fromBaseCurrency(fromCurrency.toBaseCurrency(amount));
+    }
+
+    @Benchmark
+    public double convertByName() {
+        return CurrencyType.valueOf(to).fromBaseCurrency(CurrencyType.valueOf(from).toBaseCurrency(amount));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.wallet.Exceptions;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RejectionBenchmark {
+    @Param({"10", "100"})
+    private int depth;
+
+    @Benchmark
+    public Object expectedRejection() {
+        try {
+            return throwAt(depth, true);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object stackTraceRejection() {
+        try {
+            return throwAt(depth, false);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static int throwAt(int remaining, boolean expected) {
+        if (remaining == 0) {
+            if (expected) {
+                throw new InsufficientFundsException("Insufficient funds");
+            }
+            throw new IllegalStateException("Insufficient funds");
+        }
+        return throwAt(remaining - 1, expected) + 1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.wallet.archive;
+
+import com.example.wallet.Enums.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionArchiveBenchmark {
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusMonths(1);
+
+    @Param({"100000"})
+    private int wallets;
+
+    @Param({"30"})
+    private int transactionsPerWallet;
+
+    @Param({"256", "4096"})
+    private int blockRows;
+
+    private Path directory;
+    private TransactionArchive archive;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("archive-benchmark");
+        Random random = new Random(42);
+        long id = 1;
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(directory.resolve("transactions-2025-01" + TransactionArchive.SEGMENT_SUFFIX), FROM, TO, blockRows)) {
+            for (long walletId = 1; walletId <= wallets; walletId++) {
+                LocalDateTime timestamp = FROM;
+                for (int i = 0; i < transactionsPerWallet; i++) {
+                    timestamp = timestamp.plusSeconds(1 + random.nextInt(80_000));
+                    double amount = (1 + random.nextInt(100_000)) / 100.0;
+                    if (random.nextInt(3) == 0) {
+                        long counterparty = 1 + random.nextInt(wallets);
+                        writer.write(ArchivedTransaction.inter(walletId, id++, timestamp, TransactionType.TRANSFER, amount, walletId, counterparty));
+                    } else {
+                        TransactionType type = random.nextBoolean() ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL;
+                        writer.write(ArchivedTransaction.intra(walletId, id++, timestamp, type, amount));
+                    }
+                }
+            }
+            writer.commit().close();
+        }
+        archive = new TransactionArchive(directory.toString(), new SimpleMeterRegistry());
+        System.out.printf("%n%d rows in %d bytes, %.1fx smaller than fixed-width rows%n",
+                (long) wallets * transactionsPerWallet, Files.size(directory.resolve("transactions-2025-01" + TransactionArchive.SEGMENT_SUFFIX)),
+                archive.getCompressionRatio());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        archive.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<ArchivedTransaction> readWallet() {
+        return archive.read(1 + ThreadLocalRandom.current().nextInt(wallets), null, null);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.wallet.events;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.service.WalletChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class WalletEventBusBenchmark {
+    private static final long HOT_WALLET_ID = 0L;
+    private static final long UNSUBSCRIBED_WALLET_ID = -1L;
+
+    @Param({"10000"})
+    private int idleSubscribers;
+
+    private WalletEventBus walletEventBus;
+    private WalletSubscription hotSubscription;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder resubscribed = new LongAdder();
+    private WalletChangedEvent hotEvent;
+    private WalletChangedEvent unsubscribedEvent;
+
+    @Setup
+    public void setUp() {
+        walletEventBus = new WalletEventBus(new SimpleMeterRegistry(), 1024, idleSubscribers + 16, TimeUnit.MINUTES.toMillis(10));
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        for (long walletId = 1; walletId <= idleSubscribers; walletId++) {
+            walletEventBus.subscribe(walletId, new CountingSink(new LongAdder()));
+        }
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%nHolding %d idle subscribers on virtual threads, ~%d bytes of heap each%n",
+                walletEventBus.getSubscriberCount(), (heapAfter - heapBefore) / Math.max(1, idleSubscribers));
+
+        hotSubscription = walletEventBus.subscribe(HOT_WALLET_ID, new CountingSink(delivered));
+        hotEvent = new WalletChangedEvent(HOT_WALLET_ID, 100.0, TransactionType.DEPOSIT, 10.0, null);
+        unsubscribedEvent = new WalletChangedEvent(UNSUBSCRIBED_WALLET_ID, 100.0, TransactionType.DEPOSIT, 10.0, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nDelivered %d events to the hot subscriber, resubscribed %d times after eviction%n",
+                delivered.sum(), resubscribed.sum());
+        walletEventBus.close();
+    }
+
+    @Benchmark
+    public void publishWithoutSubscribers() {
+        walletEventBus.publish(unsubscribedEvent);
+    }
+
+    @Benchmark
+    public void publishToSubscribedWallet() {
+        if (hotSubscription.isClosed()) {
+            resubscribed.increment();
+            hotSubscription = walletEventBus.subscribe(HOT_WALLET_ID, new CountingSink(delivered));
+        }
+        walletEventBus.publish(hotEvent);
+    }
+
+    @Benchmark
+    public WalletSubscription subscribeAndClose() {
+        WalletSubscription subscription = walletEventBus.subscribe(UNSUBSCRIBED_WALLET_ID, new CountingSink(delivered));
+        subscription.close();
+        return subscription;
+    }
+
+    private record CountingSink(LongAdder counter) implements WalletUpdateSink {
+        @Override
+        public void send(WalletChangedEvent event) {
+            counter.increment();
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.wallet.hold;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.WalletApplication;
+import com.example.wallet.model.User;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.CurrencyConversionService;
+import com.example.wallet.service.TransactionService;
+import com.example.wallet.service.UserService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Compares {@link TransactionService#transfer}, which holds the sender's row lock across the FX call, with
+ * {@link HoldTransferService#transfer} on a booted application backed by in-memory H2. Every thread sends from the
+ * same hot wallet, and the conversion call is delayed by {@code fxLatencyMicros} to model a remote FX service.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class HoldTransferBenchmark {
+    private static final String PASSWORD = "password";
+    private static final String SENDER = "benchmark-sender";
+    private static final Double AMOUNT = 1.0;
+
+    @Param({"0", "2000"})
+    private long fxLatencyMicros;
+
+    @Param({"16"})
+    private int recipients;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private HoldTransferService holdTransferService;
+    private long senderUserId;
+    private long senderWalletId;
+    private long[] recipientWalletIds;
+    private final AtomicInteger nextRecipient = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:hold-benchmark;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", 32);
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("wallet.conversion-server.enabled", true);
+        properties.put("grpc.server.in-process-name", "hold-benchmark-conversion");
+        properties.put("wallet.ledger.enabled", false);
+        properties.put("wallet.holds.enabled", true);
+        context = new SpringApplicationBuilder(WalletApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(new DelayedConversion(fxLatencyMicros)))
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        holdTransferService = context.getBean(HoldTransferService.class);
+
+        UserService userService = context.getBean(UserService.class);
+        WalletRepository walletRepository = context.getBean(WalletRepository.class);
+        User sender = userService.registerUser(SENDER, PASSWORD, CurrencyType.INR);
+        senderUserId = sender.getId();
+        senderWalletId = walletRepository.findIdByUserId(sender.getId()).orElseThrow();
+        recipientWalletIds = new long[recipients];
+        for (int i = 0; i < recipients; i++) {
+            User recipient = userService.registerUser("benchmark-recipient-" + i, PASSWORD, CurrencyType.USD);
+            recipientWalletIds[i] = walletRepository.findIdByUserId(recipient.getId()).orElseThrow();
+        }
+        authenticate();
+        transactionService.createTransaction(senderUserId, senderWalletId, null, 1.0e12, "deposit");
+        SecurityContextHolder.clearContext();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(SENDER, PASSWORD));
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private long recipientWalletId;
+
+        @Setup(Level.Trial)
+        public void setUp(HoldTransferBenchmark benchmark) {
+            recipientWalletId = benchmark.recipientWalletIds[benchmark.nextRecipient.getAndIncrement() % benchmark.recipients];
+            authenticate();
+        }
+    }
+
+    @Benchmark
+    public Double lockedTransfer(Caller caller) {
+        return transactionService.transfer(senderUserId, senderWalletId, caller.recipientWalletId, AMOUNT);
+    }
+
+    @Benchmark
+    public Double holdTransfer(Caller caller) {
+        return holdTransferService.transfer(senderUserId, senderWalletId, caller.recipientWalletId, AMOUNT);
+    }
+
+    private record DelayedConversion(long latencyMicros) implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (latencyMicros == 0 || !(bean instanceof CurrencyConversionService)) {
+                return bean;
+            }
+            CurrencyConversionService delayed = Mockito.spy((CurrencyConversionService) bean);
+            doAnswer(invocation -> {
+                Thread.sleep(latencyMicros / 1000, (int) (latencyMicros % 1000) * 1000);
+                return invocation.callRealMethod();
+            }).when(delayed).convert(any(), any(), any());
+            return delayed;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.wallet.ledger;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LedgerEngineBenchmark {
+    private static final int JOURNAL_CAPACITY = 1 << 20;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Param({"striped", "pipeline"})
+    private String engineType;
+
+    @Param({"100000"})
+    private int wallets;
+
+    private Path directory;
+    private LedgerJournal journal;
+    private LedgerEngine engine;
+    private Thread flusher;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ledger-benchmark");
+        int segments = "pipeline".equals(engineType) ? 4 : 64;
+        journal = new LedgerJournal(directory.resolve("ledger.journal"), segments, JOURNAL_CAPACITY / segments);
+        engine = "pipeline".equals(engineType)
+                ? new ShardedLedgerPipeline(segments, 4096, 64, journal, walletId -> 1.0e9)
+                : new StripedLedger(segments, journal, walletId -> 1.0e9);
+        if (engine instanceof ShardedLedgerPipeline pipeline) {
+            pipeline.start();
+        }
+        flusher = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                journal.markAllFlushed();
+                LockSupport.parkNanos(FLUSH_INTERVAL_NANOS);
+            }
+        }, "ledger-benchmark-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        flusher.interrupt();
+        flusher.join();
+        if (engine instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        journal.close();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public double deposit() {
+        return engine.deposit(ThreadLocalRandom.current().nextLong(wallets), 1.0);
+    }
+
+    @Benchmark
+    public double transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long sender = random.nextLong(wallets);
+        long recipient = random.nextLong(wallets);
+        if (sender == recipient) {
+            recipient = (recipient + 1) % wallets;
+        }
+        return engine.transfer(sender, recipient, 1.0, 1.0);
+    }
+}
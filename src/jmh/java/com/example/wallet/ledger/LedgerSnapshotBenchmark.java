@@ -0,0 +1,60 @@
+package com.example.wallet.ledger;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LedgerSnapshotBenchmark {
+    @Param({"1000000", "10000000"})
+    private int wallets;
+
+    private Path directory;
+    private LedgerJournal journal;
+    private LedgerSnapshotStore store;
+    private StripedLedger source;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ledger-snapshot-benchmark");
+        journal = new LedgerJournal(directory.resolve("ledger.journal"), 64, 1024);
+        store = new LedgerSnapshotStore(directory.resolve("ledger.snapshot"), journal, null, null, null);
+        source = new StripedLedger(64, journal, walletId -> 0.0);
+        for (long walletId = 1; walletId <= wallets; walletId++) {
+            source.restore(walletId, walletId * 0.5);
+        }
+        store.write(source);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public LedgerEngine restore() {
+        StripedLedger engine = new StripedLedger(64, journal, walletId -> 0.0);
+        store.restore(engine);
+        return engine;
+    }
+
+    @Benchmark
+    public LedgerSnapshot write() {
+        return store.write(source);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.WalletApplication;
+import com.example.wallet.model.User;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.TransactionService;
+import com.example.wallet.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives {@link TransactionService#createTransaction} on a booted application backed by in-memory H2, comparing the
+ * {@code @Transactional} database path with the striped and pipelined ledger engines behind the same entry point.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TransactionPathBenchmark {
+    private static final String PASSWORD = "password";
+
+    @Param({"transactional", "striped", "pipeline"})
+    private String path;
+
+    @Param({"64"})
+    private int users;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private long[] userIds;
+    private long[] walletIds;
+    private final AtomicInteger nextUser = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("transaction-path-benchmark");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", 16);
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("wallet.conversion-server.enabled", true);
+        properties.put("grpc.server.in-process-name", "benchmark-conversion");
+        properties.put("wallet.ledger.enabled", !"transactional".equals(path));
+        properties.put("wallet.ledger.engine", path);
+        properties.put("wallet.ledger.journal-path", directory.resolve("ledger.journal").toString());
+        properties.put("wallet.ledger.snapshot-path", directory.resolve("ledger.snapshot").toString());
+        context = new SpringApplicationBuilder(WalletApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+
+        UserService userService = context.getBean(UserService.class);
+        WalletRepository walletRepository = context.getBean(WalletRepository.class);
+        userIds = new long[users];
+        walletIds = new long[users];
+        for (int i = 0; i < users; i++) {
+            User user = userService.registerUser(username(i), PASSWORD, CurrencyType.INR);
+            userIds[i] = user.getId();
+            walletIds[i] = walletRepository.findIdByUserId(user.getId()).orElseThrow();
+            authenticate(i);
+            transactionService.createTransaction(userIds[i], walletIds[i], null, 1.0e12, "deposit");
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private static String username(int index) {
+        return "benchmark-" + index;
+    }
+
+    private static void authenticate(int index) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username(index), PASSWORD));
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private int index;
+
+        @Setup(Level.Trial)
+        public void setUp(TransactionPathBenchmark benchmark) {
+            index = benchmark.nextUser.getAndIncrement() % benchmark.users;
+            authenticate(index);
+        }
+    }
+
+    @Benchmark
+    public void deposit(Caller caller) {
+        transactionService.createTransaction(userIds[caller.index], walletIds[caller.index], null, 1.0, "deposit");
+    }
+
+    @Benchmark
+    public void transfer(Caller caller) {
+        int recipient = ThreadLocalRandom.current().nextInt(users - 1);
+        if (recipient >= caller.index) {
+            recipient++;
+        }
+        transactionService.createTransaction(userIds[caller.index], walletIds[caller.index], walletIds[recipient], 1.0, "transfer");
+    }
+}
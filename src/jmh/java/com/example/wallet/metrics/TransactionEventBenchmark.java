@@ -0,0 +1,67 @@
+package com.example.wallet.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionEventBenchmark {
+    @Param({"disabled", "enabled"})
+    private String recording;
+
+    private TransactionMetrics transactionMetrics;
+    private Recording jfrRecording;
+
+    @Setup
+    public void setUp() {
+        transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+        if ("enabled".equals(recording)) {
+            jfrRecording = new Recording();
+            jfrRecording.enable(TransactionEvent.class).withoutStackTrace();
+            jfrRecording.enable(CurrencyConversionEvent.class).withoutStackTrace();
+            jfrRecording.setToDisk(false);
+            jfrRecording.start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (jfrRecording != null) {
+            jfrRecording.close();
+        }
+    }
+
+    @Benchmark
+    public TransactionTiming transactionTiming() {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.TRANSFER, 42L, 250.0);
+        timing.phase(TransactionPhase.AUTH);
+        timing.phase(TransactionPhase.DB_READ);
+        timing.phase(TransactionPhase.FX);
+        timing.phase(TransactionPhase.DB_WRITE);
+        timing.succeeded();
+        timing.stop();
+        return timing;
+    }
+
+    @Benchmark
+    public CurrencyConversionEvent currencyConversionEvent() {
+        CurrencyConversionEvent event = new CurrencyConversionEvent();
+        event.begin();
+        event.end();
+        if (event.shouldCommit()) {
+            event.fromCurrency = "USD";
+            event.toCurrency = "INR";
+            event.amountBucket = AmountBucket.of(250.0);
+            event.outcome = "success";
+            event.commit();
+        }
+        return event;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.wallet.model;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WalletBenchmark {
+    private Wallet wallet;
+    private Wallet emptyWallet;
+    private Double amount;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        wallet = new Wallet(CurrencyType.INR);
+        wallet.setBalance(1.0e15);
+        emptyWallet = new Wallet(CurrencyType.INR);
+        amount = 10.0;
+    }
+
+    @Benchmark
+    public Double deposit() {
+        return wallet.deposit(amount);
+    }
+
+    @Benchmark
+    public Double withdraw() {
+        return wallet.withdraw(amount);
+    }
+
+    @Benchmark
+    public Object withdrawInsufficientFunds() {
+        try {
+            return emptyWallet.withdraw(amount);
+        } catch (InsufficientFundsException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.wallet.partition;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a monthly range-partitioned transactions table with a plain one on a real Postgres instance.
+ * Point it at a scratch database with {@code -Dwallet.bench.jdbc-url=...}; the first trial seeds
+ * {@code rows} rows per layout and later runs reuse them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PartitionedTransactionBenchmark {
+    private static final String JDBC_URL = System.getProperty("wallet.bench.jdbc-url", "jdbc:postgresql://localhost:5432/wallet_bench");
+    private static final String USERNAME = System.getProperty("wallet.bench.username", "postgres");
+    private static final String PASSWORD = System.getProperty("wallet.bench.password", "admin");
+    private static final int MONTHS = 36;
+    private static final int WALLETS = 1_000_000;
+
+    @Param({"flat", "partitioned"})
+    private String layout;
+
+    @Param({"100000000"})
+    private long rows;
+
+    private String table;
+    private LocalDate firstMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        table = "bench_transactions_" + layout;
+        firstMonth = LocalDate.now().withDayOfMonth(1).minusMonths(MONTHS - 1);
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            if (isSeeded(statement)) {
+                return;
+            }
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            String columns = "(id bigserial, wallet_id bigint NOT NULL, type varchar(255), amount double precision, \"timestamp\" timestamp(6) NOT NULL";
+            if ("partitioned".equals(layout)) {
+                statement.execute("CREATE TABLE " + table + columns + ", PRIMARY KEY (id, \"timestamp\")) PARTITION BY RANGE (\"timestamp\")");
+                for (int i = 0; i < MONTHS + 3; i++) {
+                    LocalDate month = firstMonth.plusMonths(i);
+                    statement.execute("CREATE TABLE " + table + "_p" + i + " PARTITION OF " + table
+                            + " FOR VALUES FROM ('" + month + "') TO ('" + month.plusMonths(1) + "')");
+                }
+            } else {
+                statement.execute("CREATE TABLE " + table + columns + ", PRIMARY KEY (id))");
+            }
+            statement.execute("INSERT INTO " + table + " (wallet_id, type, amount, \"timestamp\")"
+                    + " SELECT (random() * " + (WALLETS - 1) + ")::bigint + 1, 'DEPOSIT', round((random() * 1000)::numeric, 2),"
+                    + " timestamp '" + firstMonth + "' + (g / " + rows + "::double precision) * (now() - timestamp '" + firstMonth + "')"
+                    + " FROM generate_series(0, " + (rows - 1) + ") g");
+            statement.execute("CREATE INDEX ON " + table + " (wallet_id, \"timestamp\")");
+            statement.execute("VACUUM ANALYZE " + table);
+        }
+    }
+
+    private boolean isSeeded(Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('" + table + "')")) {
+            return resultSet.next() && Math.abs(resultSet.getLong(1) - rows) <= rows / 100;
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(JDBC_URL, USERNAME, PASSWORD);
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        private Connection connection;
+        private PreparedStatement insert;
+        private PreparedStatement walletRange;
+        private PreparedStatement dayRange;
+
+        @Setup(Level.Trial)
+        public void open(PartitionedTransactionBenchmark benchmark) throws SQLException {
+            connection = connect();
+            insert = connection.prepareStatement("INSERT INTO " + benchmark.table + " (wallet_id, type, amount, \"timestamp\") VALUES (?, 'DEPOSIT', ?, ?)");
+            walletRange = connection.prepareStatement("SELECT count(*), sum(amount) FROM " + benchmark.table
+                    + " WHERE wallet_id = ? AND \"timestamp\" >= ? AND \"timestamp\" < ?");
+            dayRange = connection.prepareStatement("SELECT count(*) FROM " + benchmark.table + " WHERE \"timestamp\" >= ? AND \"timestamp\" < ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int insert(Session session) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        session.insert.setLong(1, random.nextLong(1, WALLETS + 1));
+        session.insert.setDouble(2, random.nextInt(1, 100_000) / 100.0);
+        session.insert.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+        return session.insert.executeUpdate();
+    }
+
+    @Benchmark
+    public long walletLastThirtyDays(Session session) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        session.walletRange.setLong(1, ThreadLocalRandom.current().nextLong(1, WALLETS + 1));
+        session.walletRange.setTimestamp(2, Timestamp.valueOf(now.minusDays(30)));
+        session.walletRange.setTimestamp(3, Timestamp.valueOf(now));
+        try (ResultSet resultSet = session.walletRange.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public long allWalletsOneDay(Session session) throws SQLException {
+        LocalDateTime day = firstMonth.atStartOfDay().plusDays(ThreadLocalRandom.current().nextInt(MONTHS * 30));
+        session.dayRange.setTimestamp(1, Timestamp.valueOf(day));
+        session.dayRange.setTimestamp(2, Timestamp.valueOf(day.plusDays(1)));
+        try (ResultSet resultSet = session.dayRange.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
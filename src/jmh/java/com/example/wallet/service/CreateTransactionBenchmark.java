@@ -0,0 +1,82 @@
+package com.example.wallet.service;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.archive.TransactionArchive;
+import com.example.wallet.cache.WalletVersionTracker;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.model.User;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.UserRepository;
+import com.example.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateTransactionBenchmark {
+    private static final Long USER_ID = 1L;
+    private static final Long WALLET_ID = 1L;
+    private static final Long RECIPIENT_WALLET_ID = 2L;
+
+    @Param({"deposit", "withdrawal", "transfer"})
+    private String transactionType;
+
+    private TransactionService transactionService;
+    private Double amount;
+
+    @Setup
+    public void setUp() {
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        WalletRepository walletRepository = mock(WalletRepository.class, withSettings().stubOnly());
+        IntraTransactionRepository intraTransactionRepository = mock(IntraTransactionRepository.class, withSettings().stubOnly());
+        InterTransactionRepository interTransactionRepository = mock(InterTransactionRepository.class, withSettings().stubOnly());
+        CurrencyConversionService currencyConversionService = mock(CurrencyConversionService.class, withSettings().stubOnly());
+
+        User user = new User("benchmark", "password", CurrencyType.INR);
+        Wallet wallet = new Wallet(CurrencyType.INR);
+        wallet.setBalance(1.0e15);
+        Wallet recipientWallet = new Wallet(CurrencyType.USD);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(walletRepository.findIdByUserId(USER_ID)).thenReturn(Optional.of(WALLET_ID));
+        when(walletRepository.findByIdForUpdate(WALLET_ID)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findByIdForUpdate(RECIPIENT_WALLET_ID)).thenReturn(Optional.of(recipientWallet));
+        when(walletRepository.save(any(Wallet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(currencyConversionService.convert(anyString(), anyString(), anyDouble())).thenAnswer(invocation -> invocation.getArgument(2));
+
+        transactionService = new TransactionService(userRepository, walletRepository, intraTransactionRepository,
+                interTransactionRepository, currencyConversionService, new SyncTaskExecutor(), new TransactionMetrics(new SimpleMeterRegistry()), event -> {}, new WalletVersionTracker(), mock(TransactionArchive.class, withSettings().stubOnly()));
+        amount = 10.0;
+
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("benchmark", "password"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void createTransaction() {
+        transactionService.createTransaction(USER_ID, WALLET_ID, RECIPIENT_WALLET_ID, amount, transactionType);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.wallet.service;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.model.IntraTransaction;
+import com.example.wallet.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class HistorySortBenchmark {
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"timestamp", "amount,timestamp"})
+    private String sortBy;
+
+    @Param({"DESC"})
+    private String sortOrder;
+
+    private List<Object> transactions;
+    private List<HistoryEntry> entries;
+    private List<String> sortByList;
+    private List<String> sortOrderList;
+
+    @Setup
+    public void setUp() {
+        sortByList = Arrays.asList(sortBy.split(","));
+        sortOrderList = Arrays.asList(sortOrder.split(","));
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        Wallet wallet = new Wallet();
+        transactions = new ArrayList<>(size);
+        entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime timestamp = start.plusSeconds(random.nextInt(31_536_000));
+            double amount = 1 + random.nextInt(10_000);
+            if (random.nextInt(3) == 0) {
+                InterTransaction transaction = new InterTransaction(wallet, wallet, TransactionType.TRANSFER, amount, timestamp);
+                transactions.add(transaction);
+                entries.add(HistoryEntry.of(transaction));
+            } else {
+                IntraTransaction transaction = new IntraTransaction(wallet, TransactionType.DEPOSIT, amount, timestamp);
+                transactions.add(transaction);
+                entries.add(HistoryEntry.of(transaction));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Object> legacyComparator() {
+        List<Object> sorted = new ArrayList<>(transactions);
+        sorted.sort(legacyComparator(sortOrderList, sortByList));
+        return sorted;
+    }
+
+    @Benchmark
+    public List<HistoryEntry> compiledSortSpec() {
+        List<HistoryEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(HistorySortSpec.compile(sortByList, sortOrderList).getComparator());
+        return sorted;
+    }
+
+    @Benchmark
+    public List<HistoryEntry> compiledSortSpecIncludingMapping() {
+        List<HistoryEntry> sorted = new ArrayList<>(transactions.size());
+        for (Object transaction : transactions) {
+            sorted.add(transaction instanceof IntraTransaction intraTransaction
+                    ? HistoryEntry.of(intraTransaction) : HistoryEntry.of((InterTransaction) transaction));
+        }
+        sorted.sort(HistorySortSpec.compile(sortByList, sortOrderList).getComparator());
+        return sorted;
+    }
+
+    private static Comparator<Object> legacyComparator(List<String> sortOrderList, List<String> sortByList) {
+        return (transaction1, transaction2) -> {
+            int comparisonResult = 0;
+            for (int i = 0; i < sortByList.size(); i++) {
+                String sortByField = sortByList.get(i);
+                boolean isDesc = (sortOrderList.size() > i && "DESC".equalsIgnoreCase(sortOrderList.get(i)));
+
+                if (sortByField.equalsIgnoreCase("timestamp")) {
+                    comparisonResult = getTransactionValue(transaction1, IntraTransaction::getTimestamp, InterTransaction::getTimestamp)
+                            .compareTo(getTransactionValue(transaction2, IntraTransaction::getTimestamp, InterTransaction::getTimestamp));
+                } else if (sortByField.equalsIgnoreCase("amount")) {
+                    comparisonResult = getTransactionValue(transaction1, IntraTransaction::getAmount, InterTransaction::getAmount)
+                            .compareTo(getTransactionValue(transaction2, IntraTransaction::getAmount, InterTransaction::getAmount));
+                }
+                if (comparisonResult != 0) {
+                    return isDesc ? -comparisonResult : comparisonResult;
+                }
+            }
+            return comparisonResult;
+        };
+    }
+
+    private static <T> T getTransactionValue(Object transaction, Function<IntraTransaction, T> intraMapper, Function<InterTransaction, T> interMapper) {
+        if (transaction instanceof IntraTransaction) {
+            return intraMapper.apply((IntraTransaction) transaction);
+        } else {
+            return interMapper.apply((InterTransaction) transaction);
+        }
+    }
+}
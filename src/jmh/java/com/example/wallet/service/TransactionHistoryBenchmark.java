@@ -0,0 +1,115 @@
+package com.example.wallet.service;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.archive.TransactionArchive;
+import com.example.wallet.cache.WalletVersionTracker;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.model.IntraTransaction;
+import com.example.wallet.model.User;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.UserRepository;
+import com.example.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionHistoryBenchmark {
+    private static final Long USER_ID = 1L;
+    private static final Long WALLET_ID = 1L;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"timestamp", "amount,timestamp"})
+    private String sortBy;
+
+    @Param({"DESC"})
+    private String sortOrder;
+
+    @Param({"ALL", "DEPOSIT,TRANSFER"})
+    private String type;
+
+    private TransactionService transactionService;
+    private String transactionType;
+
+    @Setup
+    public void setUp() {
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        WalletRepository walletRepository = mock(WalletRepository.class, withSettings().stubOnly());
+        IntraTransactionRepository intraTransactionRepository = mock(IntraTransactionRepository.class, withSettings().stubOnly());
+        InterTransactionRepository interTransactionRepository = mock(InterTransactionRepository.class, withSettings().stubOnly());
+        CurrencyConversionService currencyConversionService = mock(CurrencyConversionService.class, withSettings().stubOnly());
+
+        User user = new User("benchmark", "password", CurrencyType.INR);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(walletRepository.findIdByUserId(USER_ID)).thenReturn(Optional.of(WALLET_ID));
+
+        HistorySortSpec sortSpec = HistorySortSpec.compile(Arrays.asList(sortBy.split(",")), Arrays.asList(sortOrder.split(",")));
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        Wallet wallet = new Wallet(CurrencyType.INR);
+        Wallet counterparty = new Wallet(CurrencyType.USD);
+        List<HistoryEntry> intraEntries = new ArrayList<>();
+        List<HistoryEntry> interEntries = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            LocalDateTime timestamp = start.plusSeconds(random.nextInt(31_536_000));
+            double amount = 1 + random.nextInt(10_000);
+            if (random.nextInt(3) == 0) {
+                interEntries.add(HistoryEntry.of(new InterTransaction(wallet, counterparty, TransactionType.TRANSFER, amount, timestamp)));
+            } else {
+                TransactionType intraType = random.nextBoolean() ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL;
+                intraEntries.add(HistoryEntry.of(new IntraTransaction(wallet, intraType, amount, timestamp)));
+            }
+        }
+        intraEntries.sort(sortSpec.getComparator());
+        interEntries.sort(sortSpec.getComparator());
+        List<IntraTransaction> intraTransactions = intraEntries.stream().map(entry -> (IntraTransaction) entry.transaction()).toList();
+        List<InterTransaction> interTransactions = interEntries.stream().map(entry -> (InterTransaction) entry.transaction()).toList();
+        when(intraTransactionRepository.findByWalletId(anyLong(), any(Sort.class))).thenReturn(intraTransactions);
+        when(interTransactionRepository.findByWalletId(anyLong(), any(Sort.class))).thenReturn(interTransactions);
+
+        transactionService = new TransactionService(userRepository, walletRepository, intraTransactionRepository,
+                interTransactionRepository, currencyConversionService, new SyncTaskExecutor(), new TransactionMetrics(new SimpleMeterRegistry()), event -> {}, new WalletVersionTracker(), mock(TransactionArchive.class, withSettings().stubOnly()));
+        transactionType = "ALL".equals(type) ? null : type;
+
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("benchmark", "password"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public List<Object> getTransactions() {
+        return transactionService.getTransactions(USER_ID, WALLET_ID, sortBy, sortOrder, transactionType);
+    }
+}
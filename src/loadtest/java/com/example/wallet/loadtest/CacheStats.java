@@ -0,0 +1,44 @@
+package com.example.wallet.loadtest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+public class CacheStats {
+    private final Statistics statistics;
+
+    public CacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public void report(PrintStream out) {
+        if (!statistics.isStatisticsEnabled()) {
+            out.println("Hibernate statistics are disabled; no cache hit ratios available");
+            return;
+        }
+        out.printf("%n%-34s %10s %10s %10s %9s%n", "cache region", "hits", "misses", "puts", "hit ratio");
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                print(out, regionName, region.getHitCount(), region.getMissCount(), region.getPutCount());
+            }
+        }
+        print(out, "(all query caches)", statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+        out.printf("%-34s %10d%n", "(statements prepared)", statistics.getPrepareStatementCount());
+    }
+
+    private static void print(PrintStream out, String name, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        out.printf("%-34s %10d %10d %10d %8.1f%%%n", name, hits, misses, puts, lookups == 0 ? 0.0 : 100.0 * hits / lookups);
+    }
+}
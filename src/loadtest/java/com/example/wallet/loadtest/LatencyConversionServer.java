@@ -0,0 +1,69 @@
+package com.example.wallet.loadtest;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.conversion.CrossRateMatrix;
+import conversion.Conversion.ConvertRequest;
+import conversion.Conversion.ConvertResponse;
+import conversion.ConversionServiceGrpc;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyConversionServer extends ConversionServiceGrpc.ConversionServiceImplBase implements AutoCloseable {
+    private final CrossRateMatrix rates = CrossRateMatrix.defaults();
+    private final long latencyMicros;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fx-latency");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Server server;
+
+    public LatencyConversionServer(long latencyMicros) {
+        this.latencyMicros = latencyMicros;
+    }
+
+    public int start() throws IOException {
+        server = ServerBuilder.forPort(0).addService(this).build().start();
+        return server.getPort();
+    }
+
+    @Override
+    public void convert(ConvertRequest request, StreamObserver<ConvertResponse> responseObserver) {
+        CurrencyType from;
+        CurrencyType to;
+        try {
+            from = CurrencyType.valueOf(request.getFromCurrency());
+            to = CurrencyType.valueOf(request.getToCurrency());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        ConvertResponse response = ConvertResponse.newBuilder()
+                .setConvertedAmount(rates.convert(from, to, request.getAmount()))
+                .build();
+        if (latencyMicros <= 0) {
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+            return;
+        }
+        scheduler.schedule(() -> {
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        }, latencyMicros, TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (server != null) {
+            server.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        scheduler.shutdownNow();
+    }
+}
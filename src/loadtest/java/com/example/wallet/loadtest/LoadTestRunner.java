@@ -0,0 +1,174 @@
+package com.example.wallet.loadtest;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.WalletApplication;
+import com.example.wallet.model.User;
+import com.example.wallet.repository.UserRepository;
+import com.example.wallet.repository.WalletRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class LoadTestRunner {
+    private static final CurrencyType[] CURRENCIES = CurrencyType.values();
+    private static final String PASSWORD = "loadtest";
+
+    private final LoadTestSettings settings;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private volatile boolean running = true;
+
+    public LoadTestRunner(LoadTestSettings settings) {
+        this.settings = settings;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> weight : settings.mix().entrySet()) {
+            if (weight.getValue() > 0) {
+                total += weight.getValue();
+                weighted.add(weight.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.operations = weighted.toArray(new Operation[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (LatencyConversionServer conversionServer = new LatencyConversionServer(settings.fxLatencyMicros())) {
+            int grpcPort = conversionServer.start();
+            try (ConfigurableApplicationContext context = startApplication(settings, grpcPort)) {
+                new LoadTestRunner(settings).run(context);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings, int grpcPort) throws IOException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", 20);
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("wallet.hibernate-statistics.enabled", true);
+        properties.put("grpc.server.host", "localhost");
+        properties.put("grpc.server.port", grpcPort);
+        properties.put("spring.threads.virtual.enabled", settings.virtualThreads());
+        properties.put("wallet.ledger.enabled", settings.ledger());
+        if (settings.ledger()) {
+            Path ledgerDirectory = Files.createTempDirectory("wallet-loadtest");
+            properties.put("wallet.ledger.journal-path", ledgerDirectory.resolve("ledger.journal").toString());
+            properties.put("wallet.ledger.snapshot-path", ledgerDirectory.resolve("ledger.snapshot").toString());
+        }
+        return new SpringApplicationBuilder(WalletApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    public void run(ConfigurableApplicationContext context) throws Exception {
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        WalletClient client = new WalletClient(baseUrl);
+        List<SyntheticUser> users = registerUsers(client, context.getBean(UserRepository.class), context.getBean(WalletRepository.class));
+
+        System.out.printf("Registered %d users; running %d clients for %d s warm-up and %d s measurement (fx latency %d us, virtual threads %s, ledger %s)%n",
+                users.size(), settings.concurrency(), settings.warmupSeconds(), settings.durationSeconds(),
+                settings.fxLatencyMicros(), settings.virtualThreads(), settings.ledger());
+
+        CacheStats cacheStats = new CacheStats(context.getBean(EntityManagerFactory.class));
+        ExecutorService clients = Executors.newFixedThreadPool(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            clients.submit(() -> drive(client, users));
+        }
+        TimeUnit.SECONDS.sleep(settings.warmupSeconds());
+        stats.values().forEach(OperationStats::reset);
+        cacheStats.reset();
+        long measurementStart = System.nanoTime();
+        TimeUnit.SECONDS.sleep(settings.durationSeconds());
+        double elapsedSeconds = (System.nanoTime() - measurementStart) / 1_000_000_000.0;
+        running = false;
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        OperationStats.printHeader(System.out);
+        for (Operation operation : operations) {
+            stats.get(operation).report(System.out, elapsedSeconds);
+        }
+        cacheStats.report(System.out);
+    }
+
+    private List<SyntheticUser> registerUsers(WalletClient client, UserRepository userRepository, WalletRepository walletRepository) throws IOException, InterruptedException {
+        String prefix = "load" + System.currentTimeMillis() + "-";
+        List<SyntheticUser> users = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            String username = prefix + i;
+            int status = client.register(username, PASSWORD, CURRENCIES[i % CURRENCIES.length].name());
+            if (status != 200) {
+                throw new IllegalStateException("Registration of " + username + " failed with HTTP " + status);
+            }
+            User user = userRepository.findByUsername(username).orElseThrow();
+            Long walletId = walletRepository.findIdByUserId(user.getId()).orElseThrow();
+            SyntheticUser syntheticUser = new SyntheticUser(username, user.getId(), walletId, WalletClient.basicAuthorization(username, PASSWORD));
+            int depositStatus = client.transact(syntheticUser, "deposit", settings.initialBalance(), null);
+            if (depositStatus != 200) {
+                throw new IllegalStateException("Initial deposit for " + username + " failed with HTTP " + depositStatus);
+            }
+            users.add(syntheticUser);
+        }
+        return users;
+    }
+
+    private void drive(WalletClient client, List<SyntheticUser> users) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            Operation operation = nextOperation(random);
+            SyntheticUser user = users.get(random.nextInt(users.size()));
+            double amount = 1 + random.nextInt(100);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = switch (operation) {
+                    case DEPOSIT -> client.transact(user, "deposit", amount, null);
+                    case WITHDRAWAL -> client.transact(user, "withdrawal", amount, null);
+                    case TRANSFER -> client.transact(user, "transfer", amount, users.get(random.nextInt(users.size())).walletId());
+                    case HISTORY -> client.history(user, "timestamp", "DESC");
+                };
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.get(operation).record(System.nanoTime() - start, status);
+        }
+    }
+
+    private Operation nextOperation(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
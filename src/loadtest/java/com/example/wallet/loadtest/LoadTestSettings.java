@@ -0,0 +1,41 @@
+package com.example.wallet.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public record LoadTestSettings(int users, int concurrency, int warmupSeconds, int durationSeconds,
+                               long fxLatencyMicros, boolean virtualThreads, boolean ledger,
+                               double initialBalance, Map<Operation, Integer> mix) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 1000),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Integer.getInteger("loadtest.warmupSeconds", 10),
+                Integer.getInteger("loadtest.durationSeconds", 60),
+                Long.getLong("loadtest.fxLatencyMicros", 2000L),
+                Boolean.getBoolean("loadtest.virtualThreads"),
+                Boolean.getBoolean("loadtest.ledger"),
+                Double.parseDouble(System.getProperty("loadtest.initialBalance", "100000")),
+                parseMix(System.getProperty("loadtest.mix", "deposit=40,withdrawal=30,transfer=20,history=10")));
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Invalid operation weight: " + part);
+            }
+            int value = Integer.parseInt(weight[1].trim());
+            if (value < 0) {
+                throw new IllegalArgumentException("Operation weight must not be negative: " + part);
+            }
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), value);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one operation must have a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.wallet.loadtest;
+
+public enum Operation {
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER,
+    HISTORY
+}
@@ -0,0 +1,59 @@
+package com.example.wallet.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationStats {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Operation operation;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (status >= 200 && status < 300) {
+            succeeded.increment();
+        } else if (status >= 400 && status < 500) {
+            rejected.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    public void reset() {
+        recorder.reset();
+        succeeded.reset();
+        rejected.reset();
+        failed.reset();
+    }
+
+    public void report(PrintStream out, double elapsedSeconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long total = histogram.getTotalCount();
+        out.printf("%-10s %10d %10.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation.name().toLowerCase(), total, total / elapsedSeconds, rejected.sum(), failed.sum(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    public static void printHeader(PrintStream out) {
+        out.printf("%-10s %10s %10s %8s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "4xx", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
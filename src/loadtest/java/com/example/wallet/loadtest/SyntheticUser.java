@@ -0,0 +1,4 @@
+package com.example.wallet.loadtest;
+
+public record SyntheticUser(String username, long userId, long walletId, String authorization) {
+}
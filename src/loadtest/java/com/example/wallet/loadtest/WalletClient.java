@@ -0,0 +1,68 @@
+package com.example.wallet.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+public class WalletClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    public WalletClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public int register(String username, String password, String currency) throws IOException, InterruptedException {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\",\"currency\":\"" + currency + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return send(request);
+    }
+
+    public int transact(SyntheticUser user, String transactionType, double amount, Long recipientWalletId) throws IOException, InterruptedException {
+        String body = "{\"transactionType\":\"" + transactionType + "\",\"amount\":" + amount
+                + (recipientWalletId != null ? ",\"recipientWalletId\":" + recipientWalletId : "") + "}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(transactionsUrl(user)))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", user.authorization())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return send(request);
+    }
+
+    public int history(SyntheticUser user, String sortBy, String sortOrder) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(transactionsUrl(user) + "?sortBy=" + sortBy + "&sortOrder=" + sortOrder))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", user.authorization())
+                .GET()
+                .build();
+        return send(request);
+    }
+
+    private String transactionsUrl(SyntheticUser user) {
+        return baseUrl + "/users/" + user.userId() + "/wallets/" + user.walletId() + "/transactions";
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public static String basicAuthorization(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.wallet.Enums;
+
+public enum HoldStatus {
+    ACTIVE,
+    SETTLED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,8 @@
+package com.example.wallet.Enums;
+
+public enum QueuedTransactionStatus {
+    PENDING,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class AmountCannotBeNullException extends RuntimeException {
+public class AmountCannotBeNullException extends ExpectedRejectionException {
     public AmountCannotBeNullException(String message) {
         super(message);
     }
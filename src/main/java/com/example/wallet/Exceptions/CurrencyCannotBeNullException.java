@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class CurrencyCannotBeNullException extends RuntimeException {
+public class CurrencyCannotBeNullException extends ExpectedRejectionException {
     public CurrencyCannotBeNullException(String message) {
         super(message);
     }
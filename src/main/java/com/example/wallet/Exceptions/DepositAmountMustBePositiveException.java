@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class DepositAmountMustBePositiveException extends RuntimeException {
+public class DepositAmountMustBePositiveException extends ExpectedRejectionException {
     public DepositAmountMustBePositiveException(String message) {
         super(message);
     }
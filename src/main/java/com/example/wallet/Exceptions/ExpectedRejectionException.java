@@ -0,0 +1,7 @@
+package com.example.wallet.Exceptions;
+
+public abstract class ExpectedRejectionException extends WalletDomainException {
+    protected ExpectedRejectionException(String message) {
+        super(message, false);
+    }
+}
@@ -1,91 +1,91 @@
 package com.example.wallet.Exceptions;
 
+import com.example.wallet.metrics.TransactionMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    private final TransactionMetrics transactionMetrics;
 
-    @ExceptionHandler(UsernameCannotBeNullOrEmptyException.class)
-    public ResponseEntity<String> handleUsernameCannotBeNullOrEmpty(UsernameCannotBeNullOrEmptyException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
-    }
-
-    @ExceptionHandler(PasswordCannotBeNullOrEmptyException.class)
-    public ResponseEntity<String> handlePasswordCannotBeNullOrEmpty(PasswordCannotBeNullOrEmptyException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
+    @Autowired
+    public GlobalExceptionHandler(TransactionMetrics transactionMetrics) {
+        this.transactionMetrics = transactionMetrics;
     }
 
-    @ExceptionHandler(CurrencyCannotBeNullException.class)
-    public ResponseEntity<String> handleCurrencyCannotBeNull(CurrencyCannotBeNullException e) {
+    @ExceptionHandler(ExpectedRejectionException.class)
+    public ResponseEntity<String> handleExpectedRejection(ExpectedRejectionException e) {
+        transactionMetrics.countException(e);
         return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
     }
 
     @ExceptionHandler(UserNotAuthorizedException.class)
-    public ResponseEntity<String> handleUserNotAuthorized() {
+    public ResponseEntity<String> handleUserNotAuthorized(UserNotAuthorizedException e) {
+        transactionMetrics.countException(e);
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied: User is not authorized");
     }
 
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<String> handleUserNotFound() {
+    public ResponseEntity<String> handleUserNotFound(UserNotFoundException e) {
+        transactionMetrics.countException(e);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
     }
 
-    @ExceptionHandler(InvalidTransactionTypeException.class)
-    public ResponseEntity<String> handleInvalidTransactionType(InvalidTransactionTypeException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
+    @ExceptionHandler(QueuedTransactionNotFoundException.class)
+    public ResponseEntity<String> handleQueuedTransactionNotFound(QueuedTransactionNotFoundException e) {
+        transactionMetrics.countException(e);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Transaction not found");
     }
 
-    @ExceptionHandler(AmountCannotBeNullException.class)
-    public ResponseEntity<String> handleNullAmount(AmountCannotBeNullException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> handleRateLimitExceeded(RateLimitExceededException e) {
+        transactionMetrics.countException(e);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body("Too many requests: " + e.getMessage());
     }
 
-    @ExceptionHandler(DepositAmountMustBePositiveException.class)
-    public ResponseEntity<String> handleDepositAmountMustBePositive(DepositAmountMustBePositiveException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
-    }
-
-    @ExceptionHandler(WithdrawAmountMustBePositiveException.class)
-    public ResponseEntity<String> handleWithdrawAmountMustBePositive(WithdrawAmountMustBePositiveException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
-    }
-
-    @ExceptionHandler(InsufficientFundsException.class)
-    public ResponseEntity<String> handleInsufficientFunds(InsufficientFundsException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
-    }
-
-    @ExceptionHandler(RecipientWalletIdCannotBeNullException.class)
-    public ResponseEntity<String> handleNullRecipientWalletId(RecipientWalletIdCannotBeNullException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
-    }
-
-    @ExceptionHandler(TransferAmountMustBePositiveException.class)
-    public ResponseEntity<String> handleTransferAmountMustBePositive(TransferAmountMustBePositiveException e) {
-        return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<String> handleServerBusy(ServerBusyException e) {
+        transactionMetrics.countException(e);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Service unavailable: " + e.getMessage());
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        transactionMetrics.countException(e);
         return ResponseEntity.badRequest().body("Bad request: " + e.getMessage());
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException e) {
+        transactionMetrics.countException(e);
+        return ResponseEntity.badRequest().body("Bad request: Invalid value for parameter " + e.getName());
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<String> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        transactionMetrics.countException(e);
         return ResponseEntity.badRequest().body("Bad Request: Username already exists");
     }
 
     @ExceptionHandler(ServerUnavailableException.class)
     public ResponseEntity<String> handleServerUnavailable(ServerUnavailableException e) {
+        transactionMetrics.countException(e);
         return ResponseEntity.internalServerError().body("An error occurred: Server is unavailable");
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception e) {
+        transactionMetrics.countException(e);
         return ResponseEntity.internalServerError().body("An error occurred: " + e.getMessage());
     }
 }
@@ -0,0 +1,7 @@
+package com.example.wallet.Exceptions;
+
+public class HoldNotActiveException extends ExpectedRejectionException {
+    public HoldNotActiveException(String message) {
+        super(message);
+    }
+}
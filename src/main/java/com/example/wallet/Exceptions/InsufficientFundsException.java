@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class InsufficientFundsException extends RuntimeException {
+public class InsufficientFundsException extends ExpectedRejectionException {
     public InsufficientFundsException(String message) {
         super(message);
     }
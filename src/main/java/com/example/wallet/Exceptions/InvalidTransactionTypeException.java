@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class InvalidTransactionTypeException extends RuntimeException {
+public class InvalidTransactionTypeException extends ExpectedRejectionException {
     public InvalidTransactionTypeException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class PasswordCannotBeNullOrEmptyException extends RuntimeException {
+public class PasswordCannotBeNullOrEmptyException extends ExpectedRejectionException {
     public PasswordCannotBeNullOrEmptyException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.example.wallet.Exceptions;
+
+public class QueuedTransactionNotFoundException extends ExpectedRejectionException {
+    public QueuedTransactionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.wallet.Exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends ExpectedRejectionException {
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class RecipientWalletIdCannotBeNullException extends RuntimeException {
+public class RecipientWalletIdCannotBeNullException extends ExpectedRejectionException {
     public RecipientWalletIdCannotBeNullException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.example.wallet.Exceptions;
+
+public class ServerBusyException extends ExpectedRejectionException {
+    public ServerBusyException(String message) {
+        super(message);
+    }
+}
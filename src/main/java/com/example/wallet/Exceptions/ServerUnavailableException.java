@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class ServerUnavailableException extends RuntimeException {
+public class ServerUnavailableException extends WalletDomainException {
     public ServerUnavailableException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class TransferAmountMustBePositiveException extends RuntimeException {
+public class TransferAmountMustBePositiveException extends ExpectedRejectionException {
     public TransferAmountMustBePositiveException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class UserNotAuthorizedException extends RuntimeException {
+public class UserNotAuthorizedException extends ExpectedRejectionException {
     public UserNotAuthorizedException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends ExpectedRejectionException {
     public UserNotFoundException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class UsernameCannotBeNullOrEmptyException extends RuntimeException {
+public class UsernameCannotBeNullOrEmptyException extends ExpectedRejectionException {
     public UsernameCannotBeNullOrEmptyException(String message) {
         super(message);
     }
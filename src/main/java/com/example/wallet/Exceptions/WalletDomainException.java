@@ -0,0 +1,21 @@
+package com.example.wallet.Exceptions;
+
+public abstract class WalletDomainException extends RuntimeException {
+    protected WalletDomainException(String message) {
+        super(message);
+    }
+
+    protected WalletDomainException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Returns a stable code for this failure derived from the exception type, e.g. {@code INSUFFICIENT_FUNDS}.
+     */
+    public String getErrorCode() {
+        return getClass().getSimpleName()
+                .replaceFirst("Exception$", "")
+                .replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .toUpperCase();
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.wallet.Exceptions;
 
-public class WithdrawAmountMustBePositiveException extends RuntimeException {
+public class WithdrawAmountMustBePositiveException extends ExpectedRejectionException {
     public WithdrawAmountMustBePositiveException(String message) {
         super(message);
     }
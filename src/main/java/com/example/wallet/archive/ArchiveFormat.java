@@ -0,0 +1,136 @@
+package com.example.wallet.archive;
+
+import com.example.wallet.Enums.TransactionType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+final class ArchiveFormat {
+    static final int MAGIC = 0x57414331;
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    static final int INDEX_ENTRY_BYTES = 4 * Long.BYTES + Long.BYTES + 3 * Integer.BYTES;
+    static final int FIXED_ROW_BYTES = 6 * Long.BYTES + 1;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private ArchiveFormat() {
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    static byte[] encodeBlock(List<ArchivedTransaction> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 24);
+        writeVarLong(out, rows.size());
+        long previous = 0;
+        for (ArchivedTransaction row : rows) {
+            writeVarLong(out, row.walletId() - previous);
+            previous = row.walletId();
+        }
+        previous = 0;
+        for (ArchivedTransaction row : rows) {
+            writeVarLong(out, zigZag(row.id() - previous));
+            previous = row.id();
+        }
+        previous = 0;
+        for (ArchivedTransaction row : rows) {
+            long micros = toMicros(row.timestamp());
+            writeVarLong(out, zigZag(micros - previous));
+            previous = micros;
+        }
+        for (ArchivedTransaction row : rows) {
+            out.write(row.type().ordinal() << 1 | (row.inter() ? 1 : 0));
+        }
+        for (ArchivedTransaction row : rows) {
+            long bits = Double.doubleToLongBits(row.amount());
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (bits >>> shift));
+            }
+        }
+        for (ArchivedTransaction row : rows) {
+            if (row.inter()) {
+                writeVarLong(out, zigZag(row.senderWalletId() - row.walletId()));
+                writeVarLong(out, zigZag(row.recipientWalletId() - row.walletId()));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static void decodeBlock(ByteBuffer block, long walletId, long fromMicros, long toMicros, List<ArchivedTransaction> out) {
+        int count = (int) readVarLong(block);
+        long[] walletIds = new long[count];
+        long[] ids = new long[count];
+        long[] micros = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readVarLong(block);
+            walletIds[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(readVarLong(block));
+            ids[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(readVarLong(block));
+            micros[i] = previous;
+        }
+        byte[] flags = new byte[count];
+        block.get(flags);
+        int amountsStart = block.position();
+        block.position(amountsStart + count * Double.BYTES);
+        for (int i = 0; i < count; i++) {
+            boolean inter = (flags[i] & 1) != 0;
+            long senderWalletId = walletIds[i];
+            long recipientWalletId = 0L;
+            if (inter) {
+                senderWalletId = walletIds[i] + unZigZag(readVarLong(block));
+                recipientWalletId = walletIds[i] + unZigZag(readVarLong(block));
+            }
+            if (walletIds[i] == walletId && micros[i] >= fromMicros && micros[i] < toMicros) {
+                double amount = block.getDouble(amountsStart + i * Double.BYTES);
+                out.add(new ArchivedTransaction(walletIds[i], ids[i], inter, fromMicros(micros[i]), TYPES[(flags[i] & 0xff) >>> 1],
+                        amount, senderWalletId, recipientWalletId));
+            }
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
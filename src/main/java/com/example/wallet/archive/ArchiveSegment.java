@@ -0,0 +1,167 @@
+package com.example.wallet.archive;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+public class ArchiveSegment implements AutoCloseable {
+    @Getter
+    private final Path path;
+    private final FileChannel channel;
+    @Getter
+    private final LocalDateTime from;
+    @Getter
+    private final LocalDateTime to;
+    @Getter
+    private final long rowCount;
+    @Getter
+    private final long rawBytes;
+    @Getter
+    private final long fileBytes;
+    private final long[] firstWalletIds;
+    private final long[] lastWalletIds;
+    private final long[] minMicros;
+    private final long[] maxMicros;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] uncompressedLengths;
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private ArchiveSegment(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.fileBytes = channel.size();
+        ByteBuffer trailer = readAt(fileBytes - ArchiveFormat.TRAILER_BYTES, ArchiveFormat.TRAILER_BYTES);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != ArchiveFormat.MAGIC) {
+            throw new IOException("Not a transaction archive segment: " + path);
+        }
+        ByteBuffer footer = readAt(footerOffset, (int) (fileBytes - ArchiveFormat.TRAILER_BYTES - footerOffset));
+        this.from = ArchiveFormat.fromMicros(footer.getLong());
+        this.to = ArchiveFormat.fromMicros(footer.getLong());
+        this.rowCount = footer.getLong();
+        this.rawBytes = footer.getLong();
+        int blockCount = footer.getInt();
+        this.firstWalletIds = new long[blockCount];
+        this.lastWalletIds = new long[blockCount];
+        this.minMicros = new long[blockCount];
+        this.maxMicros = new long[blockCount];
+        this.offsets = new long[blockCount];
+        this.compressedLengths = new int[blockCount];
+        this.uncompressedLengths = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            firstWalletIds[i] = footer.getLong();
+            lastWalletIds[i] = footer.getLong();
+            minMicros[i] = footer.getLong();
+            maxMicros[i] = footer.getLong();
+            offsets[i] = footer.getLong();
+            compressedLengths[i] = footer.getInt();
+            uncompressedLengths[i] = footer.getInt();
+            footer.getInt();
+        }
+    }
+
+    public static ArchiveSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new ArchiveSegment(path, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int read(long walletId, long fromMicros, long toMicros, List<ArchivedTransaction> out) throws IOException {
+        if (toMicros <= ArchiveFormat.toMicros(from) || fromMicros >= ArchiveFormat.toMicros(to)) {
+            return 0;
+        }
+        int before = out.size();
+        Inflater inflater = new Inflater();
+        try {
+            for (int block = firstBlockFor(walletId); block < offsets.length && firstWalletIds[block] <= walletId; block++) {
+                if (maxMicros[block] < fromMicros || minMicros[block] >= toMicros) {
+                    continue;
+                }
+                ByteBuffer decompressed = ByteBuffer.allocate(uncompressedLengths[block]);
+                inflater.reset();
+                inflater.setInput(readAt(offsets[block], compressedLengths[block]));
+                inflater.inflate(decompressed);
+                ArchiveFormat.decodeBlock(decompressed.flip(), walletId, fromMicros, toMicros, out);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block in " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return out.size() - before;
+    }
+
+    private int firstBlockFor(long walletId) {
+        int low = 0;
+        int high = lastWalletIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastWalletIds[mid] < walletId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated archive segment: " + path);
+            }
+        }
+        return buffer.flip();
+    }
+
+    public int getBlockCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Pins the segment for a read. Returns false once the segment has been closed and its last reader has released it.
+     */
+    public boolean acquire() {
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() throws IOException {
+        if (references.decrementAndGet() == 0) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Drops the owner's reference. The file stays open until every reader that acquired the segment has released it.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
+    }
+}
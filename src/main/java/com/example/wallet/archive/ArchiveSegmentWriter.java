@@ -0,0 +1,141 @@
+package com.example.wallet.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+public class ArchiveSegmentWriter implements AutoCloseable {
+    private final Path path;
+    private final Path tempPath;
+    private final FileChannel channel;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final int blockRows;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final List<ArchivedTransaction> block = new ArrayList<>();
+    private ByteBuffer index = ByteBuffer.allocate(256 * ArchiveFormat.INDEX_ENTRY_BYTES);
+    private ByteBuffer compressed = ByteBuffer.allocate(64 * 1024);
+    private int blockCount;
+    private long rowCount;
+    private long position;
+    private ArchivedTransaction last;
+    private boolean committed;
+
+    public ArchiveSegmentWriter(Path path, LocalDateTime from, LocalDateTime to, int blockRows) throws IOException {
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.from = from;
+        this.to = to;
+        this.blockRows = blockRows;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        writeFully(ByteBuffer.allocate(Integer.BYTES).putInt(0, ArchiveFormat.MAGIC));
+    }
+
+    public void write(ArchivedTransaction row) throws IOException {
+        if (row.timestamp().isBefore(from) || !row.timestamp().isBefore(to)) {
+            throw new IllegalArgumentException("Transaction " + row.id() + " is outside the segment range " + from + " - " + to);
+        }
+        if (last != null && (row.walletId() < last.walletId()
+                || row.walletId() == last.walletId() && row.timestamp().isBefore(last.timestamp()))) {
+            throw new IllegalArgumentException("Archived transactions must be sorted by wallet and timestamp");
+        }
+        last = row;
+        block.add(row);
+        rowCount++;
+        if (block.size() >= blockRows) {
+            flushBlock();
+        }
+    }
+
+    public ArchiveSegment commit() throws IOException {
+        flushBlock();
+        ByteBuffer footer = ByteBuffer.allocate(4 * Long.BYTES + Integer.BYTES + index.position() + ArchiveFormat.TRAILER_BYTES);
+        footer.putLong(ArchiveFormat.toMicros(from))
+                .putLong(ArchiveFormat.toMicros(to))
+                .putLong(rowCount)
+                .putLong(rowCount * ArchiveFormat.FIXED_ROW_BYTES)
+                .putInt(blockCount)
+                .put(index.flip())
+                .putLong(position)
+                .putInt(ArchiveFormat.MAGIC);
+        writeFully(footer.flip());
+        channel.force(true);
+        channel.close();
+        Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel directory = FileChannel.open(path.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+        committed = true;
+        return ArchiveSegment.open(path);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (block.isEmpty()) {
+            return;
+        }
+        byte[] raw = ArchiveFormat.encodeBlock(block);
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        compressed.clear();
+        while (!deflater.finished()) {
+            if (!compressed.hasRemaining()) {
+                compressed = ByteBuffer.allocate(compressed.capacity() * 2).put(compressed.flip());
+            }
+            deflater.deflate(compressed);
+        }
+        compressed.flip();
+        int compressedLength = compressed.remaining();
+        long blockOffset = position;
+        writeFully(compressed);
+
+        long minMicros = Long.MAX_VALUE;
+        long maxMicros = Long.MIN_VALUE;
+        for (ArchivedTransaction row : block) {
+            long micros = ArchiveFormat.toMicros(row.timestamp());
+            minMicros = Math.min(minMicros, micros);
+            maxMicros = Math.max(maxMicros, micros);
+        }
+        if (index.remaining() < ArchiveFormat.INDEX_ENTRY_BYTES) {
+            index = ByteBuffer.allocate(index.capacity() * 2).put(index.flip());
+        }
+        index.putLong(block.getFirst().walletId())
+                .putLong(block.getLast().walletId())
+                .putLong(minMicros)
+                .putLong(maxMicros)
+                .putLong(blockOffset)
+                .putInt(compressedLength)
+                .putInt(raw.length)
+                .putInt(block.size());
+        blockCount++;
+        block.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.wallet.archive;
+
+import com.example.wallet.Enums.TransactionType;
+
+import java.time.LocalDateTime;
+
+public record ArchivedTransaction(long walletId, long id, boolean inter, LocalDateTime timestamp, TransactionType type,
+                                  double amount, long senderWalletId, long recipientWalletId) {
+
+    public static ArchivedTransaction intra(long walletId, long id, LocalDateTime timestamp, TransactionType type, double amount) {
+        return new ArchivedTransaction(walletId, id, false, timestamp, type, amount, walletId, 0L);
+    }
+
+    public static ArchivedTransaction inter(long walletId, long id, LocalDateTime timestamp, TransactionType type, double amount,
+                                            long senderWalletId, long recipientWalletId) {
+        return new ArchivedTransaction(walletId, id, true, timestamp, type, amount, senderWalletId, recipientWalletId);
+    }
+}
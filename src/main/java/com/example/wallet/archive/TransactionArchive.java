@@ -0,0 +1,184 @@
+package com.example.wallet.archive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Slf4j
+@Component
+public class TransactionArchive {
+    static final String SEGMENT_SUFFIX = ".wca";
+
+    private final Path directory;
+    private final Timer readTimer;
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    @Autowired
+    public TransactionArchive(@Value("${wallet.archive.path:data/archive}") String directory, MeterRegistry meterRegistry) {
+        this.directory = Path.of(directory);
+        this.readTimer = Timer.builder("wallet.archive.read")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("wallet.archive.segments", this, archive -> archive.segments.size()).register(meterRegistry);
+        Gauge.builder("wallet.archive.rows", this, archive -> archive.segments.stream().mapToLong(ArchiveSegment::getRowCount).sum())
+                .register(meterRegistry);
+        Gauge.builder("wallet.archive.size", this, archive -> archive.segments.stream().mapToLong(ArchiveSegment::getFileBytes).sum())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("wallet.archive.compression.ratio", this, TransactionArchive::getCompressionRatio).register(meterRegistry);
+        load();
+    }
+
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<ArchiveSegment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                loaded.add(ArchiveSegment.open(file));
+            }
+        } catch (IOException e) {
+            loaded.forEach(this::closeQuietly);
+            throw new UncheckedIOException("Failed to open transaction archive in " + directory, e);
+        }
+        loaded.sort(Comparator.comparing(ArchiveSegment::getFrom));
+        segments = List.copyOf(loaded);
+        log.info("Opened {} archive segments covering transactions before {}", loaded.size(), getHorizon());
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public LocalDateTime getHorizon() {
+        List<ArchiveSegment> current = segments;
+        return current.isEmpty() ? null : current.getLast().getTo();
+    }
+
+    public List<ArchivedTransaction> read(long walletId, LocalDateTime from, LocalDateTime to) {
+        try (Snapshot snapshot = snapshot()) {
+            return snapshot.read(walletId, from, to);
+        }
+    }
+
+    /**
+     * Pins the current segments until the snapshot is closed, so that its horizon and its rows describe the same archive
+     * state even if an archive run publishes or replaces segments meanwhile.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(acquireSegments());
+    }
+
+    private List<ArchiveSegment> acquireSegments() {
+        while (true) {
+            List<ArchiveSegment> current = segments;
+            List<ArchiveSegment> acquired = new ArrayList<>(current.size());
+            for (ArchiveSegment segment : current) {
+                if (!segment.acquire()) {
+                    break;
+                }
+                acquired.add(segment);
+            }
+            if (acquired.size() == current.size()) {
+                return current;
+            }
+            // A segment was replaced and closed after this snapshot was taken; the next snapshot holds its replacement.
+            acquired.forEach(this::releaseQuietly);
+        }
+    }
+
+    public synchronized void add(ArchiveSegment segment) {
+        List<ArchiveSegment> updated = new ArrayList<>(segments.size() + 1);
+        for (ArchiveSegment existing : segments) {
+            if (existing.getPath().equals(segment.getPath())) {
+                closeQuietly(existing);
+            } else {
+                updated.add(existing);
+            }
+        }
+        updated.add(segment);
+        updated.sort(Comparator.comparing(ArchiveSegment::getFrom));
+        segments = List.copyOf(updated);
+    }
+
+    public double getCompressionRatio() {
+        long fileBytes = 0;
+        long rawBytes = 0;
+        for (ArchiveSegment segment : segments) {
+            fileBytes += segment.getFileBytes();
+            rawBytes += segment.getRawBytes();
+        }
+        return fileBytes == 0 ? 0.0 : (double) rawBytes / fileBytes;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        segments.forEach(this::closeQuietly);
+        segments = List.of();
+    }
+
+    public class Snapshot implements AutoCloseable {
+        private final List<ArchiveSegment> acquired;
+
+        Snapshot(List<ArchiveSegment> acquired) {
+            this.acquired = acquired;
+        }
+
+        public LocalDateTime getHorizon() {
+            return acquired.isEmpty() ? null : acquired.getLast().getTo();
+        }
+
+        public List<ArchivedTransaction> read(long walletId, LocalDateTime from, LocalDateTime to) {
+            long fromMicros = from == null ? Long.MIN_VALUE : ArchiveFormat.toMicros(from);
+            long toMicros = to == null ? Long.MAX_VALUE : ArchiveFormat.toMicros(to);
+            return readTimer.record(() -> {
+                List<ArchivedTransaction> transactions = new ArrayList<>();
+                try {
+                    for (ArchiveSegment segment : acquired) {
+                        segment.read(walletId, fromMicros, toMicros, transactions);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return transactions;
+            });
+        }
+
+        @Override
+        public void close() {
+            acquired.forEach(TransactionArchive.this::releaseQuietly);
+        }
+    }
+
+    private void releaseQuietly(ArchiveSegment segment) {
+        try {
+            segment.release();
+        } catch (IOException e) {
+            log.warn("Failed to close archive segment {}: {}", segment.getPath(), e.getMessage());
+        }
+    }
+
+    private void closeQuietly(ArchiveSegment segment) {
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Failed to close archive segment {}: {}", segment.getPath(), e.getMessage());
+        }
+    }
+}
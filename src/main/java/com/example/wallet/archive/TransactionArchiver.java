@@ -0,0 +1,142 @@
+package com.example.wallet.archive;
+
+import com.example.wallet.Enums.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Slf4j
+public class TransactionArchiver {
+    private static final String SELECT_ROWS = """
+            SELECT wallet_id, id, false, "timestamp", type, amount, wallet_id, 0
+            FROM intra_transactions WHERE "timestamp" >= ? AND "timestamp" < ?
+            UNION ALL
+            SELECT sender_wallet_id, id, true, "timestamp", type, amount, sender_wallet_id, recipient_wallet_id
+            FROM inter_transactions WHERE "timestamp" >= ? AND "timestamp" < ?
+            UNION ALL
+            SELECT recipient_wallet_id, id, true, "timestamp", type, amount, sender_wallet_id, recipient_wallet_id
+            FROM inter_transactions WHERE "timestamp" >= ? AND "timestamp" < ? AND recipient_wallet_id <> sender_wallet_id
+            ORDER BY 1, 4, 2
+            """;
+    private static final String SELECT_OLDEST = """
+            SELECT min(oldest) FROM (
+                SELECT min("timestamp") AS oldest FROM intra_transactions WHERE "timestamp" < ?
+                UNION ALL
+                SELECT min("timestamp") FROM inter_transactions WHERE "timestamp" < ?
+            ) oldest_rows
+            """;
+    private static final String DELETE_INTRA = "DELETE FROM intra_transactions WHERE \"timestamp\" >= ? AND \"timestamp\" < ?";
+    private static final String DELETE_INTER = "DELETE FROM inter_transactions WHERE \"timestamp\" >= ? AND \"timestamp\" < ?";
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchive archive;
+    private final int ageMonths;
+    private final int blockRows;
+    private final Clock clock;
+    private final Counter archivedRows;
+    private boolean recovered;
+
+    public TransactionArchiver(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, TransactionArchive archive,
+                               int ageMonths, int blockRows, MeterRegistry meterRegistry) {
+        this(jdbcTemplate, transactionTemplate, archive, ageMonths, blockRows, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    TransactionArchiver(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, TransactionArchive archive,
+                        int ageMonths, int blockRows, MeterRegistry meterRegistry, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archive = archive;
+        this.ageMonths = ageMonths;
+        this.blockRows = blockRows;
+        this.clock = clock;
+        this.archivedRows = Counter.builder("wallet.archive.archived").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.archive.interval-ms:3600000}")
+    public synchronized int archive() {
+        int archivedMonths = 0;
+        try {
+            LocalDateTime horizon = archive.getHorizon();
+            if (!recovered && horizon != null) {
+                deleteArchived(BEGINNING, horizon);
+            }
+            recovered = true;
+
+            LocalDateTime target = YearMonth.now(clock).minusMonths(ageMonths).atDay(1).atStartOfDay();
+            LocalDateTime from = horizon != null ? horizon : oldestBefore(target);
+            while (from != null && !from.plusMonths(1).isAfter(target)) {
+                archiveRange(from, from.plusMonths(1));
+                from = from.plusMonths(1);
+                archivedMonths++;
+            }
+        } catch (RuntimeException e) {
+            log.error("Transaction archival stopped after {} months: {}", archivedMonths, e.getMessage());
+        }
+        return archivedMonths;
+    }
+
+    private LocalDateTime oldestBefore(LocalDateTime target) {
+        Timestamp oldest = jdbcTemplate.queryForObject(SELECT_OLDEST, Timestamp.class, Timestamp.valueOf(target), Timestamp.valueOf(target));
+        return oldest == null ? null : YearMonth.from(oldest.toLocalDateTime()).atDay(1).atStartOfDay();
+    }
+
+    private void archiveRange(LocalDateTime from, LocalDateTime to) {
+        Path path = archive.getDirectory().resolve("transactions-" + YearMonth.from(from) + TransactionArchive.SEGMENT_SUFFIX);
+        ArchiveSegment[] written = new ArchiveSegment[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(path, from, to, blockRows)) {
+                    RowCallbackHandler rowHandler = resultSet -> {
+                        try {
+                            writer.write(new ArchivedTransaction(resultSet.getLong(1), resultSet.getLong(2), resultSet.getBoolean(3),
+                                    resultSet.getTimestamp(4).toLocalDateTime(), TransactionType.valueOf(resultSet.getString(5)),
+                                    resultSet.getDouble(6), resultSet.getLong(7), resultSet.getLong(8)));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    };
+                    Timestamp start = Timestamp.valueOf(from);
+                    Timestamp end = Timestamp.valueOf(to);
+                    jdbcTemplate.query(SELECT_ROWS, rowHandler, start, end, start, end, start, end);
+                    written[0] = writer.commit();
+                    // Readers switch to the segment before the rows disappear, so history never has a gap.
+                    archive.add(written[0]);
+                    deleteArchived(from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (written[0] != null) {
+                // The durable segment already hides these rows from readers; delete them on the next run instead.
+                recovered = false;
+            }
+            throw e;
+        }
+        ArchiveSegment segment = written[0];
+        archivedRows.increment(segment.getRowCount());
+        log.info("Archived {} transactions from {} to {} into {} ({} bytes, {}x smaller than fixed-width rows)",
+                segment.getRowCount(), from, to, segment.getPath(), segment.getFileBytes(),
+                String.format("%.1f", (double) segment.getRawBytes() / segment.getFileBytes()));
+    }
+
+    private void deleteArchived(LocalDateTime from, LocalDateTime to) {
+        int intra = jdbcTemplate.update(DELETE_INTRA, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        int inter = jdbcTemplate.update(DELETE_INTER, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        log.debug("Deleted {} intra and {} inter transactions archived between {} and {}", intra, inter, from, to);
+    }
+}
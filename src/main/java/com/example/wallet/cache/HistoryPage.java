@@ -0,0 +1,4 @@
+package com.example.wallet.cache;
+
+public record HistoryPage(String eTag, byte[] body) {
+}
@@ -0,0 +1,130 @@
+package com.example.wallet.cache;
+
+import com.example.wallet.dto.TransactionHistoryDto;
+import com.example.wallet.service.HistoryFilter;
+import com.example.wallet.service.TransactionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class TransactionHistoryCache {
+    private static final int MAX_PAGES_PER_WALLET = 16;
+
+    private final TransactionService transactionService;
+    private final WalletVersionTracker walletVersionTracker;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, WalletPages> wallets;
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    @Autowired
+    public TransactionHistoryCache(TransactionService transactionService, WalletVersionTracker walletVersionTracker, ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry, @Value("${wallet.history-cache.max-wallets:10000}") int maxWallets) {
+        this.transactionService = transactionService;
+        this.walletVersionTracker = walletVersionTracker;
+        this.objectMapper = objectMapper;
+        this.wallets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, WalletPages> eldest) {
+                return size() > maxWallets;
+            }
+        };
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.notModified = counter(meterRegistry, "not_modified");
+    }
+
+    public boolean checkNotModified(WebRequest request, Long walletId, String sortBy, String sortOrder, String transactionType, HistoryFilter filter) {
+        String eTag = eTag(walletId, walletVersionTracker.currentVersion(walletId), new HistoryParameters(sortBy, sortOrder, transactionType, filter));
+        if (request.checkNotModified(eTag)) {
+            notModified.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a rendered page of the wallet's history. The caller must already have authorized access to the wallet.
+     */
+    public HistoryPage getPage(Long walletId, String sortBy, String sortOrder, String transactionType, HistoryFilter filter) {
+        long version = walletVersionTracker.currentVersion(walletId);
+        HistoryParameters parameters = new HistoryParameters(sortBy, sortOrder, transactionType, filter);
+        WalletPages pages = pagesFor(walletId, version);
+        HistoryPage page = pages.pages.get(parameters);
+        if (page != null) {
+            hits.increment();
+            return page;
+        }
+        misses.increment();
+        List<Object> transactions = transactionService.getAuthorizedTransactions(walletId, sortBy, sortOrder, transactionType, filter);
+        page = new HistoryPage(eTag(walletId, version, parameters), render(transactions));
+        if (pages.pages.size() < MAX_PAGES_PER_WALLET) {
+            pages.pages.putIfAbsent(parameters, page);
+        }
+        return page;
+    }
+
+    private WalletPages pagesFor(Long walletId, long version) {
+        synchronized (wallets) {
+            WalletPages pages = wallets.get(walletId);
+            if (pages == null || pages.version < version) {
+                pages = new WalletPages(version);
+                wallets.put(walletId, pages);
+            } else if (pages.version > version) {
+                return new WalletPages(version);
+            }
+            return pages;
+        }
+    }
+
+    private String eTag(Long walletId, long version, HistoryParameters parameters) {
+        return "\"" + epoch + "-" + walletId + "-" + version + "-" + parameters.digest() + "\"";
+    }
+
+    private byte[] render(List<Object> transactions) {
+        try {
+            return objectMapper.writeValueAsBytes(transactions.stream().map(TransactionHistoryDto::of).toList());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Unable to render transaction history", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("wallet.history.cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record HistoryParameters(String sortBy, String sortOrder, String transactionType, HistoryFilter filter) {
+        private String digest() {
+            String key = sortBy + "\n" + sortOrder + "\n" + transactionType + "\n" + filter;
+            return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString().replace("-", "");
+        }
+    }
+
+    private static final class WalletPages {
+        private final long version;
+        private final Map<HistoryParameters, HistoryPage> pages = new ConcurrentHashMap<>();
+
+        private WalletPages(long version) {
+            this.version = version;
+        }
+    }
+}
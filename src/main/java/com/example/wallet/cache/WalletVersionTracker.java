@@ -0,0 +1,75 @@
+package com.example.wallet.cache;
+
+import com.example.wallet.service.WalletChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+@Component
+public class WalletVersionTracker {
+    private final ConcurrentHashMap<Long, WalletState> states = new ConcurrentHashMap<>();
+
+    public long currentVersion(Long walletId) {
+        WalletState state = states.get(walletId);
+        return state == null ? 0L : state.version();
+    }
+
+    public double readBalance(Long walletId, LongFunction<Double> loader) {
+        WalletState state = states.get(walletId);
+        if (state != null && state.balance() != null) {
+            return state.balance();
+        }
+        long version = state == null ? 0L : state.version();
+        Double balance = loader.apply(walletId);
+        states.compute(walletId, (id, current) -> (current == null ? WalletState.INITIAL : current).withBalance(version, balance));
+        return balance;
+    }
+
+    @EventListener
+    public void onWalletChanged(WalletChangedEvent event) {
+        WalletState registered = states.compute(event.walletId(), (id, current) -> (current == null ? WalletState.INITIAL : current).register());
+        long ticket = registered.writeSequence();
+        boolean overlapped = registered.inFlight() > 1;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(event, ticket, overlapped, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(event, ticket, overlapped, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void complete(WalletChangedEvent event, long ticket, boolean overlapped, boolean committed) {
+        states.computeIfPresent(event.walletId(), (id, current) -> committed
+                ? current.committed(ticket, overlapped, event.balance())
+                : current.rolledBack());
+    }
+
+    private record WalletState(long version, Double balance, long writeSequence, int inFlight) {
+        private static final WalletState INITIAL = new WalletState(0L, null, 0L, 0);
+
+        private WalletState register() {
+            return new WalletState(version, balance, writeSequence + 1, inFlight + 1);
+        }
+
+        private WalletState committed(long ticket, boolean overlapped, Double committedBalance) {
+            boolean concurrentWriter = overlapped || writeSequence != ticket || inFlight > 1;
+            return new WalletState(version + 1, concurrentWriter ? null : committedBalance, writeSequence, inFlight - 1);
+        }
+
+        private WalletState rolledBack() {
+            return new WalletState(version, balance, writeSequence, inFlight - 1);
+        }
+
+        private WalletState withBalance(long expectedVersion, Double loadedBalance) {
+            return version == expectedVersion ? new WalletState(version, loadedBalance, writeSequence, inFlight) : this;
+        }
+    }
+}
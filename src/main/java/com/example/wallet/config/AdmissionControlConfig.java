@@ -0,0 +1,79 @@
+package com.example.wallet.config;
+
+import com.example.wallet.web.AdmissionControlInterceptor;
+import com.example.wallet.web.PoolSaturationShedder;
+import com.example.wallet.web.RateLimitPolicy;
+import com.example.wallet.web.RateLimitPolicy.BucketLimit;
+import com.example.wallet.web.RateLimitPolicyFile;
+import com.example.wallet.web.RequestClass;
+import com.example.wallet.web.TokenBucketRateLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wallet.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+    private final RateLimitPolicy defaults;
+    private final RateLimitPolicyFile policyFile;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdmissionControlInterceptor interceptor;
+
+    public AdmissionControlConfig(HikariDataSource dataSource, MeterRegistry meterRegistry,
+                                  @Value("${wallet.admission.write.burst:20}") int writeBurst,
+                                  @Value("${wallet.admission.write.per-second:10}") double writePerSecond,
+                                  @Value("${wallet.admission.read.burst:50}") int readBurst,
+                                  @Value("${wallet.admission.read.per-second:25}") double readPerSecond,
+                                  @Value("${wallet.admission.history.burst:10}") int historyBurst,
+                                  @Value("${wallet.admission.history.per-second:2}") double historyPerSecond,
+                                  @Value("${wallet.admission.shed.history-utilization:0.75}") double historyShedUtilization,
+                                  @Value("${wallet.admission.shed.read-utilization:0.95}") double readShedUtilization,
+                                  @Value("${wallet.admission.policy-file:}") String policyFile) {
+        this.defaults = new RateLimitPolicy(Map.of(
+                RequestClass.WRITE, new BucketLimit(writeBurst, writePerSecond),
+                RequestClass.READ, new BucketLimit(readBurst, readPerSecond),
+                RequestClass.HISTORY, new BucketLimit(historyBurst, historyPerSecond)),
+                historyShedUtilization, readShedUtilization);
+        this.policyFile = policyFile.isBlank() ? null : new RateLimitPolicyFile(Path.of(policyFile));
+        this.rateLimiter = new TokenBucketRateLimiter(this.policyFile == null ? defaults : this.policyFile.load(defaults));
+        this.interceptor = new AdmissionControlInterceptor(rateLimiter, new PoolSaturationShedder(dataSource, rateLimiter::getPolicy), meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/users/*/wallets/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.admission.reload-interval-ms:5000}")
+    public void reloadPolicy() {
+        if (policyFile == null || !policyFile.isModified()) {
+            return;
+        }
+        try {
+            rateLimiter.updatePolicy(policyFile.load(defaults));
+            log.info("Reloaded rate limits from {}", policyFile.getPath());
+        } catch (RuntimeException e) {
+            log.error("Keeping previous rate limits: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.admission.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        rateLimiter.evictIdle();
+    }
+}
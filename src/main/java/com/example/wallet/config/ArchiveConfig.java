@@ -0,0 +1,35 @@
+package com.example.wallet.config;
+
+import com.example.wallet.archive.TransactionArchive;
+import com.example.wallet.archive.TransactionArchiver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wallet.archive.enabled", havingValue = "true")
+public class ArchiveConfig {
+
+    @Bean
+    public TransactionArchiver transactionArchiver(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                                   TransactionArchive transactionArchive, MeterRegistry meterRegistry,
+                                                   @Value("${wallet.archive.age-months:12}") int ageMonths,
+                                                   @Value("${wallet.archive.block-rows:4096}") int blockRows,
+                                                   @Value("${wallet.archive.fetch-size:10000}") int fetchSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return new TransactionArchiver(jdbcTemplate, transactionTemplate, transactionArchive, ageMonths, blockRows, meterRegistry);
+    }
+}
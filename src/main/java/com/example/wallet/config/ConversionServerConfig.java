@@ -0,0 +1,34 @@
+package com.example.wallet.config;
+
+import com.example.wallet.conversion.ConversionRatesFile;
+import com.example.wallet.conversion.ConversionServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wallet.conversion-server.enabled", havingValue = "true")
+public class ConversionServerConfig {
+
+    @Bean(destroyMethod = "close")
+    public ConversionServer conversionServer(@Value("${wallet.conversion-server.mode:in-process}") String mode,
+                                             @Value("${wallet.conversion-server.port:50051}") int port,
+                                             @Value("${grpc.server.in-process-name:}") String inProcessName,
+                                             @Value("${wallet.conversion-server.rates-file:}") String ratesFile) {
+        if ("in-process".equals(mode) && inProcessName.isBlank()) {
+            // CurrencyConversionService only dials the in-process server when it is given the same name.
+            throw new IllegalArgumentException("The in-process conversion server requires grpc.server.in-process-name");
+        }
+        ConversionServer server = new ConversionServer(ratesFile.isBlank() ? null : new ConversionRatesFile(Path.of(ratesFile)));
+        return switch (mode) {
+            case "in-process" -> server.startInProcess(inProcessName);
+            case "network" -> server.startNetwork(port);
+            default -> throw new IllegalArgumentException("Unknown conversion server mode: " + mode);
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.wallet.config;
+
+import com.example.wallet.datasource.ReplicaRoutingContext;
+import com.example.wallet.metrics.RequestQueryStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean
+    public TaskExecutor historyQueryExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                             @Value("${wallet.history.query-threads:16}") int queryThreads,
+                                             @Value("${wallet.concurrency.history-query-connections:4}") int historyQueryConnections) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("history-query-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(historyQueryConnections);
+            executor.setTaskDecorator(task -> ReplicaRoutingContext.propagate(RequestQueryStats.propagate(task)));
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(queryThreads);
+        executor.setMaxPoolSize(queryThreads);
+        executor.setThreadNamePrefix("history-query-");
+        executor.setTaskDecorator(task -> ReplicaRoutingContext.propagate(RequestQueryStats.propagate(task)));
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                                     SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder,
+                                                     ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder) {
+        return virtualThreads ? simpleAsyncTaskExecutorBuilder.build() : threadPoolTaskExecutorBuilder.build();
+    }
+}
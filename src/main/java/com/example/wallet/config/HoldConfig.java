@@ -0,0 +1,24 @@
+package com.example.wallet.config;
+
+import com.example.wallet.hold.FundsHoldService;
+import com.example.wallet.hold.FundsHoldSweeper;
+import com.example.wallet.repository.FundsHoldRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wallet.holds.enabled", havingValue = "true")
+public class HoldConfig {
+
+    @Bean
+    public FundsHoldSweeper fundsHoldSweeper(FundsHoldRepository fundsHoldRepository, FundsHoldService fundsHoldService,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${wallet.holds.sweep-batch-size:500}") int batchSize) {
+        return new FundsHoldSweeper(fundsHoldRepository, fundsHoldService, meterRegistry, batchSize);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.wallet.config;
+
+import com.example.wallet.Exceptions.UserNotFoundException;
+import com.example.wallet.archive.TransactionArchive;
+import com.example.wallet.cache.WalletVersionTracker;
+import com.example.wallet.ledger.LedgerEngine;
+import com.example.wallet.ledger.LedgerJournal;
+import com.example.wallet.ledger.LedgerJournalFlusher;
+import com.example.wallet.ledger.LedgerTransactionService;
+import com.example.wallet.ledger.LedgerSnapshotStore;
+import com.example.wallet.ledger.LedgerSnapshotter;
+import com.example.wallet.ledger.ShardedLedgerPipeline;
+import com.example.wallet.ledger.StripedLedger;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.LedgerCheckpointRepository;
+import com.example.wallet.repository.UserRepository;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.CurrencyConversionService;
+import com.example.wallet.service.TransactionService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.function.LongToDoubleFunction;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wallet.ledger.enabled", havingValue = "true")
+public class LedgerConfig {
+
+    @Bean(destroyMethod = "close")
+    public LedgerJournal ledgerJournal(@Value("${wallet.ledger.journal-path:data/ledger.journal}") String journalPath,
+                                       @Value("${wallet.ledger.journal-capacity:1048576}") int journalCapacity,
+                                       @Value("${wallet.ledger.engine:striped}") String engine,
+                                       @Value("${wallet.ledger.stripes:64}") int stripes,
+                                       @Value("${wallet.ledger.shards:4}") int shards) {
+        int segments = "pipeline".equalsIgnoreCase(engine) ? shards : StripedLedger.stripesFor(stripes);
+        return new LedgerJournal(Path.of(journalPath), segments, Math.max(1, journalCapacity / segments));
+    }
+
+    @Bean
+    public LedgerSnapshotStore ledgerSnapshotStore(LedgerJournal ledgerJournal, WalletRepository walletRepository,
+                                                   IntraTransactionRepository intraTransactionRepository,
+                                                   InterTransactionRepository interTransactionRepository,
+                                                   @Value("${wallet.ledger.snapshot-path:data/ledger.snapshot}") String snapshotPath) {
+        return new LedgerSnapshotStore(Path.of(snapshotPath), ledgerJournal, walletRepository, intraTransactionRepository, interTransactionRepository);
+    }
+
+    @Bean
+    public LedgerEngine ledgerEngine(LedgerJournal ledgerJournal, LedgerSnapshotStore ledgerSnapshotStore, WalletRepository walletRepository,
+                                     @Value("${wallet.ledger.engine:striped}") String engine,
+                                     @Value("${wallet.ledger.stripes:64}") int stripes,
+                                     @Value("${wallet.ledger.shards:4}") int shards,
+                                     @Value("${wallet.ledger.ring-size:1024}") int ringSize,
+                                     @Value("${wallet.ledger.shard-batch-size:64}") int shardBatchSize) {
+        LongToDoubleFunction balanceLoader = walletId -> walletRepository.findById(walletId)
+                .map(Wallet::getBalance)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        if ("pipeline".equalsIgnoreCase(engine)) {
+            ShardedLedgerPipeline pipeline = new ShardedLedgerPipeline(shards, ringSize, shardBatchSize, ledgerJournal, balanceLoader);
+            ledgerSnapshotStore.restore(pipeline);
+            pipeline.recover();
+            pipeline.start();
+            return pipeline;
+        }
+        StripedLedger ledger = new StripedLedger(stripes, ledgerJournal, balanceLoader);
+        ledgerSnapshotStore.restore(ledger);
+        ledger.recover();
+        return ledger;
+    }
+
+    @Bean
+    public LedgerSnapshotter ledgerSnapshotter(LedgerSnapshotStore ledgerSnapshotStore, LedgerEngine ledgerEngine) {
+        return new LedgerSnapshotter(ledgerSnapshotStore, ledgerEngine);
+    }
+
+    @Bean
+    public LedgerJournalFlusher ledgerJournalFlusher(LedgerJournal ledgerJournal, WalletRepository walletRepository,
+                                                     IntraTransactionRepository intraTransactionRepository,
+                                                     InterTransactionRepository interTransactionRepository,
+                                                     LedgerCheckpointRepository ledgerCheckpointRepository,
+                                                     TransactionTemplate transactionTemplate,
+                                                     ApplicationEventPublisher eventPublisher,
+                                                     @Value("${wallet.ledger.flush-batch-size:1000}") int batchSize) {
+        return new LedgerJournalFlusher(ledgerJournal, walletRepository, intraTransactionRepository, interTransactionRepository, ledgerCheckpointRepository, transactionTemplate, eventPublisher, batchSize);
+    }
+
+    @Bean
+    @Primary
+    public TransactionService ledgerTransactionService(UserRepository userRepository, WalletRepository walletRepository,
+                                                       IntraTransactionRepository intraTransactionRepository,
+                                                       InterTransactionRepository interTransactionRepository,
+                                                       CurrencyConversionService currencyConversionService,
+                                                       @Qualifier("historyQueryExecutor") Executor historyQueryExecutor,
+                                                       TransactionMetrics transactionMetrics,
+                                                       ApplicationEventPublisher eventPublisher,
+                                                       WalletVersionTracker walletVersionTracker,
+                                                       TransactionArchive transactionArchive,
+                                                       LedgerEngine ledgerEngine) {
+        return new LedgerTransactionService(userRepository, walletRepository, intraTransactionRepository, interTransactionRepository, currencyConversionService, historyQueryExecutor, transactionMetrics, eventPublisher, walletVersionTracker, transactionArchive, ledgerEngine);
+    }
+}
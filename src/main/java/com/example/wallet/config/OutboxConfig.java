@@ -0,0 +1,48 @@
+package com.example.wallet.config;
+
+import com.example.wallet.outbox.FileOutboxSink;
+import com.example.wallet.outbox.InMemoryOutboxSink;
+import com.example.wallet.outbox.OutboxDispatcher;
+import com.example.wallet.outbox.OutboxSink;
+import com.example.wallet.outbox.OutboxWriter;
+import com.example.wallet.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wallet.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxEventRepository outboxEventRepository) {
+        return new OutboxWriter(outboxEventRepository);
+    }
+
+    @Bean
+    public InMemoryOutboxSink inMemoryOutboxSink() {
+        return new InMemoryOutboxSink();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "wallet.outbox.file-sink.path")
+    public FileOutboxSink fileOutboxSink(@Value("${wallet.outbox.file-sink.path}") String path, ObjectMapper objectMapper) {
+        return new FileOutboxSink(Path.of(path), objectMapper);
+    }
+
+    @Bean
+    public OutboxDispatcher outboxDispatcher(OutboxEventRepository outboxEventRepository, List<OutboxSink> outboxSinks,
+                                             TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                             @Value("${wallet.outbox.batch-size:500}") int batchSize) {
+        return new OutboxDispatcher(outboxEventRepository, outboxSinks, transactionTemplate, meterRegistry, batchSize);
+    }
+}
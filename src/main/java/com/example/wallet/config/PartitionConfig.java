@@ -0,0 +1,24 @@
+package com.example.wallet.config;
+
+import com.example.wallet.partition.PartitionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wallet.partitions.enabled", havingValue = "true")
+public class PartitionConfig {
+
+    @Bean
+    public PartitionManager partitionManager(JdbcTemplate jdbcTemplate,
+                                             @Value("${wallet.partitions.premake-months:3}") int premakeMonths,
+                                             @Value("${wallet.partitions.retention-months:24}") int retentionMonths) {
+        PartitionManager partitionManager = new PartitionManager(jdbcTemplate, premakeMonths, retentionMonths);
+        partitionManager.maintain();
+        return partitionManager;
+    }
+}
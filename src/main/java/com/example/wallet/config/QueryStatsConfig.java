@@ -0,0 +1,25 @@
+package com.example.wallet.config;
+
+import com.example.wallet.web.QueryStatsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class QueryStatsConfig {
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(MeterRegistry meterRegistry,
+                                                                     @Value("${wallet.query-stats.slow-request-ms:500}") long slowRequestMillis,
+                                                                     @Value("${wallet.query-stats.max-statements:20}") long maxStatements,
+                                                                     @Value("${wallet.query-stats.sample-rate:0.01}") double sampleRate) {
+        FilterRegistrationBean<QueryStatsFilter> registration = new FilterRegistrationBean<>(
+                new QueryStatsFilter(meterRegistry, slowRequestMillis, maxStatements, sampleRate));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.wallet.config;
+
+import com.example.wallet.datasource.ReadYourWritesTracker;
+import com.example.wallet.datasource.ReplicaHealthChecker;
+import com.example.wallet.datasource.ReplicaRoutingDataSource;
+import com.example.wallet.web.ReadYourWritesInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "wallet.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingConfig(@Value("${wallet.replicas.stickiness-ms:5000}") long stickinessMillis) {
+        this.readYourWritesTracker = new ReadYourWritesTracker(stickinessMillis);
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, DataSourceProperties dataSourceProperties,
+                                                             @Value("${wallet.replicas.urls}") List<String> urls,
+                                                             @Value("${wallet.replicas.username:${spring.datasource.username:}}") String username,
+                                                             @Value("${wallet.replicas.password:${spring.datasource.password:}}") String password,
+                                                             @Value("${wallet.replicas.maximum-pool-size:10}") int maximumPoolSize) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(urls.get(i).trim());
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSource.setReadOnly(true);
+            replicas.add(new ReplicaRoutingDataSource.Replica("replica-" + i, dataSource));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return readYourWritesTracker;
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaRoutingDataSource replicaRoutingDataSource, MeterRegistry meterRegistry,
+                                                     @Value("${wallet.replicas.lag-query:SELECT CASE WHEN pg_is_in_recovery() THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) ELSE 0 END}") String lagQuery,
+                                                     @Value("${wallet.replicas.max-lag-ms:1000}") long maxLagMillis,
+                                                     @Value("${wallet.replicas.health-check-timeout-seconds:2}") int timeoutSeconds) {
+        ReplicaHealthChecker checker = new ReplicaHealthChecker(replicaRoutingDataSource.getReplicas(), lagQuery, maxLagMillis, timeoutSeconds, meterRegistry);
+        checker.check();
+        return checker;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.replicas.stickiness-ms:5000}")
+    public void evictExpiredStickiness() {
+        readYourWritesTracker.evictExpired();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesTracker))
+                .addPathPatterns("/users/*/wallets/**");
+    }
+}
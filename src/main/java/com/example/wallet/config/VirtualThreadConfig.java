@@ -0,0 +1,38 @@
+package com.example.wallet.config;
+
+import com.example.wallet.web.ConcurrencyLimitInterceptor;
+import com.example.wallet.web.DatabaseConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+    private final DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+
+    public VirtualThreadConfig(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                               @Value("${wallet.concurrency.history-query-connections:4}") int historyQueryConnections,
+                               @Value("${wallet.concurrency.max-database-requests:0}") int maxDatabaseRequests,
+                               @Value("${wallet.concurrency.acquire-timeout-ms:1000}") long acquireTimeoutMillis) {
+        if (historyQueryConnections >= poolSize) {
+            throw new IllegalArgumentException("wallet.concurrency.history-query-connections must be smaller than the connection pool size");
+        }
+        int requestPermits = maxDatabaseRequests > 0 ? maxDatabaseRequests : poolSize - historyQueryConnections;
+        this.databaseConcurrencyLimiter = new DatabaseConcurrencyLimiter(requestPermits, acquireTimeoutMillis);
+    }
+
+    @Bean
+    public DatabaseConcurrencyLimiter databaseConcurrencyLimiter() {
+        return databaseConcurrencyLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(databaseConcurrencyLimiter))
+                .addPathPatterns("/users/*/wallets/**");
+    }
+}
@@ -2,23 +2,46 @@ package com.example.wallet.controller;
 
 import com.example.wallet.Exceptions.AmountCannotBeNullException;
 import com.example.wallet.Exceptions.InvalidTransactionTypeException;
+import com.example.wallet.cache.HistoryPage;
+import com.example.wallet.cache.TransactionHistoryCache;
+import com.example.wallet.dto.BalanceDto;
+import com.example.wallet.dto.QueuedTransactionDto;
 import com.example.wallet.dto.TransactionDto;
+import com.example.wallet.model.QueuedTransaction;
+import com.example.wallet.queue.TransactionQueue;
+import com.example.wallet.service.HistoryFilter;
+import com.example.wallet.service.TransactionDispatcher;
 import com.example.wallet.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/users/{userId}/wallets/{walletId}")
 public class TransactionController {
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final TransactionService transactionService;
+    private final TransactionHistoryCache transactionHistoryCache;
+    private final TransactionQueue transactionQueue;
+    private final TransactionDispatcher transactionDispatcher;
 
     @Autowired
-    public TransactionController (TransactionService transactionService) {
+    public TransactionController (TransactionService transactionService, TransactionHistoryCache transactionHistoryCache,
+                                  TransactionQueue transactionQueue, TransactionDispatcher transactionDispatcher) {
         this.transactionService = transactionService;
+        this.transactionHistoryCache = transactionHistoryCache;
+        this.transactionQueue = transactionQueue;
+        this.transactionDispatcher = transactionDispatcher;
     }
 
     @PostMapping("/transactions")
@@ -26,10 +49,18 @@ public class TransactionController {
     public ResponseEntity<?> createTransaction(
             @PathVariable Long userId,
             @PathVariable Long walletId,
-            @RequestBody TransactionDto request) {
+            @RequestBody TransactionDto request,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
 
         validateTransactionRequest(request);
-        transactionService.createTransaction(userId, walletId, request.getRecipientWalletId(), request.getAmount(), request.getTransactionType().toLowerCase());
+        if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            QueuedTransaction queued = transactionQueue.enqueue(userId, walletId, request.getRecipientWalletId(), request.getAmount(), request.getTransactionType().toLowerCase());
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/queued/{transactionId}").buildAndExpand(queued.getId()).toUri())
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(new QueuedTransactionDto(queued));
+        }
+        transactionDispatcher.dispatch(userId, walletId, request.getRecipientWalletId(), request.getAmount(), request.getTransactionType().toLowerCase());
         String successMessage = "Transaction successful: " + request.getTransactionType().toLowerCase() + " of " + request.getAmount();
         return ResponseEntity.ok(successMessage);
     }
@@ -39,9 +70,41 @@ public class TransactionController {
     public ResponseEntity<?> getTransactions(@PathVariable Long userId, @PathVariable Long walletId,
                                              @RequestParam(required = false) String sortBy,
                                              @RequestParam(required = false) String sortOrder,
-                                             @RequestParam(required = false) String transactionType) {
-        List<Object> transactions = transactionService.getTransactions(userId, walletId, sortBy, sortOrder, transactionType);
-        return ResponseEntity.ok(transactions);
+                                             @RequestParam(required = false) String transactionType,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                             @RequestParam(required = false) Double minAmount,
+                                             @RequestParam(required = false) Double maxAmount,
+                                             WebRequest webRequest) {
+        HistoryFilter filter = new HistoryFilter(from, to, minAmount, maxAmount);
+        transactionService.authorize(userId, walletId);
+        if (transactionHistoryCache.checkNotModified(webRequest, walletId, sortBy, sortOrder, transactionType, filter)) {
+            return null;
+        }
+        HistoryPage page = transactionHistoryCache.getPage(walletId, sortBy, sortOrder, transactionType, filter);
+        return ResponseEntity.ok()
+                .eTag(page.eTag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page.body());
+    }
+
+    @GetMapping("/transactions/queued/{transactionId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getQueuedTransaction(@PathVariable Long userId, @PathVariable Long walletId, @PathVariable UUID transactionId) {
+        QueuedTransaction queued = transactionQueue.getStatus(userId, walletId, transactionId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new QueuedTransactionDto(queued));
+    }
+
+    @GetMapping("/balance")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getBalance(@PathVariable Long userId, @PathVariable Long walletId) {
+        Double balance = transactionService.getBalance(userId, walletId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new BalanceDto(walletId, balance));
     }
 
     private void validateTransactionRequest(TransactionDto request) {
@@ -0,0 +1,40 @@
+package com.example.wallet.controller;
+
+import com.example.wallet.events.WalletEventBus;
+import com.example.wallet.events.WalletSubscription;
+import com.example.wallet.service.TransactionService;
+import com.example.wallet.web.SseWalletUpdateSink;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/users/{userId}/wallets/{walletId}")
+public class WalletEventController {
+    private final TransactionService transactionService;
+    private final WalletEventBus walletEventBus;
+    private final long streamTimeoutMillis;
+
+    @Autowired
+    public WalletEventController(TransactionService transactionService, WalletEventBus walletEventBus,
+                                 @Value("${wallet.events.stream-timeout-ms:1800000}") long streamTimeoutMillis) {
+        this.transactionService = transactionService;
+        this.walletEventBus = walletEventBus;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter streamEvents(@PathVariable Long userId, @PathVariable Long walletId) {
+        transactionService.authorize(userId, walletId);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        WalletSubscription subscription = walletEventBus.subscribe(walletId, new SseWalletUpdateSink(emitter));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        return emitter;
+    }
+}
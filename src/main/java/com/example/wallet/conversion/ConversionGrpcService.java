@@ -0,0 +1,52 @@
+package com.example.wallet.conversion;
+
+import com.example.wallet.Enums.CurrencyType;
+import conversion.Conversion.ConvertRequest;
+import conversion.Conversion.ConvertResponse;
+import conversion.ConversionServiceGrpc;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+
+public class ConversionGrpcService extends ConversionServiceGrpc.ConversionServiceImplBase {
+    private volatile CrossRateMatrix rates;
+
+    public ConversionGrpcService(CrossRateMatrix rates) {
+        this.rates = rates;
+    }
+
+    public void updateRates(CrossRateMatrix rates) {
+        this.rates = rates;
+    }
+
+    public CrossRateMatrix getRates() {
+        return rates;
+    }
+
+    @Override
+    public void convert(ConvertRequest request, StreamObserver<ConvertResponse> responseObserver) {
+        CurrencyType from = currencyOf(request.getFromCurrency());
+        CurrencyType to = currencyOf(request.getToCurrency());
+        if (from == null || to == null) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Unsupported currency pair: " + request.getFromCurrency() + " -> " + request.getToCurrency())
+                    .asRuntimeException());
+            return;
+        }
+        if (!Double.isFinite(request.getAmount())) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Amount must be finite").asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(ConvertResponse.newBuilder()
+                .setConvertedAmount(rates.convert(from, to, request.getAmount()))
+                .build());
+        responseObserver.onCompleted();
+    }
+
+    private static CurrencyType currencyOf(String name) {
+        try {
+            return CurrencyType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.wallet.conversion;
+
+import com.example.wallet.Enums.CurrencyType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+
+public class ConversionRatesFile {
+    private final Path path;
+    private FileTime loadedModifiedTime;
+
+    public ConversionRatesFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized CrossRateMatrix load() {
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            }
+            loadedModifiedTime = modifiedTime;
+            return CrossRateMatrix.fromBaseRates(parse(properties));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read conversion rates from " + path, e);
+        }
+    }
+
+    public synchronized boolean isModified() {
+        try {
+            return loadedModifiedTime == null || !Files.getLastModifiedTime(path).equals(loadedModifiedTime);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read conversion rates from " + path, e);
+        }
+    }
+
+    private double[] parse(Properties properties) {
+        CurrencyType[] currencies = CurrencyType.values();
+        double[] baseRates = new double[currencies.length];
+        for (CurrencyType currency : currencies) {
+            baseRates[currency.ordinal()] = currency.toBaseCurrency(1.0);
+        }
+        for (String name : properties.stringPropertyNames()) {
+            CurrencyType currency;
+            try {
+                currency = CurrencyType.valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown currency in " + path + ": " + name);
+            }
+            try {
+                baseRates[currency.ordinal()] = Double.parseDouble(properties.getProperty(name).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rate for " + name + " in " + path + ": " + properties.getProperty(name));
+            }
+        }
+        return baseRates;
+    }
+}
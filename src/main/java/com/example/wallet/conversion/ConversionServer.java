@@ -0,0 +1,80 @@
+package com.example.wallet.conversion;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ConversionServer implements AutoCloseable {
+    private final ConversionGrpcService service;
+    private final ConversionRatesFile ratesFile;
+    private Server server;
+
+    public ConversionServer(ConversionRatesFile ratesFile) {
+        this.ratesFile = ratesFile;
+        this.service = new ConversionGrpcService(ratesFile != null ? ratesFile.load() : CrossRateMatrix.defaults());
+    }
+
+    public ConversionGrpcService getService() {
+        return service;
+    }
+
+    public synchronized ConversionServer startNetwork(int port) {
+        return start(ServerBuilder.forPort(port), "port " + port);
+    }
+
+    public synchronized ConversionServer startInProcess(String name) {
+        return start(InProcessServerBuilder.forName(name).directExecutor(), "in-process channel " + name);
+    }
+
+    private ConversionServer start(ServerBuilder<?> builder, String address) {
+        if (server != null) {
+            throw new IllegalStateException("Conversion server is already running");
+        }
+        try {
+            server = builder.addService(service).build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start conversion server on " + address, e);
+        }
+        log.info("Conversion server listening on {}", address);
+        return this;
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.conversion-server.reload-interval-ms:5000}")
+    public void reloadRates() {
+        if (ratesFile == null || !ratesFile.isModified()) {
+            return;
+        }
+        try {
+            service.updateRates(ratesFile.load());
+            log.info("Reloaded conversion rates from {}", ratesFile.getPath());
+        } catch (RuntimeException e) {
+            log.error("Keeping previous conversion rates: {}", e.getMessage());
+        }
+    }
+
+    public void awaitTermination() throws InterruptedException {
+        server.awaitTermination();
+    }
+
+    @Override
+    public synchronized void close() throws InterruptedException {
+        if (server != null) {
+            server.shutdown();
+            if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+            server = null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.wallet.conversion;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ConversionServerApplication {
+
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 50051;
+        ConversionRatesFile ratesFile = args.length > 1 ? new ConversionRatesFile(Path.of(args[1])) : null;
+        long reloadIntervalMillis = args.length > 2 ? Long.parseLong(args[2]) : 5000L;
+
+        ConversionServer server = new ConversionServer(ratesFile).startNetwork(port);
+        ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor();
+        reloader.scheduleWithFixedDelay(server::reloadRates, reloadIntervalMillis, reloadIntervalMillis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            reloader.shutdownNow();
+            try {
+                server.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        server.awaitTermination();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.wallet.conversion;
+
+import com.example.wallet.Enums.CurrencyType;
+
+public final class CrossRateMatrix {
+    private static final CurrencyType[] CURRENCIES = CurrencyType.values();
+
+    private final double[][] rates;
+
+    private CrossRateMatrix(double[][] rates) {
+        this.rates = rates;
+    }
+
+    public static CrossRateMatrix defaults() {
+        double[] baseRates = new double[CURRENCIES.length];
+        for (CurrencyType currency : CURRENCIES) {
+            baseRates[currency.ordinal()] = currency.toBaseCurrency(1.0);
+        }
+        return fromBaseRates(baseRates);
+    }
+
+    public static CrossRateMatrix fromBaseRates(double[] baseRates) {
+        if (baseRates.length != CURRENCIES.length) {
+            throw new IllegalArgumentException("Expected " + CURRENCIES.length + " base rates but got " + baseRates.length);
+        }
+        for (CurrencyType currency : CURRENCIES) {
+            double baseRate = baseRates[currency.ordinal()];
+            if (!(baseRate > 0) || Double.isInfinite(baseRate)) {
+                throw new IllegalArgumentException("Invalid base rate for " + currency + ": " + baseRate);
+            }
+        }
+        double[][] rates = new double[CURRENCIES.length][CURRENCIES.length];
+        for (int from = 0; from < CURRENCIES.length; from++) {
+            for (int to = 0; to < CURRENCIES.length; to++) {
+                rates[from][to] = from == to ? 1.0 : baseRates[from] / baseRates[to];
+            }
+        }
+        return new CrossRateMatrix(rates);
+    }
+
+    public double rate(CurrencyType from, CurrencyType to) {
+        return rates[from.ordinal()][to.ordinal()];
+    }
+
+    public double convert(CurrencyType from, CurrencyType to, double amount) {
+        return amount * rates[from.ordinal()][to.ordinal()];
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.wallet.datasource;
+
+import com.example.wallet.service.WalletChangedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class ReadYourWritesTracker {
+    private final ConcurrentHashMap<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this(windowMillis, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(long windowMillis, LongSupplier nanoClock) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    @EventListener
+    public void onWalletChanged(WalletChangedEvent event) {
+        markWritten(event.walletId());
+    }
+
+    public void markWritten(Long walletId) {
+        stickyUntil.put(walletId, nanoClock.getAsLong() + windowNanos);
+    }
+
+    public boolean isSticky(Long walletId) {
+        Long until = stickyUntil.get(walletId);
+        return until != null && until - nanoClock.getAsLong() > 0;
+    }
+
+    public int evictExpired() {
+        long now = nanoClock.getAsLong();
+        int before = stickyUntil.size();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+        return before - stickyUntil.size();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.wallet.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+@Slf4j
+public class ReplicaHealthChecker {
+    private final List<ReplicaRoutingDataSource.Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final int queryTimeoutSeconds;
+
+    public ReplicaHealthChecker(List<ReplicaRoutingDataSource.Replica> replicas, String lagQuery, long maxLagMillis,
+                                int queryTimeoutSeconds, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+        for (ReplicaRoutingDataSource.Replica replica : replicas) {
+            Gauge.builder("wallet.replica.lag", replica, ReplicaRoutingDataSource.Replica::getLagMillis)
+                    .tag("replica", replica.getName())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("wallet.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.replicas.health-check-interval-ms:1000}")
+    public void check() {
+        for (ReplicaRoutingDataSource.Replica replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            try (Connection connection = replica.getDataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(queryTimeoutSeconds);
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    long lagMillis = resultSet.next() ? resultSet.getLong(1) : 0L;
+                    if (lagMillis > maxLagMillis) {
+                        replica.markUnhealthy(lagMillis);
+                    } else {
+                        replica.markHealthy(lagMillis);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markUnhealthy(replica.getLagMillis());
+                if (wasHealthy) {
+                    log.warn("Replica {} failed its health check, routing reads to the primary: {}", replica.getName(), e.getMessage());
+                }
+                continue;
+            }
+            if (wasHealthy != replica.isHealthy()) {
+                log.info("Replica {} is now {} with {} ms lag", replica.getName(), replica.isHealthy() ? "healthy" : "lagging", replica.getLagMillis());
+            }
+        }
+    }
+}
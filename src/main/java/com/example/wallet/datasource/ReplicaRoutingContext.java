@@ -0,0 +1,40 @@
+package com.example.wallet.datasource;
+
+public final class ReplicaRoutingContext {
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    public static Boolean requirePrimary() {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    public static void restore(Boolean previous) {
+        if (previous == null) {
+            PRIMARY_REQUIRED.remove();
+        } else {
+            PRIMARY_REQUIRED.set(previous);
+        }
+    }
+
+    public static Runnable propagate(Runnable task) {
+        if (!isPrimaryRequired()) {
+            return task;
+        }
+        return () -> {
+            Boolean previous = requirePrimary();
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.wallet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceDto {
+    private Long walletId;
+    private Double balance;
+}
@@ -0,0 +1,26 @@
+package com.example.wallet.dto;
+
+import com.example.wallet.Enums.QueuedTransactionStatus;
+import com.example.wallet.model.QueuedTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class QueuedTransactionDto {
+    private UUID transactionId;
+    private QueuedTransactionStatus status;
+    private String failureCode;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public QueuedTransactionDto(QueuedTransaction transaction) {
+        this(transaction.getId(), transaction.getStatus(), transaction.getFailureCode(),
+                transaction.getCreatedAt(), transaction.getCompletedAt());
+    }
+}
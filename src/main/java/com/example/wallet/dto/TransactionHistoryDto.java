@@ -0,0 +1,56 @@
+package com.example.wallet.dto;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.model.IntraTransaction;
+import com.example.wallet.model.Wallet;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A history entry in the shape the transaction entities have always been rendered in, with each wallet reduced to the
+ * fields that never change, so that a rendered page does not carry any wallet's balance.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionHistoryDto {
+    private Long id;
+    private WalletSummary wallet;
+    private WalletSummary senderWallet;
+    private WalletSummary recipientWallet;
+    private TransactionType type;
+    private Double amount;
+    private LocalDateTime timestamp;
+
+    public TransactionHistoryDto(IntraTransaction transaction) {
+        this(transaction.getId(), WalletSummary.of(transaction.getWallet()), null, null,
+                transaction.getType(), transaction.getAmount(), transaction.getTimestamp());
+    }
+
+    public TransactionHistoryDto(InterTransaction transaction) {
+        this(transaction.getId(), null, WalletSummary.of(transaction.getSenderWallet()), WalletSummary.of(transaction.getRecipientWallet()),
+                transaction.getType(), transaction.getAmount(), transaction.getTimestamp());
+    }
+
+    public static TransactionHistoryDto of(Object transaction) {
+        return switch (transaction) {
+            case IntraTransaction intraTransaction -> new TransactionHistoryDto(intraTransaction);
+            case InterTransaction interTransaction -> new TransactionHistoryDto(interTransaction);
+            default -> throw new IllegalArgumentException("Unsupported transaction: " + transaction.getClass().getName());
+        };
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record WalletSummary(Long id, CurrencyType currency) {
+        private static WalletSummary of(Wallet wallet) {
+            return wallet != null ? new WalletSummary(wallet.getId(), wallet.getCurrency()) : null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.wallet.events;
+
+import com.example.wallet.Exceptions.ServerBusyException;
+import com.example.wallet.service.WalletChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class WalletEventBus {
+    private final ConcurrentHashMap<Long, Set<WalletSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadFactory senderThreads = Thread.ofVirtual().name("wallet-events-", 0).factory();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long heartbeatMillis;
+    private final Counter delivered;
+    private final Counter evicted;
+
+    @Autowired
+    public WalletEventBus(MeterRegistry meterRegistry,
+                          @Value("${wallet.events.buffer-size:64}") int bufferSize,
+                          @Value("${wallet.events.max-subscribers:20000}") int maxSubscribers,
+                          @Value("${wallet.events.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatMillis = heartbeatMillis;
+        this.delivered = Counter.builder("wallet.events.delivered").register(meterRegistry);
+        this.evicted = Counter.builder("wallet.events.evicted").register(meterRegistry);
+        Gauge.builder("wallet.events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public WalletSubscription subscribe(Long walletId, WalletUpdateSink sink) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServerBusyException("Too many event stream subscribers, please retry");
+        }
+        WalletSubscription subscription = new WalletSubscription(walletId, sink, bufferSize, heartbeatMillis, this::remove);
+        subscriptions.compute(walletId, (id, walletSubscriptions) -> {
+            Set<WalletSubscription> target = walletSubscriptions == null ? ConcurrentHashMap.newKeySet() : walletSubscriptions;
+            target.add(subscription);
+            return target;
+        });
+        senderThreads.newThread(subscription).start();
+        return subscription;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWalletChanged(WalletChangedEvent event) {
+        publish(event);
+    }
+
+    public void publish(WalletChangedEvent event) {
+        Set<WalletSubscription> walletSubscriptions = subscriptions.get(event.walletId());
+        if (walletSubscriptions == null) {
+            return;
+        }
+        for (WalletSubscription subscription : walletSubscriptions) {
+            if (subscription.offer(event)) {
+                delivered.increment();
+            } else if (!subscription.isClosed()) {
+                evicted.increment();
+                subscription.close();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        new ArrayList<>(subscriptions.values()).forEach(walletSubscriptions -> new ArrayList<>(walletSubscriptions).forEach(WalletSubscription::close));
+    }
+
+    private void remove(WalletSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getWalletId(), (id, walletSubscriptions) -> {
+            walletSubscriptions.remove(subscription);
+            return walletSubscriptions.isEmpty() ? null : walletSubscriptions;
+        });
+        subscriberCount.decrementAndGet();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.wallet.events;
+
+import com.example.wallet.service.WalletChangedEvent;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public class WalletSubscription implements Runnable {
+    @Getter
+    private final Long walletId;
+    private final WalletUpdateSink sink;
+    private final BlockingQueue<WalletChangedEvent> buffer;
+    private final long heartbeatMillis;
+    private final Consumer<WalletSubscription> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Thread sender;
+
+    WalletSubscription(Long walletId, WalletUpdateSink sink, int bufferSize, long heartbeatMillis, Consumer<WalletSubscription> onClose) {
+        this.walletId = walletId;
+        this.sink = sink;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.heartbeatMillis = heartbeatMillis;
+        this.onClose = onClose;
+    }
+
+    boolean offer(WalletChangedEvent event) {
+        return !closed.get() && buffer.offer(event);
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void run() {
+        sender = Thread.currentThread();
+        try {
+            while (!closed.get()) {
+                WalletChangedEvent event = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    sink.heartbeat();
+                } else {
+                    sink.send(event);
+                }
+            }
+        } catch (InterruptedException | IOException | RuntimeException e) {
+            // the subscriber went away or was evicted; fall through and release it
+        } finally {
+            close();
+        }
+    }
+
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = sender;
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.interrupt();
+        }
+        buffer.clear();
+        sink.close();
+        onClose.accept(this);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.wallet.events;
+
+import com.example.wallet.service.WalletChangedEvent;
+
+import java.io.IOException;
+
+public interface WalletUpdateSink {
+    void send(WalletChangedEvent event) throws IOException;
+
+    void heartbeat() throws IOException;
+
+    void close();
+}
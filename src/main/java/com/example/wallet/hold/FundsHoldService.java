@@ -0,0 +1,94 @@
+package com.example.wallet.hold;
+
+import com.example.wallet.Enums.HoldStatus;
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.Exceptions.HoldNotActiveException;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.UserNotFoundException;
+import com.example.wallet.model.FundsHold;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.repository.FundsHoldRepository;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.WalletChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Service
+public class FundsHoldService {
+    private final FundsHoldRepository fundsHoldRepository;
+    private final WalletRepository walletRepository;
+    private final InterTransactionRepository interTransactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration holdTtl;
+
+    @Autowired
+    public FundsHoldService(FundsHoldRepository fundsHoldRepository, WalletRepository walletRepository,
+                            InterTransactionRepository interTransactionRepository, ApplicationEventPublisher eventPublisher,
+                            @Value("${wallet.holds.ttl-ms:30000}") long holdTtlMillis) {
+        this.fundsHoldRepository = fundsHoldRepository;
+        this.walletRepository = walletRepository;
+        this.interTransactionRepository = interTransactionRepository;
+        this.eventPublisher = eventPublisher;
+        this.holdTtl = Duration.ofMillis(holdTtlMillis);
+    }
+
+    @Transactional
+    public FundsHold reserve(Long walletId, Long counterpartyWalletId, Double amount) {
+        if (walletRepository.reserve(walletId, amount) == 0) {
+            throw new InsufficientFundsException("Insufficient funds for transfer");
+        }
+        return fundsHoldRepository.save(new FundsHold(walletId, counterpartyWalletId, amount, LocalDateTime.now().plus(holdTtl)));
+    }
+
+    /**
+     * Settles the hold, first running {@code inSettlement} in the same transaction so that work which must commit or roll
+     * back together with the settlement, such as completing a queued transaction, can join it.
+     */
+    @Transactional
+    public Double settle(Long holdId, Double counterpartyAmount, Runnable inSettlement) {
+        inSettlement.run();
+        if (fundsHoldRepository.close(holdId, HoldStatus.SETTLED) == 0) {
+            throw new HoldNotActiveException("Hold has expired or was already released");
+        }
+        FundsHold hold = fundsHoldRepository.findById(holdId).orElseThrow(() -> new HoldNotActiveException("Hold not found"));
+        Long walletId = hold.getWalletId();
+        Long counterpartyWalletId = hold.getCounterpartyWalletId();
+
+        walletRepository.settle(walletId, hold.getAmount());
+        walletRepository.credit(counterpartyWalletId, counterpartyAmount);
+        interTransactionRepository.save(new InterTransaction(walletRepository.getReferenceById(walletId),
+                walletRepository.getReferenceById(counterpartyWalletId), TransactionType.TRANSFER, hold.getAmount()));
+
+        Double balance = walletRepository.findBalanceById(walletId).orElseThrow(() -> new UserNotFoundException("Sender not found"));
+        Double counterpartyBalance = walletRepository.findBalanceById(counterpartyWalletId).orElseThrow(() -> new UserNotFoundException("Recipient not found"));
+        eventPublisher.publishEvent(new WalletChangedEvent(walletId, balance, TransactionType.TRANSFER, -hold.getAmount(), counterpartyWalletId));
+        eventPublisher.publishEvent(new WalletChangedEvent(counterpartyWalletId, counterpartyBalance, TransactionType.TRANSFER, counterpartyAmount, walletId));
+        return walletId.equals(counterpartyWalletId) ? counterpartyBalance : balance;
+    }
+
+    @Transactional
+    public boolean release(Long holdId) {
+        return close(holdId, HoldStatus.RELEASED);
+    }
+
+    @Transactional
+    public boolean expire(Long holdId) {
+        return close(holdId, HoldStatus.EXPIRED);
+    }
+
+    private boolean close(Long holdId, HoldStatus status) {
+        if (fundsHoldRepository.close(holdId, status) == 0) {
+            return false;
+        }
+        FundsHold hold = fundsHoldRepository.findById(holdId).orElseThrow(() -> new HoldNotActiveException("Hold not found"));
+        walletRepository.release(hold.getWalletId(), hold.getAmount());
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.wallet.hold;
+
+import com.example.wallet.repository.FundsHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+public class FundsHoldSweeper {
+    private final FundsHoldRepository fundsHoldRepository;
+    private final FundsHoldService fundsHoldService;
+    private final int batchSize;
+    private final Counter expired;
+
+    public FundsHoldSweeper(FundsHoldRepository fundsHoldRepository, FundsHoldService fundsHoldService, MeterRegistry meterRegistry, int batchSize) {
+        this.fundsHoldRepository = fundsHoldRepository;
+        this.fundsHoldService = fundsHoldService;
+        this.batchSize = batchSize;
+        this.expired = Counter.builder("wallet.holds.expired").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.holds.sweep-interval-ms:5000}")
+    public int sweep() {
+        int total = 0;
+        List<Long> holdIds;
+        do {
+            holdIds = fundsHoldRepository.findExpiredIds(LocalDateTime.now(), Limit.of(batchSize));
+            for (Long holdId : holdIds) {
+                if (fundsHoldService.expire(holdId)) {
+                    total++;
+                }
+            }
+        } while (holdIds.size() == batchSize);
+        if (total > 0) {
+            expired.increment(total);
+            log.info("Expired {} funds holds", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.wallet.hold;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.Exceptions.RecipientWalletIdCannotBeNullException;
+import com.example.wallet.Exceptions.TransferAmountMustBePositiveException;
+import com.example.wallet.Exceptions.UserNotFoundException;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.metrics.TransactionOperation;
+import com.example.wallet.metrics.TransactionPhase;
+import com.example.wallet.metrics.TransactionTiming;
+import com.example.wallet.model.FundsHold;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.CurrencyConversionService;
+import com.example.wallet.service.TransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class HoldTransferService {
+    private final TransactionService transactionService;
+    private final FundsHoldService fundsHoldService;
+    private final WalletRepository walletRepository;
+    private final CurrencyConversionService currencyConversionService;
+    private final TransactionMetrics transactionMetrics;
+    private final boolean enabled;
+
+    @Autowired
+    public HoldTransferService(TransactionService transactionService, FundsHoldService fundsHoldService, WalletRepository walletRepository,
+                               CurrencyConversionService currencyConversionService, TransactionMetrics transactionMetrics,
+                               @Value("${wallet.holds.enabled:false}") boolean holdsEnabled,
+                               @Value("${wallet.ledger.enabled:false}") boolean ledgerEnabled) {
+        this.transactionService = transactionService;
+        this.fundsHoldService = fundsHoldService;
+        this.walletRepository = walletRepository;
+        this.currencyConversionService = currencyConversionService;
+        this.transactionMetrics = transactionMetrics;
+        this.enabled = holdsEnabled && !ledgerEnabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Double transfer(Long userId, Long senderWalletId, Long recipientWalletId, Double amount) {
+        return transfer(userId, senderWalletId, recipientWalletId, amount, () -> {});
+    }
+
+    /**
+     * Transfers as {@link #transfer(Long, Long, Long, Double)} does, running {@code inSettlement} inside the settlement
+     * transaction.
+     */
+    public Double transfer(Long userId, Long senderWalletId, Long recipientWalletId, Double amount, Runnable inSettlement) {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.TRANSFER, senderWalletId, amount);
+        try {
+            if (recipientWalletId == null) {
+                throw new RecipientWalletIdCannotBeNullException("Recipient wallet ID is required for transfers");
+            }
+            transactionService.authorize(userId, senderWalletId);
+            timing.phase(TransactionPhase.AUTH);
+
+            if (amount <= 0) {
+                throw new TransferAmountMustBePositiveException("Transfer amount must be positive");
+            }
+            CurrencyType senderCurrency = walletRepository.findCurrencyById(senderWalletId)
+                    .orElseThrow(() -> new UserNotFoundException("Sender not found"));
+            CurrencyType recipientCurrency = walletRepository.findCurrencyById(recipientWalletId)
+                    .orElseThrow(() -> new UserNotFoundException("Recipient not found"));
+            FundsHold hold = fundsHoldService.reserve(senderWalletId, recipientWalletId, amount);
+            timing.phase(TransactionPhase.DB_READ);
+
+            try {
+                double amountInRecipientCurrency = currencyConversionService.convert(senderCurrency.name(), recipientCurrency.name(), amount);
+                timing.phase(TransactionPhase.FX);
+
+                Double senderNewBalance = fundsHoldService.settle(hold.getId(), amountInRecipientCurrency, inSettlement);
+                timing.phase(TransactionPhase.DB_WRITE);
+                timing.succeeded();
+                return senderNewBalance;
+            } catch (RuntimeException e) {
+                fundsHoldService.release(hold.getId());
+                throw e;
+            }
+        } finally {
+            timing.stop();
+        }
+    }
+}
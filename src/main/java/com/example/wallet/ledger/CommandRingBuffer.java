@@ -0,0 +1,69 @@
+package com.example.wallet.ledger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class CommandRingBuffer {
+    private final LedgerCommand[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    CommandRingBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new LedgerCommand[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LedgerCommand();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    boolean tryPublish(LedgerCommand.Operation operation, long walletId, long counterpartyWalletId,
+                       double amount, double counterpartyAmount,
+                       CompletableFuture<Double> result, Object attachment) {
+        long position;
+        while (true) {
+            position = tail.get();
+            long sequence = sequences.get((int) position & mask);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                return false;
+            }
+        }
+        int index = (int) position & mask;
+        slots[index].set(operation, walletId, counterpartyWalletId, amount, counterpartyAmount, result, attachment);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    int available(int maxCommands) {
+        int count = 0;
+        while (count < maxCommands && sequences.get((int) (head + count) & mask) == head + count + 1) {
+            count++;
+        }
+        return count;
+    }
+
+    LedgerCommand get(int offset) {
+        return slots[(int) (head + offset) & mask];
+    }
+
+    void release(int count) {
+        for (int i = 0; i < count; i++) {
+            int index = (int) (head + i) & mask;
+            slots[index].clear();
+            sequences.set(index, head + i + slots.length);
+        }
+        head += count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.TransactionType;
+
+/**
+ * A journal record. A transfer between wallets of different segments is written as two linked legs, each in the segment
+ * that owns its wallet: a {@link Leg#CREDIT} for the recipient followed by a {@link Leg#DEBIT} for the sender, each
+ * pointing at the other through {@code linkSegment} and {@code linkSequence}.
+ */
+public record JournalEntry(long sequence,
+                           TransactionType type,
+                           Leg leg,
+                           long walletId,
+                           long counterpartyWalletId,
+                           double amount,
+                           double counterpartyAmount,
+                           double balance,
+                           double counterpartyBalance,
+                           long timestampMillis,
+                           int linkSegment,
+                           long linkSequence) {
+
+    public enum Leg {
+        FULL,
+        DEBIT,
+        CREDIT
+    }
+
+    /**
+     * Whether this record also carries the counterparty's new balance, which is only the case when both wallets live in
+     * the same segment.
+     */
+    public boolean carriesCounterpartyBalance() {
+        return type == TransactionType.TRANSFER && leg == Leg.FULL;
+    }
+}
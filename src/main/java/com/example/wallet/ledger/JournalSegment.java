@@ -0,0 +1,212 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.Exceptions.ServerUnavailableException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One memory-mapped ring of journal records, owned by a single stripe or shard. Appends come from one writer at a time
+ * and progress is marked by one flusher, so neither side takes a lock: the writer publishes a record through its
+ * sequence word and {@code lastSequence}, and the flusher publishes progress through {@code flushedSequence}.
+ */
+public class JournalSegment implements AutoCloseable {
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 88;
+
+    private static final int MAGIC = 0x574C4A32;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SEGMENT_COUNT_OFFSET = 4;
+    private static final int FLUSHED_SEQUENCE_OFFSET = 8;
+    private static final int JOURNAL_ID_OFFSET = 16;
+
+    private final Path path;
+    private final int index;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long journalId;
+    private volatile long lastSequence;
+    private volatile long flushedSequence;
+
+    JournalSegment(Path path, int index, int segmentCount, int capacity) {
+        this.path = path;
+        this.index = index;
+        this.capacity = capacity;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) RECORD_SIZE * capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open ledger journal " + path, e);
+        }
+        if (buffer.getInt(MAGIC_OFFSET) == MAGIC && buffer.getInt(SEGMENT_COUNT_OFFSET) != segmentCount) {
+            this.flushedSequence = buffer.getLong(FLUSHED_SEQUENCE_OFFSET);
+            if (recoverLastSequence() > flushedSequence) {
+                close();
+                throw new IllegalStateException("Ledger journal " + path + " has unflushed entries written with "
+                        + buffer.getInt(SEGMENT_COUNT_OFFSET) + " segments, but " + segmentCount + " are configured");
+            }
+            initialize(segmentCount);
+        } else if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+            initialize(segmentCount);
+        }
+        this.journalId = buffer.getLong(JOURNAL_ID_OFFSET);
+        this.flushedSequence = buffer.getLong(FLUSHED_SEQUENCE_OFFSET);
+        this.lastSequence = recoverLastSequence();
+    }
+
+    private void initialize(int segmentCount) {
+        for (int record = 0; record < capacity; record++) {
+            buffer.putLong(HEADER_SIZE + record * RECORD_SIZE, 0L);
+        }
+        buffer.putLong(FLUSHED_SEQUENCE_OFFSET, 0L);
+        buffer.putLong(JOURNAL_ID_OFFSET, ThreadLocalRandom.current().nextLong());
+        buffer.putInt(SEGMENT_COUNT_OFFSET, segmentCount);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+    }
+
+    public long append(TransactionType type, long walletId, double amount, double balance) {
+        return append(type, JournalEntry.Leg.FULL, walletId, 0L, amount, 0.0, balance, 0.0, -1, 0L);
+    }
+
+    public long append(TransactionType type, long walletId, long counterpartyWalletId,
+                       double amount, double counterpartyAmount,
+                       double balance, double counterpartyBalance) {
+        return append(type, JournalEntry.Leg.FULL, walletId, counterpartyWalletId, amount, counterpartyAmount,
+                balance, counterpartyBalance, -1, 0L);
+    }
+
+    long append(TransactionType type, JournalEntry.Leg leg, long walletId, long counterpartyWalletId,
+                double amount, double counterpartyAmount, double balance, double counterpartyBalance,
+                int linkSegment, long linkSequence) {
+        long sequence = nextSequence();
+        int position = positionOf(sequence);
+        buffer.putInt(position + 8, type.ordinal());
+        buffer.putInt(position + 12, leg.ordinal());
+        buffer.putLong(position + 16, walletId);
+        buffer.putLong(position + 24, counterpartyWalletId);
+        buffer.putDouble(position + 32, amount);
+        buffer.putDouble(position + 40, counterpartyAmount);
+        buffer.putDouble(position + 48, balance);
+        buffer.putDouble(position + 56, counterpartyBalance);
+        buffer.putLong(position + 64, System.currentTimeMillis());
+        buffer.putLong(position + 72, linkSequence);
+        buffer.putInt(position + 80, linkSegment);
+        VarHandle.releaseFence();
+        buffer.putLong(position, sequence);
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Returns the sequence the next append will take, failing if the ring has no room for it.
+     */
+    long nextSequence() {
+        long sequence = lastSequence + 1;
+        if (sequence - flushedSequence > capacity) {
+            throw new ServerUnavailableException("Ledger journal is full");
+        }
+        return sequence;
+    }
+
+    /**
+     * Drops the last record. Only used on recovery, to discard the credit leg of a transfer whose debit leg was never
+     * written.
+     */
+    void discardLast() {
+        buffer.putLong(positionOf(lastSequence), 0L);
+        lastSequence--;
+    }
+
+    public List<JournalEntry> readUnflushed(int maxEntries) {
+        long last = lastSequence;
+        List<JournalEntry> entries = new ArrayList<>();
+        for (long sequence = flushedSequence + 1; sequence <= last && entries.size() < maxEntries; sequence++) {
+            entries.add(read(sequence));
+        }
+        return entries;
+    }
+
+    JournalEntry readLast() {
+        return lastSequence > flushedSequence ? read(lastSequence) : null;
+    }
+
+    public void markFlushed(long sequence) {
+        if (sequence > flushedSequence) {
+            flushedSequence = Math.min(sequence, lastSequence);
+            buffer.putLong(FLUSHED_SEQUENCE_OFFSET, flushedSequence);
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getJournalId() {
+        return journalId;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public long getFlushedSequence() {
+        return flushedSequence;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close ledger journal " + path, e);
+        }
+    }
+
+    private JournalEntry read(long sequence) {
+        int position = positionOf(sequence);
+        return new JournalEntry(
+                buffer.getLong(position),
+                TransactionType.values()[buffer.getInt(position + 8)],
+                JournalEntry.Leg.values()[buffer.getInt(position + 12)],
+                buffer.getLong(position + 16),
+                buffer.getLong(position + 24),
+                buffer.getDouble(position + 32),
+                buffer.getDouble(position + 40),
+                buffer.getDouble(position + 48),
+                buffer.getDouble(position + 56),
+                buffer.getLong(position + 64),
+                buffer.getInt(position + 80),
+                buffer.getLong(position + 72));
+    }
+
+    private int positionOf(long sequence) {
+        return HEADER_SIZE + (int) ((sequence - 1) % capacity) * RECORD_SIZE;
+    }
+
+    private long recoverLastSequence() {
+        long sequence = flushedSequence;
+        while (sequence - flushedSequence < capacity && buffer.getLong(positionOf(sequence + 1)) == sequence + 1) {
+            sequence++;
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.wallet.ledger;
+
+import java.util.concurrent.CompletableFuture;
+
+final class LedgerCommand {
+    enum Operation {
+        BALANCE,
+        DEPOSIT,
+        WITHDRAWAL,
+        TRANSFER,
+        HANDOFF,
+        SNAPSHOT
+    }
+
+    Operation operation;
+    long walletId;
+    long counterpartyWalletId;
+    double amount;
+    double counterpartyAmount;
+    CompletableFuture<Double> result;
+    Object attachment;
+    double value;
+    RuntimeException error;
+
+    void set(Operation operation, long walletId, long counterpartyWalletId, double amount, double counterpartyAmount,
+             CompletableFuture<Double> result, Object attachment) {
+        this.operation = operation;
+        this.walletId = walletId;
+        this.counterpartyWalletId = counterpartyWalletId;
+        this.amount = amount;
+        this.counterpartyAmount = counterpartyAmount;
+        this.result = result;
+        this.attachment = attachment;
+        this.value = 0.0;
+        this.error = null;
+    }
+
+    void complete() {
+        if (result == null) {
+            return;
+        }
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(value);
+        }
+    }
+
+    void clear() {
+        result = null;
+        attachment = null;
+        error = null;
+    }
+}
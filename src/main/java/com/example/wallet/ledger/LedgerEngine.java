@@ -0,0 +1,17 @@
+package com.example.wallet.ledger;
+
+public interface LedgerEngine {
+    double balance(long walletId);
+
+    double deposit(long walletId, double amount);
+
+    double withdraw(long walletId, double amount);
+
+    double transfer(long senderWalletId, long recipientWalletId, double amount, double amountInRecipientCurrency);
+
+    void recover();
+
+    void restore(long walletId, double balance);
+
+    void forEachBalance(LongDoubleMap.Entry consumer);
+}
@@ -0,0 +1,149 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.TransactionType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The ledger journal, split into one {@link JournalSegment} per stripe or shard so that appends never contend on a
+ * shared monitor. Every wallet's records live in the segment of the stripe or shard that owns the wallet, which keeps
+ * each wallet's history in order within a single segment.
+ */
+public class LedgerJournal implements AutoCloseable {
+    private final JournalSegment[] segments;
+
+    public LedgerJournal(Path path, int segmentCount, int capacity) {
+        if (Files.exists(path)) {
+            throw new IllegalStateException("Found a single-file ledger journal at " + path
+                    + "; flush it with the previous release and remove it before starting with segmented journals");
+        }
+        Path extra = segmentPath(path, segmentCount);
+        if (Files.exists(extra)) {
+            throw new IllegalStateException("Found ledger journal segment " + extra + " beyond the " + segmentCount
+                    + " configured segments; flush it with the previous segment count and remove it");
+        }
+        this.segments = new JournalSegment[segmentCount];
+        try {
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = new JournalSegment(segmentPath(path, i), i, segmentCount, capacity);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private static Path segmentPath(Path path, int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    public JournalSegment segment(int index) {
+        return segments[index];
+    }
+
+    /**
+     * Journals a transfer. Within one segment it is a single record; across segments the recipient's credit leg is
+     * written before the sender's debit leg, so a crash in between leaves only a credit whose debit is missing, which
+     * {@link #replayUnflushed} discards. The caller must own both segments.
+     */
+    public void appendTransfer(int senderSegment, int recipientSegment, long senderWalletId, long recipientWalletId,
+                               double amount, double amountInRecipientCurrency,
+                               double senderBalance, double recipientBalance) {
+        if (senderSegment == recipientSegment) {
+            segments[senderSegment].append(TransactionType.TRANSFER, senderWalletId, recipientWalletId,
+                    amount, amountInRecipientCurrency, senderBalance, recipientBalance);
+            return;
+        }
+        JournalSegment debit = segments[senderSegment];
+        JournalSegment credit = segments[recipientSegment];
+        long debitSequence = debit.nextSequence();
+        long creditSequence = credit.append(TransactionType.TRANSFER, JournalEntry.Leg.CREDIT, recipientWalletId, senderWalletId,
+                amountInRecipientCurrency, amount, recipientBalance, senderBalance, senderSegment, debitSequence);
+        debit.append(TransactionType.TRANSFER, JournalEntry.Leg.DEBIT, senderWalletId, recipientWalletId,
+                amount, amountInRecipientCurrency, senderBalance, recipientBalance, recipientSegment, creditSequence);
+    }
+
+    /**
+     * Whether a record may be flushed: a credit leg waits until its debit leg has been written.
+     */
+    public boolean isComplete(JournalEntry entry) {
+        return entry.leg() != JournalEntry.Leg.CREDIT || segments[entry.linkSegment()].getLastSequence() >= entry.linkSequence();
+    }
+
+    /**
+     * Replays unflushed records segment by segment, after discarding the credit leg of a transfer that was interrupted
+     * before its debit leg was written. Must run before any writer starts.
+     */
+    public void replayUnflushed(Consumer<JournalEntry> consumer) {
+        for (JournalSegment segment : segments) {
+            JournalEntry last = segment.readLast();
+            if (last != null && !isComplete(last)) {
+                segment.discardLast();
+            }
+        }
+        for (JournalSegment segment : segments) {
+            segment.readUnflushed(Integer.MAX_VALUE).forEach(consumer);
+        }
+    }
+
+    public List<Long> getLastSequences() {
+        List<Long> sequences = new ArrayList<>(segments.length);
+        for (JournalSegment segment : segments) {
+            sequences.add(segment.getLastSequence());
+        }
+        return sequences;
+    }
+
+    /**
+     * Whether any segment has flushed records beyond the given per-segment sequences, so that those records will not
+     * be replayed.
+     */
+    public boolean isFlushedPast(List<Long> sequences) {
+        if (sequences.size() != segments.length) {
+            return true;
+        }
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i].getFlushedSequence() > sequences.get(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getPendingEntries() {
+        long pending = 0;
+        for (JournalSegment segment : segments) {
+            pending += segment.getLastSequence() - segment.getFlushedSequence();
+        }
+        return pending;
+    }
+
+    public void markAllFlushed() {
+        for (JournalSegment segment : segments) {
+            segment.markFlushed(segment.getLastSequence());
+        }
+    }
+
+    public void force() {
+        for (JournalSegment segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (JournalSegment segment : segments) {
+            if (segment != null) {
+                segment.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.Exceptions.UserNotFoundException;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.model.IntraTransaction;
+import com.example.wallet.model.LedgerCheckpoint;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.LedgerCheckpointRepository;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.WalletChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class LedgerJournalFlusher {
+    private final LedgerJournal journal;
+    private final WalletRepository walletRepository;
+    private final IntraTransactionRepository intraTransactionRepository;
+    private final InterTransactionRepository interTransactionRepository;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public LedgerJournalFlusher(LedgerJournal journal, WalletRepository walletRepository, IntraTransactionRepository intraTransactionRepository, InterTransactionRepository interTransactionRepository, LedgerCheckpointRepository checkpointRepository, TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher, int batchSize) {
+        this.journal = journal;
+        this.walletRepository = walletRepository;
+        this.intraTransactionRepository = intraTransactionRepository;
+        this.interTransactionRepository = interTransactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Applies a batch from every journal segment in one database transaction, together with each segment's checkpoint.
+     * Records at or below a segment's checkpoint were committed by a flush that crashed before marking the journal, and
+     * are skipped instead of being applied again.
+     */
+    @Scheduled(fixedDelayString = "${wallet.ledger.flush-interval-ms:50}")
+    public void flush() {
+        List<List<JournalEntry>> batches = new ArrayList<>(journal.getSegmentCount());
+        int total = 0;
+        for (int i = 0; i < journal.getSegmentCount(); i++) {
+            List<JournalEntry> batch = readBatch(journal.segment(i));
+            batches.add(batch);
+            total += batch.size();
+        }
+        if (total == 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Wallet> wallets = new HashMap<>();
+            List<JournalEntry> applied = new ArrayList<>();
+            for (int i = 0; i < batches.size(); i++) {
+                List<JournalEntry> batch = batches.get(i);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                JournalSegment segment = journal.segment(i);
+                LedgerCheckpoint checkpoint = checkpointRepository.findById(segment.getIndex())
+                        .orElseGet(() -> new LedgerCheckpoint(segment.getIndex(), segment.getJournalId()));
+                long alreadyApplied = checkpoint.flushedSequenceFor(segment.getJournalId());
+                for (JournalEntry entry : batch) {
+                    if (entry.sequence() > alreadyApplied) {
+                        apply(entry, wallets);
+                        applied.add(entry);
+                    }
+                }
+                checkpoint.advance(segment.getJournalId(), batch.get(batch.size() - 1).sequence());
+                checkpointRepository.save(checkpoint);
+            }
+            walletRepository.saveAll(wallets.values());
+            applied.forEach(this::publish);
+        });
+        for (int i = 0; i < batches.size(); i++) {
+            List<JournalEntry> batch = batches.get(i);
+            if (!batch.isEmpty()) {
+                journal.segment(i).markFlushed(batch.get(batch.size() - 1).sequence());
+            }
+        }
+        log.debug("Flushed {} ledger journal entries from {} segments", total, batches.size());
+    }
+
+    /**
+     * Reads a segment's next batch, stopping at a credit leg whose debit leg has not been written yet so that a
+     * transfer is never flushed half way.
+     */
+    private List<JournalEntry> readBatch(JournalSegment segment) {
+        List<JournalEntry> entries = segment.readUnflushed(batchSize);
+        for (int i = 0; i < entries.size(); i++) {
+            if (!journal.isComplete(entries.get(i))) {
+                return entries.subList(0, i);
+            }
+        }
+        return entries;
+    }
+
+    private void apply(JournalEntry entry, Map<Long, Wallet> wallets) {
+        Wallet wallet = wallets.computeIfAbsent(entry.walletId(), this::loadWallet);
+        wallet.setBalance(entry.balance());
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestampMillis()), ZoneId.systemDefault());
+
+        if (entry.type() != TransactionType.TRANSFER) {
+            intraTransactionRepository.save(new IntraTransaction(wallet, entry.type(), entry.amount(), timestamp));
+            return;
+        }
+        if (entry.leg() == JournalEntry.Leg.CREDIT) {
+            return;
+        }
+        Wallet recipientWallet = wallets.computeIfAbsent(entry.counterpartyWalletId(), this::loadWallet);
+        if (entry.carriesCounterpartyBalance()) {
+            recipientWallet.setBalance(entry.counterpartyBalance());
+        }
+        interTransactionRepository.save(new InterTransaction(wallet, recipientWallet, TransactionType.TRANSFER, entry.amount(), timestamp));
+    }
+
+    private void publish(JournalEntry entry) {
+        if (entry.leg() == JournalEntry.Leg.CREDIT) {
+            eventPublisher.publishEvent(new WalletChangedEvent(entry.walletId(), entry.balance(), entry.type(), entry.amount(), entry.counterpartyWalletId()));
+        } else if (entry.type() == TransactionType.TRANSFER) {
+            eventPublisher.publishEvent(new WalletChangedEvent(entry.walletId(), entry.balance(), entry.type(), -entry.amount(), entry.counterpartyWalletId()));
+            if (entry.carriesCounterpartyBalance()) {
+                eventPublisher.publishEvent(new WalletChangedEvent(entry.counterpartyWalletId(), entry.counterpartyBalance(), entry.type(), entry.counterpartyAmount(), entry.walletId()));
+            }
+        } else {
+            double balanceChange = entry.type() == TransactionType.WITHDRAWAL ? -entry.amount() : entry.amount();
+            eventPublisher.publishEvent(new WalletChangedEvent(entry.walletId(), entry.balance(), entry.type(), balanceChange, null));
+        }
+    }
+
+    private Wallet loadWallet(Long walletId) {
+        return walletRepository.findById(walletId).orElseThrow(() -> new UserNotFoundException("User not found"));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.wallet.ledger;
+
+import java.util.List;
+
+/**
+ * A written ledger snapshot. {@code highWaterMarks} holds, per journal segment, the last sequence whose effects are
+ * included in the snapshot.
+ */
+public record LedgerSnapshot(List<Long> highWaterMarks, long takenAtMillis, long walletCount) {
+}
@@ -0,0 +1,162 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.WalletRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+public class LedgerSnapshotStore {
+    private static final int MAGIC = 0x574C5331;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 32;
+    private static final int ENTRY_SIZE = 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final long CLOCK_SKEW_MILLIS = 1000L;
+
+    private final Path path;
+    private final LedgerJournal journal;
+    private final WalletRepository walletRepository;
+    private final IntraTransactionRepository intraTransactionRepository;
+    private final InterTransactionRepository interTransactionRepository;
+
+    public LedgerSnapshotStore(Path path, LedgerJournal journal, WalletRepository walletRepository, IntraTransactionRepository intraTransactionRepository, InterTransactionRepository interTransactionRepository) {
+        this.path = path;
+        this.journal = journal;
+        this.walletRepository = walletRepository;
+        this.intraTransactionRepository = intraTransactionRepository;
+        this.interTransactionRepository = interTransactionRepository;
+    }
+
+    public synchronized LedgerSnapshot write(LedgerEngine engine) {
+        long takenAtMillis = System.currentTimeMillis();
+        List<Long> highWaterMarks = journal.getLastSequences();
+        int entriesOffset = HEADER_SIZE + Long.BYTES * highWaterMarks.size();
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            long walletCount;
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+                long[] count = new long[1];
+                channel.position(entriesOffset);
+                engine.forEachBalance((walletId, balance) -> {
+                    if (buffer.remaining() < ENTRY_SIZE) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putLong(walletId).putDouble(balance);
+                    count[0]++;
+                });
+                drain(channel, buffer);
+                walletCount = count[0];
+
+                buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(takenAtMillis).putLong(walletCount).putInt(highWaterMarks.size()).putInt(0);
+                highWaterMarks.forEach(buffer::putLong);
+                buffer.flip();
+                long position = 0;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                channel.force(true);
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new LedgerSnapshot(highWaterMarks, takenAtMillis, walletCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write ledger snapshot " + path, e);
+        }
+    }
+
+    public LedgerSnapshot read(LongDoubleMap.Entry consumer) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IllegalStateException("Unrecognised ledger snapshot format in " + path);
+            }
+            int segmentCount = buffer.getInt(24);
+            List<Long> highWaterMarks = new ArrayList<>(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                highWaterMarks.add(buffer.getLong(HEADER_SIZE + Long.BYTES * i));
+            }
+            LedgerSnapshot snapshot = new LedgerSnapshot(highWaterMarks, buffer.getLong(8), buffer.getLong(16));
+            int position = HEADER_SIZE + Long.BYTES * segmentCount;
+            for (long i = 0; i < snapshot.walletCount(); i++) {
+                consumer.accept(buffer.getLong(position), buffer.getDouble(position + 8));
+                position += ENTRY_SIZE;
+            }
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read ledger snapshot " + path, e);
+        }
+    }
+
+    public void restore(LedgerEngine engine) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        if (!isCurrentFormat()) {
+            log.warn("Ignoring ledger snapshot {} written in an earlier format; balances will load from the database", path);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        LedgerSnapshot snapshot = read(engine::restore);
+
+        int reloaded = 0;
+        if (journal.isFlushedPast(snapshot.highWaterMarks())) {
+            LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(snapshot.takenAtMillis() - CLOCK_SKEW_MILLIS), ZoneId.systemDefault());
+            Set<Long> walletIds = new HashSet<>(intraTransactionRepository.findWalletIdsWithTransactionsSince(since));
+            walletIds.addAll(interTransactionRepository.findSenderWalletIdsWithTransactionsSince(since));
+            walletIds.addAll(interTransactionRepository.findRecipientWalletIdsWithTransactionsSince(since));
+            for (Wallet wallet : walletRepository.findAllById(walletIds)) {
+                engine.restore(wallet.getId(), wallet.getBalance());
+                reloaded++;
+            }
+        }
+        log.info("Restored {} wallet balances from ledger snapshot at sequences {} and reloaded {} from the database in {} ms",
+                snapshot.walletCount(), snapshot.highWaterMarks(), reloaded, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private boolean isCurrentFormat() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+            channel.read(header, 0);
+            return header.getInt(0) == MAGIC && header.getInt(4) == FORMAT_VERSION;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read ledger snapshot " + path, e);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
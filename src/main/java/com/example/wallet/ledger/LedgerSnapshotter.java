@@ -0,0 +1,28 @@
+package com.example.wallet.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Slf4j
+public class LedgerSnapshotter implements AutoCloseable {
+    private final LedgerSnapshotStore snapshotStore;
+    private final LedgerEngine engine;
+
+    public LedgerSnapshotter(LedgerSnapshotStore snapshotStore, LedgerEngine engine) {
+        this.snapshotStore = snapshotStore;
+        this.engine = engine;
+    }
+
+    @Scheduled(initialDelayString = "${wallet.ledger.snapshot-interval-ms:60000}", fixedDelayString = "${wallet.ledger.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        long startedAt = System.nanoTime();
+        LedgerSnapshot snapshot = snapshotStore.write(engine);
+        log.info("Wrote ledger snapshot of {} wallets at sequences {} in {} ms",
+                snapshot.walletCount(), snapshot.highWaterMarks(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Override
+    public void close() {
+        snapshot();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.TransferAmountMustBePositiveException;
+import com.example.wallet.Exceptions.UserNotAuthorizedException;
+import com.example.wallet.Exceptions.UserNotFoundException;
+import com.example.wallet.archive.TransactionArchive;
+import com.example.wallet.cache.WalletVersionTracker;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.metrics.TransactionOperation;
+import com.example.wallet.metrics.TransactionPhase;
+import com.example.wallet.metrics.TransactionTiming;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.UserRepository;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.CurrencyConversionService;
+import com.example.wallet.service.TransactionService;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.concurrent.Executor;
+
+public class LedgerTransactionService extends TransactionService {
+    private final WalletRepository walletRepository;
+    private final CurrencyConversionService currencyConversionService;
+    private final TransactionMetrics transactionMetrics;
+    private final LedgerEngine ledgerEngine;
+
+    public LedgerTransactionService(UserRepository userRepository, WalletRepository walletRepository, IntraTransactionRepository intraTransactionRepository, InterTransactionRepository interTransactionRepository, CurrencyConversionService currencyConversionService, Executor historyQueryExecutor, TransactionMetrics transactionMetrics, ApplicationEventPublisher eventPublisher, WalletVersionTracker walletVersionTracker, TransactionArchive transactionArchive, LedgerEngine ledgerEngine) {
+        super(userRepository, walletRepository, intraTransactionRepository, interTransactionRepository, currencyConversionService, historyQueryExecutor, transactionMetrics, eventPublisher, walletVersionTracker, transactionArchive);
+        this.walletRepository = walletRepository;
+        this.currencyConversionService = currencyConversionService;
+        this.transactionMetrics = transactionMetrics;
+        this.ledgerEngine = ledgerEngine;
+    }
+
+    @Override
+    public Double getBalance(Long userId, Long walletId) {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.BALANCE, walletId, null);
+        try {
+            if (!isUserAuthorized(userId, walletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
+
+            Double balance = ledgerEngine.balance(walletId);
+            timing.phase(TransactionPhase.LEDGER);
+
+            timing.succeeded();
+            return balance;
+        } finally {
+            timing.stop();
+        }
+    }
+
+    @Override
+    public Double deposit(Long userId, Long walletId, Double amount) {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.DEPOSIT, walletId, amount);
+        try {
+            if (!isUserAuthorized(userId, walletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
+
+            Double newBalance = ledgerEngine.deposit(walletId, amount);
+            timing.phase(TransactionPhase.LEDGER);
+
+            timing.succeeded();
+            return newBalance;
+        } finally {
+            timing.stop();
+        }
+    }
+
+    @Override
+    public Double withdraw(Long userId, Long walletId, Double amount) {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.WITHDRAWAL, walletId, amount);
+        try {
+            if (!isUserAuthorized(userId, walletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
+
+            Double newBalance = ledgerEngine.withdraw(walletId, amount);
+            timing.phase(TransactionPhase.LEDGER);
+
+            timing.succeeded();
+            return newBalance;
+        } finally {
+            timing.stop();
+        }
+    }
+
+    @Override
+    public Double transfer(Long userId, Long senderWalletId, Long recipientWalletId, Double amount) {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.TRANSFER, senderWalletId, amount);
+        try {
+            if (!isUserAuthorized(userId, senderWalletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
+
+            Wallet senderWallet = walletRepository.findById(senderWalletId)
+                    .orElseThrow(() -> new UserNotFoundException("Sender not found"));
+            Wallet recipientWallet = walletRepository.findById(recipientWalletId)
+                    .orElseThrow(() -> new UserNotFoundException("Recipient not found"));
+            timing.phase(TransactionPhase.DB_READ);
+
+            if (amount <= 0) {
+                throw new TransferAmountMustBePositiveException("Transfer amount must be positive");
+            }
+            if (ledgerEngine.balance(senderWalletId) < amount) {
+                throw new InsufficientFundsException("Insufficient funds for transfer");
+            }
+
+            double amountInRecipientCurrency = currencyConversionService.convert(
+                    senderWallet.getCurrency().name(),
+                    recipientWallet.getCurrency().name(),
+                    amount
+            );
+            timing.phase(TransactionPhase.FX);
+
+            Double senderNewBalance = ledgerEngine.transfer(senderWalletId, recipientWalletId, amount, amountInRecipientCurrency);
+            timing.phase(TransactionPhase.LEDGER);
+
+            timing.succeeded();
+            return senderNewBalance;
+        } finally {
+            timing.stop();
+        }
+    }
+}
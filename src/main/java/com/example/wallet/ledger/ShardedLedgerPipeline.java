@@ -0,0 +1,320 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.Exceptions.DepositAmountMustBePositiveException;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.ServerUnavailableException;
+import com.example.wallet.Exceptions.TransferAmountMustBePositiveException;
+import com.example.wallet.Exceptions.WithdrawAmountMustBePositiveException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongToDoubleFunction;
+
+public class ShardedLedgerPipeline implements LedgerEngine, AutoCloseable {
+    private static final long PUBLISH_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long PUBLISH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Shard[] shards;
+    private final LedgerJournal journal;
+    private final LongToDoubleFunction balanceLoader;
+    private final int batchSize;
+    private volatile boolean accepting;
+
+    public ShardedLedgerPipeline(int shardCount, int ringSize, int batchSize, LedgerJournal journal, LongToDoubleFunction balanceLoader) {
+        if (journal.getSegmentCount() != shardCount) {
+            throw new IllegalArgumentException("Ledger journal has " + journal.getSegmentCount() + " segments but the pipeline has " + shardCount + " shards");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, ringSize, journal.segment(i));
+        }
+        this.journal = journal;
+        this.balanceLoader = balanceLoader;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void recover() {
+        journal.replayUnflushed(entry -> {
+            shardFor(entry.walletId()).balances.put(entry.walletId(), entry.balance());
+            if (entry.carriesCounterpartyBalance()) {
+                shardFor(entry.counterpartyWalletId()).balances.put(entry.counterpartyWalletId(), entry.counterpartyBalance());
+            }
+        });
+    }
+
+    @Override
+    public void restore(long walletId, double balance) {
+        if (accepting) {
+            throw new IllegalStateException("Balances can only be restored before the pipeline starts");
+        }
+        shardFor(walletId).balances.put(walletId, balance);
+    }
+
+    @Override
+    public void forEachBalance(LongDoubleMap.Entry consumer) {
+        for (Shard shard : shards) {
+            if (!accepting) {
+                shard.balances.forEach(consumer);
+                continue;
+            }
+            CompletableFuture<LongDoubleMap> copy = new CompletableFuture<>();
+            publish(shard, LedgerCommand.Operation.SNAPSHOT, 0L, 0L, 0.0, 0.0, null, copy);
+            copy.join().forEach(consumer);
+        }
+    }
+
+    public void start() {
+        accepting = true;
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    public CompletableFuture<Double> submitBalance(long walletId) {
+        return submit(shardFor(walletId), LedgerCommand.Operation.BALANCE, walletId, 0L, 0.0, 0.0);
+    }
+
+    public CompletableFuture<Double> submitDeposit(long walletId, double amount) {
+        return submit(shardFor(walletId), LedgerCommand.Operation.DEPOSIT, walletId, 0L, amount, 0.0);
+    }
+
+    public CompletableFuture<Double> submitWithdraw(long walletId, double amount) {
+        return submit(shardFor(walletId), LedgerCommand.Operation.WITHDRAWAL, walletId, 0L, amount, 0.0);
+    }
+
+    public CompletableFuture<Double> submitTransfer(long senderWalletId, long recipientWalletId, double amount, double amountInRecipientCurrency) {
+        Shard coordinator = shards[Math.min(indexFor(senderWalletId), indexFor(recipientWalletId))];
+        return submit(coordinator, LedgerCommand.Operation.TRANSFER, senderWalletId, recipientWalletId, amount, amountInRecipientCurrency);
+    }
+
+    @Override
+    public double balance(long walletId) {
+        return await(submitBalance(walletId));
+    }
+
+    @Override
+    public double deposit(long walletId, double amount) {
+        return await(submitDeposit(walletId, amount));
+    }
+
+    @Override
+    public double withdraw(long walletId, double amount) {
+        return await(submitWithdraw(walletId, amount));
+    }
+
+    @Override
+    public double transfer(long senderWalletId, long recipientWalletId, double amount, double amountInRecipientCurrency) {
+        return await(submitTransfer(senderWalletId, recipientWalletId, amount, amountInRecipientCurrency));
+    }
+
+    @Override
+    public void close() {
+        accepting = false;
+        for (Shard shard : shards) {
+            shard.stopRequested = true;
+            LockSupport.unpark(shard.thread);
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<Double> submit(Shard shard, LedgerCommand.Operation operation, long walletId, long counterpartyWalletId,
+                                             double amount, double counterpartyAmount) {
+        if (!accepting) {
+            return CompletableFuture.failedFuture(new ServerUnavailableException("Ledger pipeline is not running"));
+        }
+        CompletableFuture<Double> result = new CompletableFuture<>();
+        publish(shard, operation, walletId, counterpartyWalletId, amount, counterpartyAmount, result, null);
+        return result;
+    }
+
+    private void publish(Shard shard, LedgerCommand.Operation operation, long walletId, long counterpartyWalletId,
+                         double amount, double counterpartyAmount, CompletableFuture<Double> result, Object attachment) {
+        long deadline = System.nanoTime() + PUBLISH_TIMEOUT_NANOS;
+        while (!shard.ring.tryPublish(operation, walletId, counterpartyWalletId, amount, counterpartyAmount, result, attachment)) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new ServerUnavailableException("Ledger pipeline is saturated");
+            }
+            LockSupport.parkNanos(PUBLISH_BACKOFF_NANOS);
+        }
+        LockSupport.unpark(shard.thread);
+    }
+
+    private double applyDeposit(long walletId, double amount) {
+        if (amount <= 0) {
+            throw new DepositAmountMustBePositiveException("Deposit amount must be positive");
+        }
+        Shard shard = shardFor(walletId);
+        double newBalance = shard.load(walletId) + amount;
+        shard.segment.append(TransactionType.DEPOSIT, walletId, amount, newBalance);
+        shard.balances.put(walletId, newBalance);
+        return newBalance;
+    }
+
+    private double applyWithdraw(long walletId, double amount) {
+        if (amount <= 0) {
+            throw new WithdrawAmountMustBePositiveException("Withdrawal amount must be positive");
+        }
+        Shard shard = shardFor(walletId);
+        double balance = shard.load(walletId);
+        if (balance < amount) {
+            throw new InsufficientFundsException("Insufficient funds");
+        }
+        double newBalance = balance - amount;
+        shard.segment.append(TransactionType.WITHDRAWAL, walletId, amount, newBalance);
+        shard.balances.put(walletId, newBalance);
+        return newBalance;
+    }
+
+    private double applyTransfer(LedgerCommand command) {
+        long senderWalletId = command.walletId;
+        long recipientWalletId = command.counterpartyWalletId;
+        if (command.amount <= 0) {
+            throw new TransferAmountMustBePositiveException("Transfer amount must be positive");
+        }
+        int senderIndex = indexFor(senderWalletId);
+        int recipientIndex = indexFor(recipientWalletId);
+        Shard sender = shards[senderIndex];
+        Shard recipient = shards[recipientIndex];
+        double senderBalance = sender.load(senderWalletId);
+        if (senderBalance < command.amount) {
+            throw new InsufficientFundsException("Insufficient funds for transfer");
+        }
+        double senderNewBalance = senderBalance - command.amount;
+        double recipientNewBalance = (senderWalletId == recipientWalletId ? senderNewBalance : recipient.load(recipientWalletId))
+                + command.counterpartyAmount;
+        journal.appendTransfer(senderIndex, recipientIndex, senderWalletId, recipientWalletId,
+                command.amount, command.counterpartyAmount, senderNewBalance, recipientNewBalance);
+        sender.balances.put(senderWalletId, senderNewBalance);
+        recipient.balances.put(recipientWalletId, recipientNewBalance);
+        return senderWalletId == recipientWalletId ? recipientNewBalance : senderNewBalance;
+    }
+
+    private Shard shardFor(long walletId) {
+        return shards[indexFor(walletId)];
+    }
+
+    private int indexFor(long walletId) {
+        return (int) (((walletId ^ (walletId >>> 32)) * 0x9E3779B97F4A7C15L >>> 33) % shards.length);
+    }
+
+    private static double await(CompletableFuture<Double> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private final class Shard implements Runnable {
+        private final CommandRingBuffer ring;
+        private final LongDoubleMap balances = new LongDoubleMap(1024);
+        private final JournalSegment segment;
+        private final Thread thread;
+        private volatile boolean stopRequested;
+        private volatile boolean handoffComplete;
+
+        private Shard(int index, int ringSize, JournalSegment segment) {
+            this.ring = new CommandRingBuffer(ringSize);
+            this.segment = segment;
+            this.thread = new Thread(this, "ledger-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                int count = ring.available(batchSize);
+                if (count == 0) {
+                    if (stopRequested) {
+                        return;
+                    }
+                    LockSupport.park(this);
+                    continue;
+                }
+                for (int i = 0; i < count; i++) {
+                    execute(ring.get(i));
+                }
+                for (int i = 0; i < count; i++) {
+                    ring.get(i).complete();
+                }
+                ring.release(count);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void execute(LedgerCommand command) {
+            try {
+                switch (command.operation) {
+                    case BALANCE:
+                        command.value = load(command.walletId);
+                        break;
+                    case DEPOSIT:
+                        command.value = applyDeposit(command.walletId, command.amount);
+                        break;
+                    case WITHDRAWAL:
+                        command.value = applyWithdraw(command.walletId, command.amount);
+                        break;
+                    case TRANSFER:
+                        if (indexFor(command.walletId) == indexFor(command.counterpartyWalletId)) {
+                            command.value = applyTransfer(command);
+                        } else {
+                            handOff(command);
+                        }
+                        break;
+                    case HANDOFF:
+                        completeHandoff((LedgerCommand) command.attachment);
+                        break;
+                    case SNAPSHOT:
+                        ((CompletableFuture<LongDoubleMap>) command.attachment).complete(balances.copy());
+                        break;
+                }
+            } catch (RuntimeException e) {
+                command.error = e;
+            }
+        }
+
+        private void handOff(LedgerCommand command) {
+            Shard partner = shards[Math.max(indexFor(command.walletId), indexFor(command.counterpartyWalletId))];
+            handoffComplete = false;
+            partner.publishHandoff(command);
+            while (!handoffComplete) {
+                LockSupport.park(this);
+            }
+        }
+
+        private void publishHandoff(LedgerCommand command) {
+            publish(this, LedgerCommand.Operation.HANDOFF, command.walletId, command.counterpartyWalletId,
+                    command.amount, command.counterpartyAmount, null, command);
+        }
+
+        private void completeHandoff(LedgerCommand command) {
+            try {
+                command.value = applyTransfer(command);
+            } catch (RuntimeException e) {
+                command.error = e;
+            }
+            Shard coordinator = shards[Math.min(indexFor(command.walletId), indexFor(command.counterpartyWalletId))];
+            coordinator.handoffComplete = true;
+            LockSupport.unpark(coordinator.thread);
+        }
+
+        private double load(long walletId) {
+            if (!balances.containsKey(walletId)) {
+                balances.put(walletId, balanceLoader.applyAsDouble(walletId));
+            }
+            return balances.get(walletId, 0.0);
+        }
+    }
+}
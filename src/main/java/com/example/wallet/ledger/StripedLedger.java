@@ -0,0 +1,183 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.Exceptions.DepositAmountMustBePositiveException;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.TransferAmountMustBePositiveException;
+import com.example.wallet.Exceptions.WithdrawAmountMustBePositiveException;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongToDoubleFunction;
+
+public class StripedLedger implements LedgerEngine {
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LedgerJournal journal;
+    private final LongToDoubleFunction balanceLoader;
+
+    public StripedLedger(int stripeCount, LedgerJournal journal, LongToDoubleFunction balanceLoader) {
+        int size = stripesFor(stripeCount);
+        if (journal.getSegmentCount() != size) {
+            throw new IllegalArgumentException("Ledger journal has " + journal.getSegmentCount() + " segments but the ledger has " + size + " stripes");
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe(journal.segment(i));
+        }
+        this.mask = size - 1;
+        this.journal = journal;
+        this.balanceLoader = balanceLoader;
+    }
+
+    /**
+     * Returns the number of stripes, and so of journal segments, used for the requested stripe count.
+     */
+    public static int stripesFor(int stripeCount) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    @Override
+    public void recover() {
+        journal.replayUnflushed(entry -> {
+            stripeFor(entry.walletId()).balances.put(entry.walletId(), entry.balance());
+            if (entry.carriesCounterpartyBalance()) {
+                stripeFor(entry.counterpartyWalletId()).balances.put(entry.counterpartyWalletId(), entry.counterpartyBalance());
+            }
+        });
+    }
+
+    @Override
+    public void restore(long walletId, double balance) {
+        Stripe stripe = stripeFor(walletId);
+        stripe.lock.lock();
+        try {
+            stripe.balances.put(walletId, balance);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void forEachBalance(LongDoubleMap.Entry consumer) {
+        for (Stripe stripe : stripes) {
+            LongDoubleMap balances;
+            stripe.lock.lock();
+            try {
+                balances = stripe.balances.copy();
+            } finally {
+                stripe.lock.unlock();
+            }
+            balances.forEach(consumer);
+        }
+    }
+
+    @Override
+    public double balance(long walletId) {
+        Stripe stripe = stripeFor(walletId);
+        stripe.lock.lock();
+        try {
+            return stripe.load(walletId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public double deposit(long walletId, double amount) {
+        if (amount <= 0) {
+            throw new DepositAmountMustBePositiveException("Deposit amount must be positive");
+        }
+        Stripe stripe = stripeFor(walletId);
+        stripe.lock.lock();
+        try {
+            double newBalance = stripe.load(walletId) + amount;
+            stripe.segment.append(TransactionType.DEPOSIT, walletId, amount, newBalance);
+            stripe.balances.put(walletId, newBalance);
+            return newBalance;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public double withdraw(long walletId, double amount) {
+        if (amount <= 0) {
+            throw new WithdrawAmountMustBePositiveException("Withdrawal amount must be positive");
+        }
+        Stripe stripe = stripeFor(walletId);
+        stripe.lock.lock();
+        try {
+            double balance = stripe.load(walletId);
+            if (balance < amount) {
+                throw new InsufficientFundsException("Insufficient funds");
+            }
+            double newBalance = balance - amount;
+            stripe.segment.append(TransactionType.WITHDRAWAL, walletId, amount, newBalance);
+            stripe.balances.put(walletId, newBalance);
+            return newBalance;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public double transfer(long senderWalletId, long recipientWalletId, double amount, double amountInRecipientCurrency) {
+        if (amount <= 0) {
+            throw new TransferAmountMustBePositiveException("Transfer amount must be positive");
+        }
+        int senderIndex = indexFor(senderWalletId);
+        int recipientIndex = indexFor(recipientWalletId);
+        Stripe first = stripes[Math.min(senderIndex, recipientIndex)];
+        Stripe second = stripes[Math.max(senderIndex, recipientIndex)];
+        first.lock.lock();
+        second.lock.lock();
+        try {
+            Stripe sender = stripes[senderIndex];
+            Stripe recipient = stripes[recipientIndex];
+            double senderBalance = sender.load(senderWalletId);
+            if (senderBalance < amount) {
+                throw new InsufficientFundsException("Insufficient funds for transfer");
+            }
+            double senderNewBalance = senderBalance - amount;
+            double recipientNewBalance = (senderWalletId == recipientWalletId ? senderNewBalance : recipient.load(recipientWalletId))
+                    + amountInRecipientCurrency;
+            journal.appendTransfer(senderIndex, recipientIndex, senderWalletId, recipientWalletId,
+                    amount, amountInRecipientCurrency, senderNewBalance, recipientNewBalance);
+            sender.balances.put(senderWalletId, senderNewBalance);
+            recipient.balances.put(recipientWalletId, recipientNewBalance);
+            return senderWalletId == recipientWalletId ? recipientNewBalance : senderNewBalance;
+        } finally {
+            second.lock.unlock();
+            first.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(long walletId) {
+        return stripes[indexFor(walletId)];
+    }
+
+    private int indexFor(long walletId) {
+        return (int) (walletId ^ (walletId >>> 32)) * 0x9E3779B9 >>> 16 & mask;
+    }
+
+    private class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LongDoubleMap balances = new LongDoubleMap(1024);
+        private final JournalSegment segment;
+
+        private Stripe(JournalSegment segment) {
+            this.segment = segment;
+        }
+
+        private double load(long walletId) {
+            if (!balances.containsKey(walletId)) {
+                balances.put(walletId, balanceLoader.applyAsDouble(walletId));
+            }
+            return balances.get(walletId, 0.0);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.wallet.metrics;
+
+public final class AmountBucket {
+    private static final String[] BUCKETS = {"<1", "1-10", "10-100", "100-1K", "1K-10K", "10K-100K", "100K-1M", ">=1M"};
+
+    private AmountBucket() {
+    }
+
+    public static String of(Double amount) {
+        if (amount == null || amount.isNaN()) {
+            return "n/a";
+        }
+        double value = Math.abs(amount);
+        int bucket = 0;
+        for (double bound = 1.0; bucket < BUCKETS.length - 1 && value >= bound; bound *= 10) {
+            bucket++;
+        }
+        return BUCKETS[bucket];
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.wallet.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.wallet.CurrencyConversion")
+@Label("Currency Conversion")
+@Category({"Wallet", "Currency Conversion"})
+@Description("A blocking ConversionService gRPC call")
+@StackTrace(false)
+public class CurrencyConversionEvent extends jdk.jfr.Event {
+    @Label("From Currency")
+    public String fromCurrency;
+
+    @Label("To Currency")
+    public String toCurrency;
+
+    @Label("Amount Bucket")
+    public String amountBucket;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,28 @@
+package com.example.wallet.metrics;
+
+import org.hibernate.SessionEventListener;
+
+public class QueryStatsSessionListener implements SessionEventListener {
+    private long statementStartedAt;
+    private long batchStartedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryStats.recordStatement(System.nanoTime() - statementStartedAt);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestQueryStats.recordStatement(System.nanoTime() - batchStartedAt);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.wallet.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class RequestQueryStats {
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder databaseNanos = new LongAdder();
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static RequestQueryStats bind(RequestQueryStats stats) {
+        RequestQueryStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return previous;
+    }
+
+    public static void restore(RequestQueryStats previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void recordStatement(long nanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements.increment();
+            stats.databaseNanos.add(nanos);
+        }
+    }
+
+    public static Runnable propagate(Runnable task) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            RequestQueryStats previous = bind(stats);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public long getStatementCount() {
+        return statements.sum();
+    }
+
+    public long getDatabaseNanos() {
+        return databaseNanos.sum();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.wallet.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.example.wallet.Transaction")
+@Label("Wallet Transaction")
+@Category({"Wallet", "Transactions"})
+@Description("A wallet operation from authorization until commit")
+@StackTrace(false)
+public class TransactionEvent extends jdk.jfr.Event {
+    @Label("Wallet Id")
+    long walletId;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Amount Bucket")
+    String amountBucket;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Authorization")
+    @Timespan
+    long authNanos;
+
+    @Label("Database Read")
+    @Timespan
+    long dbReadNanos;
+
+    @Label("Archive Read")
+    @Timespan
+    long archiveReadNanos;
+
+    @Label("Currency Conversion")
+    @Timespan
+    long fxNanos;
+
+    @Label("Ledger")
+    @Timespan
+    long ledgerNanos;
+
+    @Label("Database Write")
+    @Timespan
+    long dbWriteNanos;
+
+    @Label("Commit")
+    @Timespan
+    long commitNanos;
+
+    void addPhase(TransactionPhase phase, long nanos) {
+        switch (phase) {
+            case AUTH -> authNanos += nanos;
+            case DB_READ -> dbReadNanos += nanos;
+            case ARCHIVE_READ -> archiveReadNanos += nanos;
+            case FX -> fxNanos += nanos;
+            case LEDGER -> ledgerNanos += nanos;
+            case DB_WRITE -> dbWriteNanos += nanos;
+            case COMMIT -> commitNanos += nanos;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.wallet.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Component
+public class TransactionMetrics {
+    private static final TransactionPhase[] PHASES = TransactionPhase.values();
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicReferenceArray<Timer> phaseTimers;
+    private final Timer[] succeededTimers;
+    private final Timer[] failedTimers;
+    private final Map<Class<?>, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TransactionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        TransactionOperation[] operations = TransactionOperation.values();
+        this.phaseTimers = new AtomicReferenceArray<>(operations.length * PHASES.length);
+        this.succeededTimers = new Timer[operations.length];
+        this.failedTimers = new Timer[operations.length];
+        for (TransactionOperation operation : operations) {
+            String operationTag = operation.name().toLowerCase();
+            succeededTimers[operation.ordinal()] = transactionTimer(operationTag, "success");
+            failedTimers[operation.ordinal()] = transactionTimer(operationTag, "failure");
+        }
+    }
+
+    private Timer transactionTimer(String operation, String outcome) {
+        return Timer.builder("wallet.transaction")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public TransactionTiming start(TransactionOperation operation, Long walletId, Double amount) {
+        return new TransactionTiming(this, operation, walletId, amount, System.nanoTime());
+    }
+
+    void recordPhase(TransactionOperation operation, TransactionPhase phase, long nanos) {
+        phaseTimer(operation, phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer phaseTimer(TransactionOperation operation, TransactionPhase phase) {
+        int index = operation.ordinal() * PHASES.length + phase.ordinal();
+        Timer timer = phaseTimers.get(index);
+        if (timer == null) {
+            timer = Timer.builder("wallet.transaction.phase")
+                    .tag("operation", operation.name().toLowerCase())
+                    .tag("phase", phase.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            phaseTimers.set(index, timer);
+        }
+        return timer;
+    }
+
+    void recordTransaction(TransactionOperation operation, boolean succeeded, long nanos) {
+        (succeeded ? succeededTimers : failedTimers)[operation.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countException(Throwable exception) {
+        exceptionCounters.computeIfAbsent(exception.getClass(), type -> Counter.builder("wallet.exceptions")
+                .tag("exception", type.getSimpleName())
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.wallet.metrics;
+
+public enum TransactionOperation {
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER,
+    HISTORY,
+    BALANCE
+}
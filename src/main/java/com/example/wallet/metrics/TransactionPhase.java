@@ -0,0 +1,11 @@
+package com.example.wallet.metrics;
+
+public enum TransactionPhase {
+    AUTH,
+    DB_READ,
+    ARCHIVE_READ,
+    FX,
+    LEDGER,
+    DB_WRITE,
+    COMMIT
+}
@@ -0,0 +1,72 @@
+package com.example.wallet.metrics;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionTiming {
+    private final TransactionMetrics metrics;
+    private final TransactionOperation operation;
+    private final TransactionEvent event;
+    private final long startedAt;
+    private long lastMark;
+    private boolean succeeded;
+
+    TransactionTiming(TransactionMetrics metrics, TransactionOperation operation, Long walletId, Double amount, long startedAt) {
+        this.metrics = metrics;
+        this.operation = operation;
+        this.startedAt = startedAt;
+        this.lastMark = startedAt;
+        this.event = new TransactionEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.walletId = walletId != null ? walletId : -1L;
+            event.operation = operation.name();
+            event.amountBucket = AmountBucket.of(amount);
+        }
+    }
+
+    public void phase(TransactionPhase phase) {
+        long now = System.nanoTime();
+        metrics.recordPhase(operation, phase, now - lastMark);
+        event.addPhase(phase, now - lastMark);
+        lastMark = now;
+    }
+
+    public void succeeded() {
+        succeeded = true;
+    }
+
+    public void stop() {
+        if (!succeeded || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(succeeded);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartedAt = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                if (committed && commitStartedAt != 0) {
+                    long commitNanos = System.nanoTime() - commitStartedAt;
+                    metrics.recordPhase(operation, TransactionPhase.COMMIT, commitNanos);
+                    event.addPhase(TransactionPhase.COMMIT, commitNanos);
+                }
+                complete(committed);
+            }
+        });
+    }
+
+    private void complete(boolean committed) {
+        metrics.recordTransaction(operation, committed, System.nanoTime() - startedAt);
+        if (event.shouldCommit()) {
+            event.outcome = committed ? "success" : "failure";
+            event.commit();
+        }
+    }
+}
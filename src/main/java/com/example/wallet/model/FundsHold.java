@@ -0,0 +1,47 @@
+package com.example.wallet.model;
+
+import com.example.wallet.Enums.HoldStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@Table(name = "funds_holds",
+        indexes = @Index(name = "idx_funds_holds_status_expires_at", columnList = "status, expires_at"))
+public class FundsHold {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "wallet_id", nullable = false)
+    private Long walletId;
+
+    @Column(name = "counterparty_wallet_id")
+    private Long counterpartyWalletId;
+
+    @Column(nullable = false)
+    private Double amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HoldStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public FundsHold() {}
+
+    public FundsHold(Long walletId, Long counterpartyWalletId, Double amount, LocalDateTime expiresAt) {
+        this.walletId = walletId;
+        this.counterpartyWalletId = counterpartyWalletId;
+        this.amount = amount;
+        this.status = HoldStatus.ACTIVE;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+}
@@ -8,7 +8,12 @@ import java.time.LocalDateTime;
 
 @Getter
 @Entity
-@Table(name = "inter_transactions")
+@Table(name = "inter_transactions", indexes = {
+        @Index(name = "idx_inter_transactions_sender_wallet_id_timestamp", columnList = "sender_wallet_id, timestamp"),
+        @Index(name = "idx_inter_transactions_recipient_wallet_id_timestamp", columnList = "recipient_wallet_id, timestamp"),
+        @Index(name = "idx_inter_transactions_sender_wallet_id_amount", columnList = "sender_wallet_id, amount"),
+        @Index(name = "idx_inter_transactions_recipient_wallet_id_amount", columnList = "recipient_wallet_id, amount")
+})
 public class InterTransaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +30,8 @@ public class InterTransaction {
     @Enumerated(EnumType.STRING)
     private TransactionType type;
     private Double amount;
+
+    @Column(nullable = false)
     private LocalDateTime timestamp;
 
     public InterTransaction() {}
@@ -36,4 +43,17 @@ public class InterTransaction {
         this.amount = amount;
         this.timestamp = LocalDateTime.now();
     }
+
+    public InterTransaction(Long id, Wallet senderWallet, Wallet recipientWallet, TransactionType type, Double amount, LocalDateTime timestamp) {
+        this(senderWallet, recipientWallet, type, amount, timestamp);
+        this.id = id;
+    }
+
+    public InterTransaction(Wallet senderWallet, Wallet recipientWallet, TransactionType type, Double amount, LocalDateTime timestamp) {
+        this.senderWallet = senderWallet;
+        this.recipientWallet = recipientWallet;
+        this.type = type;
+        this.amount = amount;
+        this.timestamp = timestamp;
+    }
 }
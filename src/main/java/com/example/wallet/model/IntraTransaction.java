@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 
 @Getter
 @Entity
-@Table(name = "intra_transactions")
+@Table(name = "intra_transactions", indexes = {
+        @Index(name = "idx_intra_transactions_wallet_id_timestamp", columnList = "wallet_id, timestamp"),
+        @Index(name = "idx_intra_transactions_wallet_id_amount", columnList = "wallet_id, amount")
+})
 public class IntraTransaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,6 +24,8 @@ public class IntraTransaction {
     @Enumerated(EnumType.STRING)
     private TransactionType type;
     private Double amount;
+
+    @Column(nullable = false)
     private LocalDateTime timestamp;
 
     public IntraTransaction() {}
@@ -31,4 +36,16 @@ public class IntraTransaction {
         this.amount = amount;
         this.timestamp = LocalDateTime.now();
     }
+
+    public IntraTransaction(Long id, Wallet wallet, TransactionType type, Double amount, LocalDateTime timestamp) {
+        this(wallet, type, amount, timestamp);
+        this.id = id;
+    }
+
+    public IntraTransaction(Wallet wallet, TransactionType type, Double amount, LocalDateTime timestamp) {
+        this.wallet = wallet;
+        this.type = type;
+        this.amount = amount;
+        this.timestamp = timestamp;
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.wallet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * The last ledger journal sequence applied to the database for one journal segment. It is written in the same
+ * transaction as the balances and history rows, so a flush that commits but crashes before the journal records its
+ * progress is not applied twice.
+ */
+@Getter
+@Entity
+@Table(name = "ledger_checkpoints")
+public class LedgerCheckpoint {
+    @Id
+    private Integer segment;
+
+    @Column(name = "journal_id", nullable = false)
+    private long journalId;
+
+    @Column(name = "flushed_sequence", nullable = false)
+    private long flushedSequence;
+
+    public LedgerCheckpoint() {}
+
+    public LedgerCheckpoint(Integer segment, long journalId) {
+        this.segment = segment;
+        this.journalId = journalId;
+    }
+
+    /**
+     * Returns the last sequence already applied for the given journal, or 0 when the checkpoint belongs to an earlier
+     * journal file.
+     */
+    public long flushedSequenceFor(long journalId) {
+        return this.journalId == journalId ? flushedSequence : 0L;
+    }
+
+    public void advance(long journalId, long flushedSequence) {
+        this.journalId = journalId;
+        this.flushedSequence = flushedSequence;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.wallet.model;
+
+import com.example.wallet.Enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "wallet_id", nullable = false)
+    private Long walletId;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    @Column(name = "balance_change")
+    private Double balanceChange;
+    private Double balance;
+
+    @Column(name = "counterparty_wallet_id")
+    private Long counterpartyWalletId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(Long walletId, TransactionType type, Double balanceChange, Double balance, Long counterpartyWalletId) {
+        this(walletId, type, balanceChange, balance, counterpartyWalletId, LocalDateTime.now());
+    }
+
+    public OutboxEvent(Long walletId, TransactionType type, Double balanceChange, Double balance, Long counterpartyWalletId, LocalDateTime createdAt) {
+        this.walletId = walletId;
+        this.type = type;
+        this.balanceChange = balanceChange;
+        this.balance = balance;
+        this.counterpartyWalletId = counterpartyWalletId;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.wallet.model;
+
+import com.example.wallet.Enums.QueuedTransactionStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+@Getter
+@Entity
+@Table(name = "queued_transactions",
+        indexes = {
+                @Index(name = "idx_queued_transactions_status_created_at", columnList = "status, created_at"),
+                @Index(name = "idx_queued_transactions_wallet_id_status_next_attempt_at", columnList = "wallet_id, status, next_attempt_at")
+        })
+public class QueuedTransaction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "wallet_id", nullable = false)
+    private Long walletId;
+
+    @Column(name = "recipient_wallet_id")
+    private Long recipientWalletId;
+
+    private Double amount;
+
+    @Column(name = "transaction_type", nullable = false)
+    private String transactionType;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private QueuedTransactionStatus status;
+
+    private int attempts;
+
+    @Column(name = "failure_code", length = 64)
+    private String failureCode;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    public QueuedTransaction() {}
+
+    public QueuedTransaction(Long userId, Long walletId, Long recipientWalletId, Double amount, String transactionType, String username) {
+        this.userId = userId;
+        this.walletId = walletId;
+        this.recipientWalletId = recipientWalletId;
+        this.amount = amount;
+        this.transactionType = transactionType;
+        this.username = username;
+        this.status = QueuedTransactionStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the transaction as taken by a worker. The claim time identifies the claim, so it is kept at the precision
+     * the database stores.
+     */
+    public void claim() {
+        this.status = QueuedTransactionStatus.PROCESSING;
+        this.claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public void complete() {
+        this.status = QueuedTransactionStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public void fail(String failureCode) {
+        this.status = QueuedTransactionStatus.FAILED;
+        this.failureCode = failureCode;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public int recordFailedAttempt() {
+        return ++this.attempts;
+    }
+
+    public void scheduleRetry(LocalDateTime nextAttemptAt) {
+        this.status = QueuedTransactionStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.claimedAt = null;
+    }
+}
@@ -4,6 +4,7 @@ import com.example.wallet.Enums.CurrencyType;
 import com.example.wallet.Exceptions.DepositAmountMustBePositiveException;
 import com.example.wallet.Exceptions.InsufficientFundsException;
 import com.example.wallet.Exceptions.WithdrawAmountMustBePositiveException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,11 +17,17 @@ public class Wallet {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     @Getter
+    @Setter
     private Double balance;
 
+    @Getter
+    @JsonIgnore
+    @Column(nullable = false, updatable = false, columnDefinition = "double precision default 0")
+    private Double held;
+
     @Setter
     @OneToOne
-    @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
+    @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false, updatable = false)
     private User user;
 
     @Getter
@@ -29,11 +36,13 @@ public class Wallet {
 
     public Wallet() {
         this.balance = 0.0;
+        this.held = 0.0;
         this.currency = CurrencyType.INR;
     }
 
     public Wallet(CurrencyType currency) {
         this.balance = 0.0;
+        this.held = 0.0;
         this.currency = currency;
     }
 
@@ -49,10 +58,15 @@ public class Wallet {
         if (amount.compareTo(0.0) <= 0) {
             throw new WithdrawAmountMustBePositiveException("Withdrawal amount must be positive");
         }
-        if (this.balance.compareTo(amount) < 0) {
+        if (getAvailableBalance().compareTo(amount) < 0) {
             throw new InsufficientFundsException("Insufficient funds");
         }
         this.balance -= amount;
         return this.balance;
     }
+
+    @JsonIgnore
+    public Double getAvailableBalance() {
+        return this.balance - this.held;
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.wallet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+
+/**
+ * Which wallet a user owns, keyed by the user. A wallet's owner never changes once it is created, so the mapping is
+ * cached read-only by id and, unlike a cached query, is not invalidated by balance writes to {@code wallets}.
+ */
+@Getter
+@Entity
+@Immutable
+@Subselect("SELECT w.user_id, w.id FROM wallets w")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "wallet-ownership")
+public class WalletOwnership {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "id")
+    private Long walletId;
+
+    protected WalletOwnership() {}
+}
@@ -0,0 +1,29 @@
+package com.example.wallet.outbox;
+
+import com.example.wallet.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Slf4j
+public class InMemoryOutboxSink implements OutboxSink {
+    private final List<Consumer<OutboxEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    public AutoCloseable subscribe(Consumer<OutboxEvent> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (Consumer<OutboxEvent> subscriber : subscribers) {
+            try {
+                events.forEach(subscriber);
+            } catch (RuntimeException e) {
+                log.warn("Outbox subscriber {} failed, skipping the rest of the batch for it", subscriber, e);
+            }
+        }
+    }
+}
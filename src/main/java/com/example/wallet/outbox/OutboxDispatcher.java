@@ -0,0 +1,82 @@
+package com.example.wallet.outbox;
+
+import com.example.wallet.model.OutboxEvent;
+import com.example.wallet.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+public class OutboxDispatcher {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter dispatched;
+    private final Counter failures;
+    private final Timer batchTimer;
+    private final Timer lag;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<OutboxSink> sinks, TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry, int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.dispatched = Counter.builder("wallet.outbox.dispatched").register(meterRegistry);
+        this.failures = Counter.builder("wallet.outbox.failures").register(meterRegistry);
+        this.batchTimer = Timer.builder("wallet.outbox.batch").register(meterRegistry);
+        this.lag = Timer.builder("wallet.outbox.lag")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.outbox.poll-interval-ms:200}")
+    public void dispatch() {
+        try {
+            int count;
+            do {
+                count = dispatchBatch();
+            } while (count == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Outbox dispatch failed, the batch will be retried", e);
+        }
+    }
+
+    int dispatchBatch() {
+        long startedAt = System.nanoTime();
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findNextBatch(Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            for (OutboxSink sink : sinks) {
+                try {
+                    sink.publish(events);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Outbox sink " + sink + " failed", e);
+                }
+            }
+            outboxEventRepository.deleteByIds(events.stream().map(OutboxEvent::getId).toList());
+            LocalDateTime now = LocalDateTime.now();
+            events.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+            return events.size();
+        });
+        if (count != null && count > 0) {
+            dispatched.increment(count);
+            batchTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+        return count == null ? 0 : count;
+    }
+}
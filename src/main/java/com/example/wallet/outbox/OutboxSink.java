@@ -0,0 +1,10 @@
+package com.example.wallet.outbox;
+
+import com.example.wallet.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface OutboxSink {
+    void publish(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,21 @@
+package com.example.wallet.outbox;
+
+import com.example.wallet.model.OutboxEvent;
+import com.example.wallet.repository.OutboxEventRepository;
+import com.example.wallet.service.WalletChangedEvent;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+public class OutboxWriter {
+    private final OutboxEventRepository outboxEventRepository;
+
+    public OutboxWriter(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onWalletChanged(WalletChangedEvent event) {
+        outboxEventRepository.save(new OutboxEvent(event.walletId(), event.type(), event.balanceChange(),
+                event.balance(), event.counterpartyWalletId()));
+    }
+}
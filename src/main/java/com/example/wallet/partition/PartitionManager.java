@@ -0,0 +1,116 @@
+package com.example.wallet.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class PartitionManager {
+    static final List<String> PARTITIONED_TABLES = List.of("intra_transactions", "inter_transactions");
+
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'p'yyyy_MM");
+    private static final String PARTITIONS_QUERY = """
+            SELECT child.relname, pg_get_expr(child.relpartbound, child.oid)
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final Clock clock;
+
+    public PartitionManager(JdbcTemplate jdbcTemplate, int premakeMonths, int retentionMonths) {
+        this(jdbcTemplate, premakeMonths, retentionMonths, Clock.systemDefaultZone());
+    }
+
+    PartitionManager(JdbcTemplate jdbcTemplate, int premakeMonths, int retentionMonths, Clock clock) {
+        if (premakeMonths < 1 || retentionMonths < 1) {
+            throw new IllegalArgumentException("Partition premake and retention must be at least one month");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.partitions.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                createFuturePartitions(table);
+                detachExpiredPartitions(table);
+            } catch (RuntimeException e) {
+                log.error("Partition maintenance failed for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    public List<String> createFuturePartitions(String table) {
+        YearMonth current = YearMonth.now(clock);
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            String partition = partitionName(table, month);
+            if (!exists(partition)) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                created.add(partition);
+                log.info("Created partition {}", partition);
+            }
+        }
+        return created;
+    }
+
+    public List<String> detachExpiredPartitions(String table) {
+        LocalDate cutoff = YearMonth.now(clock).minusMonths(retentionMonths).atDay(1);
+        List<String> detached = new ArrayList<>();
+        for (Partition partition : partitions(table)) {
+            if (partition.upperBound() != null && !partition.upperBound().toLocalDate().isAfter(cutoff)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition.name() + " CONCURRENTLY");
+                detached.add(partition.name());
+                log.info("Detached partition {} holding rows before {}", partition.name(), partition.upperBound());
+            }
+        }
+        return detached;
+    }
+
+    List<Partition> partitions(String table) {
+        return jdbcTemplate.query(PARTITIONS_QUERY,
+                (resultSet, rowNum) -> new Partition(resultSet.getString(1), upperBound(resultSet.getString(2))), table);
+    }
+
+    private boolean exists(String relation) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, relation);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_" + SUFFIX.format(month);
+    }
+
+    static LocalDateTime upperBound(String boundExpression) {
+        Matcher matcher = UPPER_BOUND.matcher(boundExpression);
+        if (!matcher.find()) {
+            return null;
+        }
+        String value = matcher.group(1);
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    record Partition(String name, LocalDateTime upperBound) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.wallet.queue;
+
+import com.example.wallet.Enums.QueuedTransactionStatus;
+import com.example.wallet.Exceptions.*;
+import com.example.wallet.model.QueuedTransaction;
+import com.example.wallet.repository.QueuedTransactionRepository;
+import com.example.wallet.service.TransactionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class TransactionQueue {
+    private final QueuedTransactionRepository queuedTransactionRepository;
+    private final TransactionService transactionService;
+    private final long maxDepth;
+    private final AtomicLong depth;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final Counter rejected;
+    private final Timer queueWait;
+    private final Map<QueuedTransactionStatus, Counter> outcomes = new EnumMap<>(QueuedTransactionStatus.class);
+
+    @Autowired
+    public TransactionQueue(QueuedTransactionRepository queuedTransactionRepository, TransactionService transactionService,
+                            MeterRegistry meterRegistry,
+                            @Value("${wallet.async.max-queue-depth:10000}") long maxDepth) {
+        this.queuedTransactionRepository = queuedTransactionRepository;
+        this.transactionService = transactionService;
+        this.maxDepth = maxDepth;
+        this.depth = new AtomicLong(queuedTransactionRepository.countByStatusIn(
+                List.of(QueuedTransactionStatus.PENDING, QueuedTransactionStatus.PROCESSING)));
+        this.rejected = Counter.builder("wallet.async.rejected").register(meterRegistry);
+        this.queueWait = Timer.builder("wallet.async.queue.wait")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        for (QueuedTransactionStatus status : new QueuedTransactionStatus[]{QueuedTransactionStatus.COMPLETED, QueuedTransactionStatus.FAILED}) {
+            outcomes.put(status, Counter.builder("wallet.async.transactions")
+                    .tag("outcome", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("wallet.async.queue.depth", depth, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("wallet.async.queue.age", this, TransactionQueue::getOldestPendingAgeSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public QueuedTransaction enqueue(Long userId, Long walletId, Long recipientWalletId, Double amount, String transactionType) {
+        validate(recipientWalletId, amount, transactionType);
+        transactionService.authorize(userId, walletId);
+        if (depth.incrementAndGet() > maxDepth) {
+            depth.decrementAndGet();
+            rejected.increment();
+            throw new ServerBusyException("Transaction queue is full, please retry");
+        }
+        try {
+            String username = SecurityContextHolder.getContext().getAuthentication().getName();
+            return queuedTransactionRepository.save(new QueuedTransaction(userId, walletId, recipientWalletId, amount, transactionType, username));
+        } catch (RuntimeException e) {
+            depth.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public QueuedTransaction getStatus(Long userId, Long walletId, UUID transactionId) {
+        transactionService.authorize(userId, walletId);
+        return queuedTransactionRepository.findById(transactionId)
+                .filter(transaction -> transaction.getWalletId().equals(walletId))
+                .orElseThrow(() -> new QueuedTransactionNotFoundException("Transaction not found"));
+    }
+
+    public long getDepth() {
+        return depth.get();
+    }
+
+    double getOldestPendingAgeSeconds() {
+        long oldest = oldestPendingMillis.get();
+        return oldest == 0 ? 0.0 : Math.max(0, System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    void recordOldestPending(LocalDateTime createdAt) {
+        oldestPendingMillis.set(createdAt == null ? 0 : createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    void recordStarted(QueuedTransaction transaction) {
+        queueWait.record(Duration.between(transaction.getCreatedAt(), LocalDateTime.now()));
+    }
+
+    void recordFinished(QueuedTransactionStatus status) {
+        depth.decrementAndGet();
+        outcomes.get(status).increment();
+    }
+
+    private static void validate(Long recipientWalletId, Double amount, String transactionType) {
+        if (amount == null) {
+            throw new AmountCannotBeNullException("Amount is required and cannot be null");
+        }
+        switch (transactionType) {
+            case "deposit":
+                if (amount <= 0) {
+                    throw new DepositAmountMustBePositiveException("Deposit amount must be positive");
+                }
+                break;
+            case "withdrawal":
+                if (amount <= 0) {
+                    throw new WithdrawAmountMustBePositiveException("Withdrawal amount must be positive");
+                }
+                break;
+            case "transfer":
+                if (recipientWalletId == null) {
+                    throw new RecipientWalletIdCannotBeNullException("Recipient wallet ID is required for transfers");
+                }
+                if (amount <= 0) {
+                    throw new TransferAmountMustBePositiveException("Transfer amount must be positive");
+                }
+                break;
+            default:
+                throw new InvalidTransactionTypeException("Invalid transaction type");
+        }
+    }
+}
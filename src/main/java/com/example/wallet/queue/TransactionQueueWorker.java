@@ -0,0 +1,213 @@
+package com.example.wallet.queue;
+
+import com.example.wallet.Enums.QueuedTransactionStatus;
+import com.example.wallet.Exceptions.ExpectedRejectionException;
+import com.example.wallet.Exceptions.WalletDomainException;
+import com.example.wallet.model.QueuedTransaction;
+import com.example.wallet.repository.QueuedTransactionRepository;
+import com.example.wallet.service.TransactionDispatcher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class TransactionQueueWorker implements Runnable {
+    static final String INTERNAL_ERROR = "INTERNAL_ERROR";
+
+    private final TransactionQueue transactionQueue;
+    private final QueuedTransactionRepository queuedTransactionRepository;
+    private final TransactionDispatcher transactionDispatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+    private final long pollIntervalMillis;
+    private final long claimTimeoutMillis;
+    private final ExecutorService workers;
+    private final Thread poller;
+    private volatile boolean running;
+
+    @Autowired
+    public TransactionQueueWorker(TransactionQueue transactionQueue, QueuedTransactionRepository queuedTransactionRepository,
+                                  TransactionDispatcher transactionDispatcher, TransactionTemplate transactionTemplate,
+                                  @Value("${wallet.async.workers:8}") int workerCount,
+                                  @Value("${wallet.async.batch-size:100}") int batchSize,
+                                  @Value("${wallet.async.max-attempts:3}") int maxAttempts,
+                                  @Value("${wallet.async.retry-backoff-ms:500}") long retryBackoffMillis,
+                                  @Value("${wallet.async.max-retry-backoff-ms:60000}") long maxRetryBackoffMillis,
+                                  @Value("${wallet.async.poll-interval-ms:100}") long pollIntervalMillis,
+                                  @Value("${wallet.async.claim-timeout-ms:300000}") long claimTimeoutMillis) {
+        this.transactionQueue = transactionQueue;
+        this.queuedTransactionRepository = queuedTransactionRepository;
+        this.transactionDispatcher = transactionDispatcher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.claimTimeoutMillis = claimTimeoutMillis;
+        this.workers = Executors.newFixedThreadPool(workerCount, Thread.ofPlatform().name("transaction-queue-worker-", 0).factory());
+        this.poller = Thread.ofPlatform().name("transaction-queue-poller").daemon().unstarted(this);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        poller.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        poller.interrupt();
+        poller.join(TimeUnit.SECONDS.toMillis(10));
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                if (drainBatch() < batchSize) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Transaction queue poll failed", e);
+            }
+        }
+    }
+
+    int drainBatch() throws InterruptedException {
+        reclaimStale();
+        List<QueuedTransaction> batch = queuedTransactionRepository.findPending(LocalDateTime.now(), Limit.of(batchSize));
+        transactionQueue.recordOldestPending(batch.isEmpty() ? null : batch.get(0).getCreatedAt());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<QueuedTransaction>> byWallet = new LinkedHashMap<>();
+        for (QueuedTransaction transaction : batch) {
+            byWallet.computeIfAbsent(transaction.getWalletId(), walletId -> new ArrayList<>()).add(transaction);
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(byWallet.size());
+        for (List<QueuedTransaction> walletTransactions : byWallet.values()) {
+            tasks.add(() -> {
+                for (QueuedTransaction transaction : walletTransactions) {
+                    if (!process(transaction)) {
+                        break;
+                    }
+                }
+                return null;
+            });
+        }
+        workers.invokeAll(tasks);
+        return batch.size();
+    }
+
+    /**
+     * Puts back transactions whose worker stopped before completing them. Completion commits together with the money
+     * movement, so a transaction still claimed has not taken effect and is safe to run again.
+     */
+    private void reclaimStale() {
+        Integer reclaimed = transactionTemplate.execute(status -> queuedTransactionRepository.reclaimStale(
+                LocalDateTime.now().minusNanos(claimTimeoutMillis * 1_000_000L)));
+        if (reclaimed != null && reclaimed > 0) {
+            log.warn("Reclaimed {} queued transactions whose worker did not complete them", reclaimed);
+        }
+    }
+
+    /**
+     * Returns whether the transaction reached a final state, so that later transactions of the same wallet may run. The
+     * row is claimed in its own short transaction and the dispatch runs outside it, so no row lock is held across FX.
+     */
+    boolean process(QueuedTransaction queued) {
+        QueuedTransaction claimed = transactionTemplate.execute(status -> queuedTransactionRepository.lockPending(queued.getId())
+                .map(transaction -> {
+                    transaction.claim();
+                    return transaction;
+                })
+                .orElse(null));
+        if (claimed == null) {
+            return false;
+        }
+        if (claimed.getAttempts() == 0) {
+            transactionQueue.recordStarted(claimed);
+        }
+        try {
+            runAs(claimed.getUsername(), () -> transactionDispatcher.dispatchQueued(claimed));
+        } catch (RuntimeException e) {
+            return recordFailure(claimed, e);
+        }
+        transactionQueue.recordFinished(QueuedTransactionStatus.COMPLETED);
+        return true;
+    }
+
+    private boolean recordFailure(QueuedTransaction queued, RuntimeException cause) {
+        boolean permanent = cause instanceof ExpectedRejectionException;
+        String failureCode = cause instanceof WalletDomainException domain ? domain.getErrorCode() : INTERNAL_ERROR;
+        Boolean failed;
+        try {
+            failed = transactionTemplate.execute(status -> queuedTransactionRepository.lockClaimed(queued.getId(), queued.getClaimedAt())
+                    .map(transaction -> {
+                        int attempts = transaction.recordFailedAttempt();
+                        if (attempts >= maxAttempts || permanent) {
+                            transaction.fail(failureCode);
+                            return true;
+                        }
+                        transaction.scheduleRetry(LocalDateTime.now().plusNanos(backoffMillis(attempts) * 1_000_000L));
+                        return false;
+                    })
+                    .orElse(false));
+        } catch (RuntimeException e) {
+            log.error("Failed to record failure of queued transaction {}; it will be reclaimed", queued.getId(), e);
+            return false;
+        }
+        if (Boolean.TRUE.equals(failed)) {
+            transactionQueue.recordFinished(QueuedTransactionStatus.FAILED);
+            return true;
+        }
+        if (!permanent) {
+            log.warn("Queued transaction {} failed and will be retried", queued.getId(), cause);
+        }
+        return false;
+    }
+
+    long backoffMillis(int attempts) {
+        long backoff = retryBackoffMillis << Math.min(attempts - 1, 30);
+        return backoff < 0 ? maxRetryBackoffMillis : Math.min(backoff, maxRetryBackoffMillis);
+    }
+
+    private static void runAs(String username, Runnable action) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+        SecurityContextHolder.setContext(context);
+        try {
+            action.run();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.wallet.repository;
+
+import com.example.wallet.Enums.HoldStatus;
+import com.example.wallet.model.FundsHold;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FundsHoldRepository extends JpaRepository<FundsHold, Long> {
+    @Modifying
+    @Query("UPDATE FundsHold h SET h.status = :status WHERE h.id = :id AND h.status = com.example.wallet.Enums.HoldStatus.ACTIVE")
+    int close(@Param("id") Long id, @Param("status") HoldStatus status);
+
+    @Query("SELECT h.id FROM FundsHold h WHERE h.status = com.example.wallet.Enums.HoldStatus.ACTIVE AND h.expiresAt < :now ORDER BY h.expiresAt")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+}
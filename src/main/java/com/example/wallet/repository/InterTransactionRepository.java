@@ -1,12 +1,25 @@
 package com.example.wallet.repository;
 
 import com.example.wallet.model.InterTransaction;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface InterTransactionRepository extends JpaRepository<InterTransaction, Long> {
+public interface InterTransactionRepository extends JpaRepository<InterTransaction, Long>, JpaSpecificationExecutor<InterTransaction> {
     @Query("SELECT it FROM InterTransaction it WHERE (it.senderWallet.id = :walletId OR it.recipientWallet.id = :walletId)")
     List<InterTransaction> findByWalletId(Long walletId);
+
+    @Query("SELECT it FROM InterTransaction it WHERE (it.senderWallet.id = :walletId OR it.recipientWallet.id = :walletId)")
+    List<InterTransaction> findByWalletId(Long walletId, Sort sort);
+
+    @Query("SELECT DISTINCT it.senderWallet.id FROM InterTransaction it WHERE it.timestamp >= :since")
+    List<Long> findSenderWalletIdsWithTransactionsSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT DISTINCT it.recipientWallet.id FROM InterTransaction it WHERE it.timestamp >= :since")
+    List<Long> findRecipientWalletIdsWithTransactionsSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -1,12 +1,22 @@
 package com.example.wallet.repository;
 
 import com.example.wallet.model.IntraTransaction;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface IntraTransactionRepository extends JpaRepository<IntraTransaction, Long> {
+public interface IntraTransactionRepository extends JpaRepository<IntraTransaction, Long>, JpaSpecificationExecutor<IntraTransaction> {
     @Query("SELECT it FROM IntraTransaction it WHERE it.wallet.id = :walletId")
     List<IntraTransaction> findByWalletId(Long walletId);
+
+    @Query("SELECT it FROM IntraTransaction it WHERE it.wallet.id = :walletId")
+    List<IntraTransaction> findByWalletId(Long walletId, Sort sort);
+
+    @Query("SELECT DISTINCT it.wallet.id FROM IntraTransaction it WHERE it.timestamp >= :since")
+    List<Long> findWalletIdsWithTransactionsSince(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,7 @@
+package com.example.wallet.repository;
+
+import com.example.wallet.model.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Integer> {
+}
@@ -0,0 +1,46 @@
+package com.example.wallet.repository;
+
+import com.example.wallet.Enums.QueuedTransactionStatus;
+import com.example.wallet.model.QueuedTransaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface QueuedTransactionRepository extends JpaRepository<QueuedTransaction, UUID> {
+    @Query("SELECT q FROM QueuedTransaction q WHERE q.status = com.example.wallet.Enums.QueuedTransactionStatus.PENDING"
+            + " AND NOT EXISTS (SELECT d FROM QueuedTransaction d WHERE d.walletId = q.walletId AND d.createdAt <= q.createdAt"
+            + " AND (d.status = com.example.wallet.Enums.QueuedTransactionStatus.PROCESSING"
+            + " OR (d.status = com.example.wallet.Enums.QueuedTransactionStatus.PENDING AND d.nextAttemptAt > :now)))"
+            + " ORDER BY q.createdAt")
+    List<QueuedTransaction> findPending(@Param("now") LocalDateTime now, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT q FROM QueuedTransaction q WHERE q.id = :id AND q.status = com.example.wallet.Enums.QueuedTransactionStatus.PENDING")
+    Optional<QueuedTransaction> lockPending(@Param("id") UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q FROM QueuedTransaction q WHERE q.id = :id AND q.status = com.example.wallet.Enums.QueuedTransactionStatus.PROCESSING"
+            + " AND q.claimedAt = :claimedAt")
+    Optional<QueuedTransaction> lockClaimed(@Param("id") UUID id, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Modifying
+    @Query("UPDATE QueuedTransaction q SET q.status = com.example.wallet.Enums.QueuedTransactionStatus.PENDING, q.claimedAt = null"
+            + " WHERE q.status = com.example.wallet.Enums.QueuedTransactionStatus.PROCESSING AND q.claimedAt < :claimedBefore")
+    int reclaimStale(@Param("claimedBefore") LocalDateTime claimedBefore);
+
+    long countByStatusIn(Collection<QueuedTransactionStatus> statuses);
+}
@@ -0,0 +1,7 @@
+package com.example.wallet.repository;
+
+import java.util.Optional;
+
+public interface WalletOwnershipLookup {
+    Optional<Long> findIdByUserId(Long userId);
+}
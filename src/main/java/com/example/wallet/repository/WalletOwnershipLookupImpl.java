@@ -0,0 +1,17 @@
+package com.example.wallet.repository;
+
+import com.example.wallet.model.WalletOwnership;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Optional;
+
+class WalletOwnershipLookupImpl implements WalletOwnershipLookup {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Long> findIdByUserId(Long userId) {
+        return Optional.ofNullable(entityManager.find(WalletOwnership.class, userId)).map(WalletOwnership::getWalletId);
+    }
+}
@@ -1,13 +1,40 @@
 package com.example.wallet.repository;
 
+import com.example.wallet.Enums.CurrencyType;
 import com.example.wallet.model.Wallet;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-public interface WalletRepository extends JpaRepository<Wallet, Long>  {
-    @Query("SELECT w.id FROM Wallet w WHERE w.user.id = :userId")
-    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+public interface WalletRepository extends JpaRepository<Wallet, Long>, WalletOwnershipLookup {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.id = :walletId")
+    Optional<Wallet> findByIdForUpdate(@Param("walletId") Long walletId);
+
+    @Query("SELECT w.currency FROM Wallet w WHERE w.id = :walletId")
+    Optional<CurrencyType> findCurrencyById(@Param("walletId") Long walletId);
+
+    @Query("SELECT w.balance FROM Wallet w WHERE w.id = :walletId")
+    Optional<Double> findBalanceById(@Param("walletId") Long walletId);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.held = w.held + :amount WHERE w.id = :walletId AND w.balance - w.held >= :amount")
+    int reserve(@Param("walletId") Long walletId, @Param("amount") Double amount);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.held = w.held - :amount WHERE w.id = :walletId")
+    int release(@Param("walletId") Long walletId, @Param("amount") Double amount);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.held = w.held - :amount, w.balance = w.balance - :amount WHERE w.id = :walletId")
+    int settle(@Param("walletId") Long walletId, @Param("amount") Double amount);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = w.balance + :amount WHERE w.id = :walletId")
+    int credit(@Param("walletId") Long walletId, @Param("amount") Double amount);
 }
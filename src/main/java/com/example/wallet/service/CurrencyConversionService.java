@@ -1,23 +1,30 @@
 package com.example.wallet.service;
 
 import com.example.wallet.Exceptions.ServerUnavailableException;
+import com.example.wallet.metrics.AmountBucket;
+import com.example.wallet.metrics.CurrencyConversionEvent;
 import conversion.ConversionServiceGrpc;
 import conversion.Conversion.ConvertResponse;
 import conversion.Conversion.ConvertRequest;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Slf4j
 @Service
 public class CurrencyConversionService {
     private ManagedChannel channel;
     private ConversionServiceGrpc.ConversionServiceBlockingStub blockingStub;
+    private ExecutorService callExecutor;
 
     @Value("${grpc.server.host:localhost}")
     private String host;
@@ -25,16 +32,31 @@ public class CurrencyConversionService {
     @Value("${grpc.server.port:50051}")
     private int port;
 
+    @Value("${grpc.server.in-process-name:}")
+    private String inProcessName;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @PostConstruct
     void init() {
-        channel = ManagedChannelBuilder.forAddress(host, port)
-                .usePlaintext()
-                .build();
+        ManagedChannelBuilder<?> channelBuilder = inProcessName.isBlank()
+                ? ManagedChannelBuilder.forAddress(host, port).usePlaintext()
+                : InProcessChannelBuilder.forName(inProcessName);
+        if (virtualThreads) {
+            callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            channelBuilder.executor(callExecutor);
+        }
+        channel = channelBuilder.build();
         blockingStub = ConversionServiceGrpc.newBlockingStub(channel);
-        log.info("gRPC client initialized, connected to {}:{}", host, port);
+        log.info("gRPC client initialized, connected to {} (virtual threads: {})",
+                inProcessName.isBlank() ? host + ":" + port : "in-process channel " + inProcessName, virtualThreads);
     }
 
     public Double convert(String fromCurrency, String toCurrency, Double amount) {
+        CurrencyConversionEvent event = new CurrencyConversionEvent();
+        event.begin();
+        String outcome = "failure";
         try{
             ConvertRequest request = ConvertRequest.newBuilder()
                     .setFromCurrency(fromCurrency)
@@ -43,21 +65,35 @@ public class CurrencyConversionService {
                     .build();
 
             ConvertResponse response = blockingStub.convert(request);
+            outcome = "success";
             return response.getConvertedAmount();
         } catch (Exception e) {
             if (e instanceof StatusRuntimeException && ((StatusRuntimeException) e).getStatus().getCode() == io.grpc.Status.UNAVAILABLE.getCode()) {
+                outcome = "unavailable";
                 log.error("Currency conversion failed: Server is unavailable. Amount: {} from: {} to: {}", amount, fromCurrency, toCurrency);
                 throw new ServerUnavailableException("Currency conversion failed: Server is unavailable");
             }
 
             log.error("Currency conversion failed: {}. Amount: {} from: {} to: {}", e.getMessage(), amount, fromCurrency, toCurrency);
             throw new RuntimeException("Currency conversion failed: " + e.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.fromCurrency = fromCurrency;
+                event.toCurrency = toCurrency;
+                event.amountBucket = AmountBucket.of(amount);
+                event.outcome = outcome;
+                event.commit();
+            }
         }
     }
 
     @PreDestroy
     private void cleanup() {
         channel.shutdown();
+        if (callExecutor != null) {
+            callExecutor.shutdown();
+        }
         log.info("gRPC client shutdown");
     }
 }
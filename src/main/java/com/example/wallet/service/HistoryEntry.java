@@ -0,0 +1,23 @@
+package com.example.wallet.service;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.model.IntraTransaction;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public record HistoryEntry(long timestampNanos, double amount, TransactionType type, Object transaction) {
+
+    public static HistoryEntry of(IntraTransaction transaction) {
+        return new HistoryEntry(toEpochNanos(transaction.getTimestamp()), transaction.getAmount(), transaction.getType(), transaction);
+    }
+
+    public static HistoryEntry of(InterTransaction transaction) {
+        return new HistoryEntry(toEpochNanos(transaction.getTimestamp()), transaction.getAmount(), transaction.getType(), transaction);
+    }
+
+    private static long toEpochNanos(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.wallet.service;
+
+import java.time.LocalDateTime;
+
+public record HistoryFilter(LocalDateTime from, LocalDateTime to, Double minAmount, Double maxAmount) {
+    public static final HistoryFilter NONE = new HistoryFilter(null, null, null, null);
+
+    public HistoryFilter {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+    }
+
+    public boolean isEmpty() {
+        return from == null && to == null && minAmount == null && maxAmount == null;
+    }
+
+    public boolean includes(LocalDateTime timestamp, double amount) {
+        return (from == null || !timestamp.isBefore(from))
+                && (to == null || timestamp.isBefore(to))
+                && (minAmount == null || amount >= minAmount)
+                && (maxAmount == null || amount <= maxAmount);
+    }
+}
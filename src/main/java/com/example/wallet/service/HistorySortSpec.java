@@ -0,0 +1,48 @@
+package com.example.wallet.service;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class HistorySortSpec {
+    private static final Comparator<HistoryEntry> UNORDERED = (entry1, entry2) -> 0;
+
+    private final Comparator<HistoryEntry> comparator;
+    private final Sort sort;
+
+    private HistorySortSpec(Comparator<HistoryEntry> comparator, Sort sort) {
+        this.comparator = comparator;
+        this.sort = sort;
+    }
+
+    public static HistorySortSpec compile(List<String> sortByList, List<String> sortOrderList) {
+        Comparator<HistoryEntry> comparator = null;
+        List<Sort.Order> orders = new ArrayList<>();
+        for (int i = 0; i < sortByList.size(); i++) {
+            boolean isDesc = (sortOrderList.size() > i && "DESC".equalsIgnoreCase(sortOrderList.get(i)));
+            String sortByField = sortByList.get(i).toLowerCase();
+
+            Comparator<HistoryEntry> key = switch (sortByField) {
+                case "timestamp" -> Comparator.comparingLong(HistoryEntry::timestampNanos);
+                case "amount" -> Comparator.comparingDouble(HistoryEntry::amount);
+                default -> throw new IllegalArgumentException("Invalid sort field: " + sortByList.get(i));
+            };
+            if (isDesc) {
+                key = key.reversed();
+            }
+            comparator = comparator == null ? key : comparator.thenComparing(key);
+            orders.add(isDesc ? Sort.Order.desc(sortByField) : Sort.Order.asc(sortByField));
+        }
+        return new HistorySortSpec(comparator == null ? UNORDERED : comparator, Sort.by(orders));
+    }
+
+    public Comparator<HistoryEntry> getComparator() {
+        return comparator;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.wallet.service;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.model.IntraTransaction;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+final class HistorySpecifications {
+
+    private HistorySpecifications() {
+    }
+
+    static Specification<IntraTransaction> intraTransactions(Long walletId, HistoryFilter filter, Set<TransactionType> types) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("wallet").get("id"), walletId));
+            if (!types.isEmpty()) {
+                predicates.add(root.get("type").in(types));
+            }
+            addRanges(root, cb, filter, predicates);
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    static Specification<InterTransaction> interTransactions(Long walletId, HistoryFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.or(cb.equal(root.get("senderWallet").get("id"), walletId),
+                    cb.equal(root.get("recipientWallet").get("id"), walletId)));
+            addRanges(root, cb, filter, predicates);
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static void addRanges(Root<?> root, CriteriaBuilder cb, HistoryFilter filter, List<Predicate> predicates) {
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("timestamp"), filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThan(root.<LocalDateTime>get("timestamp"), filter.to()));
+        }
+        if (filter.minAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<Double>get("amount"), filter.minAmount()));
+        }
+        if (filter.maxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.<Double>get("amount"), filter.maxAmount()));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.wallet.service;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class MergingIterator<T> implements Iterator<T> {
+    private final Iterator<? extends T>[] sources;
+    private final Object[] heads;
+    private final boolean[] present;
+    private final Comparator<? super T> comparator;
+
+    @SafeVarargs
+    public MergingIterator(Comparator<? super T> comparator, Iterator<? extends T>... sources) {
+        this.comparator = comparator;
+        this.sources = sources;
+        this.heads = new Object[sources.length];
+        this.present = new boolean[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            advance(i);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        for (boolean sourcePresent : present) {
+            if (sourcePresent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        int smallest = -1;
+        for (int i = 0; i < sources.length; i++) {
+            if (present[i] && (smallest < 0 || comparator.compare((T) heads[i], (T) heads[smallest]) < 0)) {
+                smallest = i;
+            }
+        }
+        if (smallest < 0) {
+            throw new NoSuchElementException();
+        }
+        T next = (T) heads[smallest];
+        advance(smallest);
+        return next;
+    }
+
+    private void advance(int source) {
+        present[source] = sources[source].hasNext();
+        heads[source] = present[source] ? sources[source].next() : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.wallet.service;
+
+import com.example.wallet.hold.HoldTransferService;
+import com.example.wallet.model.QueuedTransaction;
+import com.example.wallet.repository.QueuedTransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class TransactionDispatcher {
+    private final TransactionService transactionService;
+    private final HoldTransferService holdTransferService;
+    private final QueuedTransactionRepository queuedTransactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TransactionDispatcher(TransactionService transactionService, HoldTransferService holdTransferService,
+                                 QueuedTransactionRepository queuedTransactionRepository, TransactionTemplate transactionTemplate) {
+        this.transactionService = transactionService;
+        this.holdTransferService = holdTransferService;
+        this.queuedTransactionRepository = queuedTransactionRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void dispatch(Long userId, Long walletId, Long recipientWalletId, Double amount, String transactionType) {
+        if ("transfer".equals(transactionType) && holdTransferService.isEnabled()) {
+            holdTransferService.transfer(userId, walletId, recipientWalletId, amount);
+        } else {
+            transactionService.createTransaction(userId, walletId, recipientWalletId, amount, transactionType);
+        }
+    }
+
+    /**
+     * Dispatches a claimed queued transaction and marks it completed in the same database transaction that moves the
+     * money. Completion requires the row to still carry this claim, so a transaction takes effect at most once however
+     * often it is dispatched, including by a worker whose claim has since been reclaimed.
+     */
+    public void dispatchQueued(QueuedTransaction claimed) {
+        if ("transfer".equals(claimed.getTransactionType()) && holdTransferService.isEnabled()) {
+            holdTransferService.transfer(claimed.getUserId(), claimed.getWalletId(), claimed.getRecipientWalletId(),
+                    claimed.getAmount(), () -> completeQueued(claimed));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> {
+                completeQueued(claimed);
+                transactionService.createTransaction(claimed.getUserId(), claimed.getWalletId(), claimed.getRecipientWalletId(),
+                        claimed.getAmount(), claimed.getTransactionType());
+            });
+        }
+    }
+
+    private void completeQueued(QueuedTransaction claimed) {
+        queuedTransactionRepository.lockClaimed(claimed.getId(), claimed.getClaimedAt())
+                .orElseThrow(() -> new IllegalStateException("Queued transaction " + claimed.getId() + " is no longer claimed by this worker"))
+                .complete();
+    }
+}
@@ -2,6 +2,13 @@ package com.example.wallet.service;
 
 import com.example.wallet.Enums.TransactionType;
 import com.example.wallet.Exceptions.*;
+import com.example.wallet.archive.ArchivedTransaction;
+import com.example.wallet.archive.TransactionArchive;
+import com.example.wallet.cache.WalletVersionTracker;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.metrics.TransactionOperation;
+import com.example.wallet.metrics.TransactionPhase;
+import com.example.wallet.metrics.TransactionTiming;
 import com.example.wallet.model.InterTransaction;
 import com.example.wallet.model.IntraTransaction;
 import com.example.wallet.model.User;
@@ -11,6 +18,8 @@ import com.example.wallet.repository.IntraTransactionRepository;
 import com.example.wallet.repository.UserRepository;
 import com.example.wallet.repository.WalletRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -18,8 +27,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 public class TransactionService {
@@ -28,14 +38,24 @@ public class TransactionService {
     private final IntraTransactionRepository intraTransactionRepository;
     private final InterTransactionRepository interTransactionRepository;
     private final CurrencyConversionService currencyConversionService;
+    private final Executor historyQueryExecutor;
+    private final TransactionMetrics transactionMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletVersionTracker walletVersionTracker;
+    private final TransactionArchive transactionArchive;
 
     @Autowired
-    public TransactionService(UserRepository userRepository, WalletRepository walletRepository, IntraTransactionRepository intraTransactionRepository, InterTransactionRepository interTransactionRepository, CurrencyConversionService currencyConversionService) {
+    public TransactionService(UserRepository userRepository, WalletRepository walletRepository, IntraTransactionRepository intraTransactionRepository, InterTransactionRepository interTransactionRepository, CurrencyConversionService currencyConversionService, @Qualifier("historyQueryExecutor") Executor historyQueryExecutor, TransactionMetrics transactionMetrics, ApplicationEventPublisher eventPublisher, WalletVersionTracker walletVersionTracker, TransactionArchive transactionArchive) {
         this.userRepository = userRepository;
         this.walletRepository = walletRepository;
         this.intraTransactionRepository = intraTransactionRepository;
         this.interTransactionRepository = interTransactionRepository;
         this.currencyConversionService = currencyConversionService;
+        this.historyQueryExecutor = historyQueryExecutor;
+        this.transactionMetrics = transactionMetrics;
+        this.eventPublisher = eventPublisher;
+        this.walletVersionTracker = walletVersionTracker;
+        this.transactionArchive = transactionArchive;
     }
 
     @Transactional
@@ -60,72 +80,146 @@ public class TransactionService {
 
     @Transactional
     public Double deposit(Long userId, Long walletId, Double amount) {
-        if (!isUserAuthorized(userId, walletId)) {
-            throw new UserNotAuthorizedException("Access denied: User is not authorized");
-        }
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.DEPOSIT, walletId, amount);
+        try {
+            if (!isUserAuthorized(userId, walletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
+
+            Wallet wallet = lockWallet(walletId, "User not found");
+            timing.phase(TransactionPhase.DB_READ);
 
-        Wallet wallet = walletRepository.findById(walletId).orElseThrow(() -> new UserNotFoundException("User not found"));;
-        Double newBalance = wallet.deposit(amount);
-        walletRepository.save(wallet);
+            Double newBalance = wallet.deposit(amount);
+            walletRepository.save(wallet);
 
-        IntraTransaction intraTransaction = new IntraTransaction(wallet, TransactionType.DEPOSIT, amount);
-        intraTransactionRepository.save(intraTransaction);
+            IntraTransaction intraTransaction = new IntraTransaction(wallet, TransactionType.DEPOSIT, amount);
+            intraTransactionRepository.save(intraTransaction);
+            timing.phase(TransactionPhase.DB_WRITE);
+            eventPublisher.publishEvent(new WalletChangedEvent(walletId, newBalance, TransactionType.DEPOSIT, amount, null));
 
-        return newBalance;
+            timing.succeeded();
+            return newBalance;
+        } finally {
+            timing.stop();
+        }
     }
 
     @Transactional
     public Double withdraw(Long userId, Long walletId, Double amount) {
-        if (!isUserAuthorized(userId, walletId)) {
-            throw new UserNotAuthorizedException("Access denied: User is not authorized");
-        }
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.WITHDRAWAL, walletId, amount);
+        try {
+            if (!isUserAuthorized(userId, walletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
 
-        Wallet wallet = walletRepository.findById(walletId).orElseThrow(() -> new UserNotFoundException("User not found"));;
-        Double newBalance = wallet.withdraw(amount);
-        walletRepository.save(wallet);
+            Wallet wallet = lockWallet(walletId, "User not found");
+            timing.phase(TransactionPhase.DB_READ);
 
-        IntraTransaction intraTransaction = new IntraTransaction(wallet, TransactionType.WITHDRAWAL, amount);
-        intraTransactionRepository.save(intraTransaction);
+            Double newBalance = wallet.withdraw(amount);
+            walletRepository.save(wallet);
 
-        return newBalance;
+            IntraTransaction intraTransaction = new IntraTransaction(wallet, TransactionType.WITHDRAWAL, amount);
+            intraTransactionRepository.save(intraTransaction);
+            timing.phase(TransactionPhase.DB_WRITE);
+            eventPublisher.publishEvent(new WalletChangedEvent(walletId, newBalance, TransactionType.WITHDRAWAL, -amount, null));
+
+            timing.succeeded();
+            return newBalance;
+        } finally {
+            timing.stop();
+        }
     }
 
     @Transactional
     public Double transfer(Long userId, Long senderWalletId, Long recipientWalletId, Double amount) {
-        if (!isUserAuthorized(userId, senderWalletId)) {
-            throw new UserNotAuthorizedException("Access denied: User is not authorized");
-        }
-        Wallet senderWallet = walletRepository.findById(senderWalletId)
-                .orElseThrow(() -> new UserNotFoundException("Sender not found"));
-        Wallet recipientWallet = walletRepository.findById(recipientWalletId)
-                .orElseThrow(() -> new UserNotFoundException("Recipient not found"));
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.TRANSFER, senderWalletId, amount);
+        try {
+            if (!isUserAuthorized(userId, senderWalletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
+
+            Wallet senderWallet;
+            Wallet recipientWallet;
+            if (senderWalletId <= recipientWalletId) {
+                senderWallet = lockWallet(senderWalletId, "Sender not found");
+                recipientWallet = lockWallet(recipientWalletId, "Recipient not found");
+            } else {
+                recipientWallet = lockWallet(recipientWalletId, "Recipient not found");
+                senderWallet = lockWallet(senderWalletId, "Sender not found");
+            }
+            timing.phase(TransactionPhase.DB_READ);
 
-        if (amount <= 0) {
-            throw new TransferAmountMustBePositiveException("Transfer amount must be positive");
-        }
-        if (senderWallet.getBalance() < amount) {
-            throw new InsufficientFundsException("Insufficient funds for transfer");
+            if (amount <= 0) {
+                throw new TransferAmountMustBePositiveException("Transfer amount must be positive");
+            }
+            if (senderWallet.getAvailableBalance() < amount) {
+                throw new InsufficientFundsException("Insufficient funds for transfer");
+            }
+
+            double amountInRecipientCurrency = currencyConversionService.convert(
+                    senderWallet.getCurrency().name(),
+                    recipientWallet.getCurrency().name(),
+                    amount
+            );
+            timing.phase(TransactionPhase.FX);
+
+            Double senderNewBalance = senderWallet.withdraw(amount);
+            recipientWallet.deposit(amountInRecipientCurrency);
+
+            walletRepository.save(senderWallet);
+            walletRepository.save(recipientWallet);
+
+            InterTransaction interTransaction = new InterTransaction(senderWallet, recipientWallet, TransactionType.TRANSFER, amount);
+            interTransactionRepository.save(interTransaction);
+            timing.phase(TransactionPhase.DB_WRITE);
+            eventPublisher.publishEvent(new WalletChangedEvent(senderWalletId, senderWallet.getBalance(), TransactionType.TRANSFER, -amount, recipientWalletId));
+            eventPublisher.publishEvent(new WalletChangedEvent(recipientWalletId, recipientWallet.getBalance(), TransactionType.TRANSFER, amountInRecipientCurrency, senderWalletId));
+
+            timing.succeeded();
+            return senderNewBalance;
+        } finally {
+            timing.stop();
         }
+    }
 
-        double amountInRecipientCurrency = currencyConversionService.convert(
-                senderWallet.getCurrency().name(),
-                recipientWallet.getCurrency().name(),
-                amount
-        );
+    /**
+     * Loads the wallet under a row lock so that the balance written back cannot overwrite a concurrent relative update
+     * such as a hold settlement. Transfers lock the lower wallet id first to keep the lock order consistent.
+     */
+    private Wallet lockWallet(Long walletId, String notFoundMessage) {
+        return walletRepository.findByIdForUpdate(walletId).orElseThrow(() -> new UserNotFoundException(notFoundMessage));
+    }
 
-        Double senderNewBalance = senderWallet.withdraw(amount);
-        recipientWallet.deposit(amountInRecipientCurrency);
+    public Double getBalance(Long userId, Long walletId) {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.BALANCE, walletId, null);
+        try {
+            if (!isUserAuthorized(userId, walletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
 
-        walletRepository.save(senderWallet);
-        walletRepository.save(recipientWallet);
+            Double balance = walletVersionTracker.readBalance(walletId, id -> walletRepository.findById(id)
+                    .map(Wallet::getBalance)
+                    .orElseThrow(() -> new UserNotFoundException("User not found")));
+            timing.phase(TransactionPhase.DB_READ);
 
-        InterTransaction interTransaction = new InterTransaction(senderWallet, recipientWallet, TransactionType.TRANSFER, amount);
-        interTransactionRepository.save(interTransaction);
+            timing.succeeded();
+            return balance;
+        } finally {
+            timing.stop();
+        }
+    }
 
-        return senderNewBalance;
+    public void authorize(Long userId, Long walletId) {
+        if (!isUserAuthorized(userId, walletId)) {
+            throw new UserNotAuthorizedException("Access denied: User is not authorized");
+        }
     }
 
-    private boolean isUserAuthorized(Long userId, Long walletId) {
+    protected boolean isUserAuthorized(Long userId, Long walletId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String authenticatedUsername = authentication.getName();
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User not found"));
@@ -133,34 +227,145 @@ public class TransactionService {
         return (user.getUsername().equals(authenticatedUsername) && walletIdFromUserId.equals(walletId));
     }
 
-    @Transactional(readOnly = true)
     public List<Object> getTransactions(Long userId, Long walletId, String sortBy, String sortOrder, String transactionType) {
-        if (!isUserAuthorized(userId, walletId)) {
-            throw new UserNotAuthorizedException("Access denied: User is not authorized");
+        return getTransactions(userId, walletId, sortBy, sortOrder, transactionType, HistoryFilter.NONE);
+    }
+
+    public List<Object> getTransactions(Long userId, Long walletId, String sortBy, String sortOrder, String transactionType, HistoryFilter filter) {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.HISTORY, walletId, null);
+        try {
+            if (!isUserAuthorized(userId, walletId)) {
+                throw new UserNotAuthorizedException("Access denied: User is not authorized");
+            }
+            timing.phase(TransactionPhase.AUTH);
+            List<Object> transactions = readTransactions(walletId, sortBy, sortOrder, transactionType, filter, timing);
+            timing.succeeded();
+            return transactions;
+        } finally {
+            timing.stop();
         }
+    }
+
+    /**
+     * Reads a wallet's history for a caller that has already passed {@link #authorize} for it.
+     */
+    public List<Object> getAuthorizedTransactions(Long walletId, String sortBy, String sortOrder, String transactionType, HistoryFilter filter) {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.HISTORY, walletId, null);
+        try {
+            List<Object> transactions = readTransactions(walletId, sortBy, sortOrder, transactionType, filter, timing);
+            timing.succeeded();
+            return transactions;
+        } finally {
+            timing.stop();
+        }
+    }
 
+    private List<Object> readTransactions(Long walletId, String sortBy, String sortOrder, String transactionType, HistoryFilter filter,
+                                          TransactionTiming timing) {
         List<String> sortOrderList = sortOrder != null ? Arrays.asList(sortOrder.split(",")) : Collections.emptyList();
         List<String> sortByList = sortBy != null ? Arrays.asList(sortBy.split(",")) : Collections.emptyList();
         List<String> transactionTypeList = transactionType != null ? Arrays.asList(transactionType.split(",")) : Collections.emptyList();
         validateSortParameters(sortByList, sortOrderList, transactionTypeList);
 
-        List<IntraTransaction> intraTransactions = intraTransactionRepository.findByWalletId(walletId);
-        List<InterTransaction> interTransactions = interTransactionRepository.findByWalletId(walletId);
+        HistorySortSpec sortSpec = HistorySortSpec.compile(sortByList, sortOrderList);
+        Set<TransactionType> transactionTypes = EnumSet.noneOf(TransactionType.class);
+        transactionTypeList.forEach(type -> transactionTypes.add(TransactionType.valueOf(type.toUpperCase())));
+
+        CompletableFuture<List<IntraTransaction>> intraTransactions;
+        CompletableFuture<List<InterTransaction>> interTransactions;
+        if (filter.isEmpty()) {
+            intraTransactions = CompletableFuture.supplyAsync(
+                    () -> intraTransactionRepository.findByWalletId(walletId, sortSpec.getSort()), historyQueryExecutor);
+            interTransactions = CompletableFuture.supplyAsync(
+                    () -> interTransactionRepository.findByWalletId(walletId, sortSpec.getSort()), historyQueryExecutor);
+        } else {
+            intraTransactions = CompletableFuture.supplyAsync(() -> intraTransactionRepository.findAll(
+                    HistorySpecifications.intraTransactions(walletId, filter, transactionTypes), sortSpec.getSort()), historyQueryExecutor);
+            interTransactions = transactionTypes.isEmpty() || transactionTypes.contains(TransactionType.TRANSFER)
+                    ? CompletableFuture.supplyAsync(() -> interTransactionRepository.findAll(
+                            HistorySpecifications.interTransactions(walletId, filter), sortSpec.getSort()), historyQueryExecutor)
+                    : CompletableFuture.completedFuture(List.of());
+        }
+        List<IntraTransaction> intraResults = await(intraTransactions);
+        List<InterTransaction> interResults = await(interTransactions);
+        timing.phase(TransactionPhase.DB_READ);
+
+        // The archiver publishes a segment before deleting its rows, so a snapshot taken once the database reads
+        // are done covers every row they missed; its horizon then drops the rows they saw that it also holds.
+        Iterator<HistoryEntry> mergedTransactions;
+        try (TransactionArchive.Snapshot archive = transactionArchive.snapshot()) {
+            LocalDateTime archiveHorizon = archive.getHorizon();
+            boolean readsArchive = archiveHorizon != null && (filter.from() == null || filter.from().isBefore(archiveHorizon));
+            List<HistoryEntry> archivedEntries = readsArchive
+                    ? archivedEntries(archive.read(walletId, filter.from(), filter.to()), filter, sortSpec)
+                    : List.of();
+            if (readsArchive) {
+                timing.phase(TransactionPhase.ARCHIVE_READ);
+            }
+
+            mergedTransactions = new MergingIterator<>(sortSpec.getComparator(),
+                    intraResults.stream().map(HistoryEntry::of).filter(entry -> isAfterArchive(entry, archiveHorizon)).iterator(),
+                    interResults.stream().map(HistoryEntry::of).filter(entry -> isAfterArchive(entry, archiveHorizon)).iterator(),
+                    archivedEntries.iterator());
+        }
 
         List<Object> allTransactions = new ArrayList<>();
-        allTransactions.addAll(intraTransactions);
-        allTransactions.addAll(interTransactions);
+        while (mergedTransactions.hasNext()) {
+            HistoryEntry entry = mergedTransactions.next();
+            if (transactionType == null || transactionTypes.contains(entry.type())) {
+                allTransactions.add(entry.transaction());
+            }
+        }
+        return allTransactions;
+    }
 
-        if (transactionType != null) {
-            allTransactions = allTransactions.stream()
-                    .filter(transaction -> transactionTypeList.contains(getTransactionType(transaction)))
-                    .collect(Collectors.toList());
+    private List<HistoryEntry> archivedEntries(List<ArchivedTransaction> archived, HistoryFilter filter, HistorySortSpec sortSpec) {
+        if (!filter.isEmpty()) {
+            archived = archived.stream().filter(transaction -> filter.includes(transaction.timestamp(), transaction.amount())).toList();
+        }
+        if (archived.isEmpty()) {
+            return List.of();
         }
+        Set<Long> walletIds = new HashSet<>();
+        for (ArchivedTransaction transaction : archived) {
+            walletIds.add(transaction.senderWalletId());
+            if (transaction.inter()) {
+                walletIds.add(transaction.recipientWalletId());
+            }
+        }
+        Map<Long, Wallet> wallets = new HashMap<>();
+        walletRepository.findAllById(walletIds).forEach(wallet -> wallets.put(wallet.getId(), wallet));
+
+        List<HistoryEntry> entries = new ArrayList<>(archived.size());
+        for (ArchivedTransaction transaction : archived) {
+            Wallet sender = wallets.get(transaction.senderWalletId());
+            entries.add(transaction.inter()
+                    ? HistoryEntry.of(new InterTransaction(transaction.id(), sender, wallets.get(transaction.recipientWalletId()),
+                            transaction.type(), transaction.amount(), transaction.timestamp()))
+                    : HistoryEntry.of(new IntraTransaction(transaction.id(), sender, transaction.type(), transaction.amount(), transaction.timestamp())));
+        }
+        entries.sort(sortSpec.getComparator());
+        return entries;
+    }
 
-        Comparator<Object> comparator = getComparatorObject(sortOrderList, sortByList);
+    private static boolean isAfterArchive(HistoryEntry entry, LocalDateTime archiveHorizon) {
+        if (archiveHorizon == null) {
+            return true;
+        }
+        LocalDateTime timestamp = entry.transaction() instanceof IntraTransaction intra
+                ? intra.getTimestamp() : ((InterTransaction) entry.transaction()).getTimestamp();
+        return !timestamp.isBefore(archiveHorizon);
+    }
 
-        allTransactions.sort(comparator);
-        return allTransactions;
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     private void validateSortParameters(List<String> sortByList, List<String> sortOrderList, List<String> transactionTypeList) {
@@ -189,53 +394,4 @@ public class TransactionService {
             }
         }
     }
-
-    private String getTransactionType(Object transaction) {
-        if (transaction instanceof IntraTransaction) {
-            return ((IntraTransaction) transaction).getType().name();
-        } else {
-            return ((InterTransaction) transaction).getType().name();
-        }
-    }
-
-    private Comparator<Object> getComparatorObject(List<String> sortOrderList, List<String> sortByList) {
-        Comparator<Object> comparator = (transaction1, transaction2) -> {
-            int comparisonResult = 0;
-            for (int i = 0; i < sortByList.size(); i++) {
-                String sortByField = sortByList.get(i);
-                boolean isDesc = (sortOrderList.size() > i && "DESC".equalsIgnoreCase(sortOrderList.get(i)));
-
-                if (sortByField.equalsIgnoreCase("timestamp")) {
-                    comparisonResult = compareByTimestamp(transaction1, transaction2);
-                } else if (sortByField.equalsIgnoreCase("amount")) {
-                    comparisonResult = compareByAmount(transaction1, transaction2);
-                }
-                if (comparisonResult != 0) {
-                    return isDesc ? -comparisonResult : comparisonResult;
-                }
-            }
-            return comparisonResult;
-        };
-        return comparator;
-    }
-
-    private int compareByTimestamp(Object transaction1, Object transaction2) {
-        LocalDateTime timestamp1 = getTransactionValue(transaction1, IntraTransaction::getTimestamp, InterTransaction::getTimestamp);
-        LocalDateTime timestamp2 = getTransactionValue(transaction2, IntraTransaction::getTimestamp, InterTransaction::getTimestamp);
-        return timestamp1.compareTo(timestamp2);
-    }
-
-    private int compareByAmount(Object transaction1, Object transaction2) {
-        Double amount1 = getTransactionValue(transaction1, IntraTransaction::getAmount, InterTransaction::getAmount);
-        Double amount2 = getTransactionValue(transaction2, IntraTransaction::getAmount, InterTransaction::getAmount);
-        return amount1.compareTo(amount2);
-    }
-
-    private <T> T getTransactionValue(Object transaction, Function<IntraTransaction, T> intraMapper, Function<InterTransaction, T> interMapper) {
-        if (transaction instanceof IntraTransaction) {
-            return intraMapper.apply((IntraTransaction) transaction);
-        } else {
-            return interMapper.apply((InterTransaction) transaction);
-        }
-    }
 }
\ No newline at end of file
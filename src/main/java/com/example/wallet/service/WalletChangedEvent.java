@@ -0,0 +1,6 @@
+package com.example.wallet.service;
+
+import com.example.wallet.Enums.TransactionType;
+
+public record WalletChangedEvent(Long walletId, Double balance, TransactionType type, Double balanceChange, Long counterpartyWalletId) {
+}
@@ -0,0 +1,59 @@
+package com.example.wallet.web;
+
+import com.example.wallet.Exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    private static final long SHED_RETRY_AFTER_SECONDS = 1;
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final PoolSaturationShedder shedder;
+    private final Map<RequestClass, Counter> rateLimited = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> shed = new EnumMap<>(RequestClass.class);
+
+    public AdmissionControlInterceptor(TokenBucketRateLimiter rateLimiter, PoolSaturationShedder shedder, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.shedder = shedder;
+        for (RequestClass requestClass : RequestClass.values()) {
+            rateLimited.put(requestClass, rejectionCounter(meterRegistry, requestClass, "rate_limit"));
+            shed.put(requestClass, rejectionCounter(meterRegistry, requestClass, "shed"));
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, RequestClass requestClass, String reason) {
+        return Counter.builder("wallet.admission.rejected")
+                .tag("class", requestClass.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestClass requestClass = RequestClass.of(request);
+        if (shedder.shouldShed(requestClass)) {
+            shed.get(requestClass).increment();
+            throw new RateLimitExceededException("Database is saturated, please retry", SHED_RETRY_AFTER_SECONDS);
+        }
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request), requestClass);
+        if (waitNanos > 0) {
+            rateLimited.get(requestClass).increment();
+            throw new RateLimitExceededException("Rate limit exceeded", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        return true;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.wallet.web;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.function.Supplier;
+
+public class PoolSaturationShedder {
+    private final HikariDataSource dataSource;
+    private final Supplier<RateLimitPolicy> policy;
+
+    public PoolSaturationShedder(HikariDataSource dataSource, Supplier<RateLimitPolicy> policy) {
+        this.dataSource = dataSource;
+        this.policy = policy;
+    }
+
+    public boolean shouldShed(RequestClass requestClass) {
+        if (requestClass == RequestClass.WRITE) {
+            return false;
+        }
+        double utilization = getUtilization();
+        RateLimitPolicy current = policy.get();
+        return requestClass == RequestClass.HISTORY
+                ? utilization >= current.historyShedUtilization()
+                : utilization >= current.readShedUtilization();
+    }
+
+    public double getUtilization() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        int maximumPoolSize = dataSource.getMaximumPoolSize();
+        if (pool == null || maximumPoolSize <= 0) {
+            return 0.0;
+        }
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection()) / maximumPoolSize;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.wallet.web;
+
+import com.example.wallet.metrics.RequestQueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestNanos;
+    private final long maxStatements;
+    private final double sampleRate;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, long slowRequestMillis, long maxStatements, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+        this.maxStatements = maxStatements;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStats stats = new RequestQueryStats();
+        RequestQueryStats previous = RequestQueryStats.bind(stats);
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.restore(previous);
+            record(request, response, stats, System.nanoTime() - startedAt);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestQueryStats stats, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "unmapped";
+        long statements = stats.getStatementCount();
+        long databaseNanos = stats.getDatabaseNanos();
+
+        DistributionSummary.builder("wallet.http.statements")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+        Timer.builder("wallet.http.database.time")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(databaseNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos >= slowRequestNanos || statements > maxStatements) {
+            log.warn("{} {} -> {} took {} ms with {} statements ({} ms in database)", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), statements, TimeUnit.NANOSECONDS.toMillis(databaseNanos));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("{} {} -> {} took {} ms with {} statements ({} ms in database)", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), statements, TimeUnit.NANOSECONDS.toMillis(databaseNanos));
+        }
+    }
+}
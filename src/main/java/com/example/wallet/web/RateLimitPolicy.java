@@ -0,0 +1,43 @@
+package com.example.wallet.web;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+public record RateLimitPolicy(Map<RequestClass, BucketLimit> limits, double historyShedUtilization, double readShedUtilization) {
+
+    public record BucketLimit(int burst, double perSecond) {
+        public BucketLimit {
+            if (burst < 1 || perSecond <= 0) {
+                throw new IllegalArgumentException("Rate limits need a burst of at least 1 and a positive rate");
+            }
+        }
+    }
+
+    public RateLimitPolicy {
+        limits = Map.copyOf(limits);
+        for (RequestClass requestClass : RequestClass.values()) {
+            if (!limits.containsKey(requestClass)) {
+                throw new IllegalArgumentException("Missing rate limit for " + requestClass);
+            }
+        }
+    }
+
+    public BucketLimit limit(RequestClass requestClass) {
+        return limits.get(requestClass);
+    }
+
+    public RateLimitPolicy withOverrides(Properties properties) {
+        Map<RequestClass, BucketLimit> overridden = new EnumMap<>(RequestClass.class);
+        for (RequestClass requestClass : RequestClass.values()) {
+            String prefix = requestClass.name().toLowerCase() + ".";
+            BucketLimit current = limit(requestClass);
+            overridden.put(requestClass, new BucketLimit(
+                    Integer.parseInt(properties.getProperty(prefix + "burst", String.valueOf(current.burst())).trim()),
+                    Double.parseDouble(properties.getProperty(prefix + "per-second", String.valueOf(current.perSecond())).trim())));
+        }
+        return new RateLimitPolicy(overridden,
+                Double.parseDouble(properties.getProperty("shed.history-utilization", String.valueOf(historyShedUtilization)).trim()),
+                Double.parseDouble(properties.getProperty("shed.read-utilization", String.valueOf(readShedUtilization)).trim()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.wallet.web;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+
+public class RateLimitPolicyFile {
+    private final Path path;
+    private FileTime loadedModifiedTime;
+
+    public RateLimitPolicyFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized RateLimitPolicy load(RateLimitPolicy defaults) {
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            }
+            loadedModifiedTime = modifiedTime;
+            return defaults.withOverrides(properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read rate limits from " + path, e);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate limit in " + path + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized boolean isModified() {
+        try {
+            return loadedModifiedTime == null || !Files.getLastModifiedTime(path).equals(loadedModifiedTime);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read rate limits from " + path, e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.wallet.web;
+
+import com.example.wallet.datasource.ReadYourWritesTracker;
+import com.example.wallet.datasource.ReplicaRoutingContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    private static final String PREVIOUS_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".PREVIOUS";
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesInterceptor(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long walletId = walletId(request);
+        if (walletId == null) {
+            return true;
+        }
+        if (RequestClass.of(request) == RequestClass.WRITE) {
+            tracker.markWritten(walletId);
+        }
+        if (tracker.isSticky(walletId)) {
+            request.setAttribute(PREVIOUS_ATTRIBUTE, new Object[]{ReplicaRoutingContext.requirePrimary()});
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        restore(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long walletId = walletId(request);
+        if (walletId != null && RequestClass.of(request) == RequestClass.WRITE) {
+            tracker.markWritten(walletId);
+        }
+        restore(request);
+    }
+
+    private void restore(HttpServletRequest request) {
+        if (request.getAttribute(PREVIOUS_ATTRIBUTE) instanceof Object[] previous) {
+            request.removeAttribute(PREVIOUS_ATTRIBUTE);
+            ReplicaRoutingContext.restore((Boolean) previous[0]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long walletId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("walletId") == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(variables.get("walletId"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.wallet.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public enum RequestClass {
+    WRITE,
+    READ,
+    HISTORY;
+
+    public static RequestClass of(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return WRITE;
+        }
+        return request.getRequestURI().endsWith("/transactions") ? HISTORY : READ;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.wallet.web;
+
+import com.example.wallet.events.WalletUpdateSink;
+import com.example.wallet.service.WalletChangedEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+public class SseWalletUpdateSink implements WalletUpdateSink {
+    private final SseEmitter emitter;
+
+    public SseWalletUpdateSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(WalletChangedEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .name(event.type().name().toLowerCase())
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.wallet.web;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class TokenBucketRateLimiter {
+    private final ConcurrentHashMap<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private volatile RateLimitPolicy policy;
+
+    public TokenBucketRateLimiter(RateLimitPolicy policy) {
+        this(policy, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(RateLimitPolicy policy, LongSupplier nanoClock) {
+        this.policy = policy;
+        this.nanoClock = nanoClock;
+    }
+
+    public long tryAcquire(String username, RequestClass requestClass) {
+        RateLimitPolicy.BucketLimit limit = policy.limit(requestClass);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.perSecond());
+        long tolerance = interval * (limit.burst() - 1);
+        AtomicLong theoreticalArrival = buckets.computeIfAbsent(new BucketKey(username, requestClass), key -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrival.get();
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            if (start - now > tolerance) {
+                return start - now - tolerance;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(theoreticalArrival -> theoreticalArrival.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    public RateLimitPolicy getPolicy() {
+        return policy;
+    }
+
+    public void updatePolicy(RateLimitPolicy policy) {
+        this.policy = policy;
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    private record BucketKey(String username, RequestClass requestClass) {}
+}
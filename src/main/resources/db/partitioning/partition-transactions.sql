@@ -0,0 +1,61 @@
+-- Converts intra_transactions and inter_transactions into tables range-partitioned by month on "timestamp".
+-- Run once against the primary while the application is stopped. Existing rows stay in place: each old
+-- table is attached as a single partition covering everything before the current month, and monthly
+-- partitions from the current month onwards are created here and then maintained by PartitionManager
+-- (wallet.partitions.enabled=true).
+
+BEGIN;
+
+DO $$
+DECLARE
+    current_month date := date_trunc('month', now())::date;
+BEGIN
+    -- intra_transactions
+    ALTER TABLE intra_transactions RENAME TO intra_transactions_legacy;
+    ALTER TABLE intra_transactions_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    ALTER TABLE intra_transactions_legacy ALTER COLUMN "timestamp" SET NOT NULL;
+    CREATE SEQUENCE intra_transactions_id_seq AS bigint;
+    PERFORM setval('intra_transactions_id_seq', COALESCE((SELECT max(id) FROM intra_transactions_legacy), 0) + 1, false);
+
+    CREATE TABLE intra_transactions (
+        id          bigint       NOT NULL DEFAULT nextval('intra_transactions_id_seq'),
+        wallet_id   bigint       NOT NULL REFERENCES wallets (id),
+        type        varchar(255),
+        amount      double precision,
+        "timestamp" timestamp(6) NOT NULL,
+        PRIMARY KEY (id, "timestamp")
+    ) PARTITION BY RANGE ("timestamp");
+    ALTER SEQUENCE intra_transactions_id_seq OWNED BY intra_transactions.id;
+    CREATE INDEX idx_intra_transactions_wallet_id_timestamp ON intra_transactions (wallet_id, "timestamp");
+
+    EXECUTE format('ALTER TABLE intra_transactions ATTACH PARTITION intra_transactions_legacy FOR VALUES FROM (MINVALUE) TO (%L)', current_month);
+    EXECUTE format('CREATE TABLE intra_transactions_%s PARTITION OF intra_transactions FOR VALUES FROM (%L) TO (%L)',
+                   to_char(current_month, '"p"YYYY_MM'), current_month, current_month + interval '1 month');
+
+    -- inter_transactions
+    ALTER TABLE inter_transactions RENAME TO inter_transactions_legacy;
+    ALTER TABLE inter_transactions_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    ALTER TABLE inter_transactions_legacy ALTER COLUMN "timestamp" SET NOT NULL;
+    CREATE SEQUENCE inter_transactions_id_seq AS bigint;
+    PERFORM setval('inter_transactions_id_seq', COALESCE((SELECT max(id) FROM inter_transactions_legacy), 0) + 1, false);
+
+    CREATE TABLE inter_transactions (
+        id                  bigint       NOT NULL DEFAULT nextval('inter_transactions_id_seq'),
+        sender_wallet_id    bigint       NOT NULL REFERENCES wallets (id),
+        recipient_wallet_id bigint       NOT NULL REFERENCES wallets (id),
+        type                varchar(255),
+        amount              double precision,
+        "timestamp"         timestamp(6) NOT NULL,
+        PRIMARY KEY (id, "timestamp")
+    ) PARTITION BY RANGE ("timestamp");
+    ALTER SEQUENCE inter_transactions_id_seq OWNED BY inter_transactions.id;
+    CREATE INDEX idx_inter_transactions_sender_wallet_id_timestamp ON inter_transactions (sender_wallet_id, "timestamp");
+    CREATE INDEX idx_inter_transactions_recipient_wallet_id_timestamp ON inter_transactions (recipient_wallet_id, "timestamp");
+
+    EXECUTE format('ALTER TABLE inter_transactions ATTACH PARTITION inter_transactions_legacy FOR VALUES FROM (MINVALUE) TO (%L)', current_month);
+    EXECUTE format('CREATE TABLE inter_transactions_%s PARTITION OF inter_transactions FOR VALUES FROM (%L) TO (%L)',
+                   to_char(current_month, '"p"YYYY_MM'), current_month, current_month + interval '1 month');
+END
+$$;
+
+COMMIT;
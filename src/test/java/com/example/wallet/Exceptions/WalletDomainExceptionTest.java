@@ -0,0 +1,41 @@
+package com.example.wallet.Exceptions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletDomainExceptionTest {
+
+    @Test
+    void testExpectedRejectionHasNoStackTrace() {
+        InsufficientFundsException exception = new InsufficientFundsException("Insufficient funds");
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("Insufficient funds", exception.getMessage());
+    }
+
+    @Test
+    void testExpectedRejectionIgnoresSuppressedExceptions() {
+        UserNotAuthorizedException exception = new UserNotAuthorizedException("Access denied: User is not authorized");
+
+        exception.addSuppressed(new IllegalStateException("ignored"));
+
+        assertEquals(0, exception.getSuppressed().length);
+    }
+
+    @Test
+    void testUnexpectedFailureKeepsStackTrace() {
+        ServerUnavailableException exception = new ServerUnavailableException("Server is unavailable");
+
+        assertTrue(exception.getStackTrace().length > 0);
+        assertFalse(exception instanceof ExpectedRejectionException);
+    }
+
+    @Test
+    void testBusinessRejectionsAreExpectedRejections() {
+        assertInstanceOf(ExpectedRejectionException.class, new DepositAmountMustBePositiveException("Deposit amount must be positive"));
+        assertInstanceOf(ExpectedRejectionException.class, new WithdrawAmountMustBePositiveException("Withdrawal amount must be positive"));
+        assertInstanceOf(ExpectedRejectionException.class, new UserNotFoundException("User not found"));
+        assertInstanceOf(ExpectedRejectionException.class, new ServerBusyException("Too many concurrent requests"));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.wallet.archive;
+
+import com.example.wallet.Enums.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveSegmentTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 9, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 10, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private List<ArchivedTransaction> rows(int wallets, int perWallet) {
+        List<ArchivedTransaction> rows = new ArrayList<>();
+        long id = 1;
+        for (long walletId = 1; walletId <= wallets; walletId++) {
+            for (int i = 0; i < perWallet; i++) {
+                LocalDateTime timestamp = FROM.plusMinutes(walletId * 7 + i * 60L).plusNanos(123_456_000L);
+                if (i % 3 == 0) {
+                    rows.add(ArchivedTransaction.inter(walletId, id++, timestamp, TransactionType.TRANSFER, 25.5, walletId, walletId + 1000));
+                } else {
+                    rows.add(ArchivedTransaction.intra(walletId, id++, timestamp, i % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL, i + 0.25));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private ArchiveSegment write(Path path, List<ArchivedTransaction> rows, int blockRows) throws Exception {
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(path, FROM, TO, blockRows)) {
+            for (ArchivedTransaction row : rows) {
+                writer.write(row);
+            }
+            return writer.commit();
+        }
+    }
+
+    @Test
+    void testReadsBackEveryWalletThroughSparseIndex() throws Exception {
+        List<ArchivedTransaction> rows = rows(50, 20);
+
+        try (ArchiveSegment segment = write(directory.resolve("transactions-2025-09.wca"), rows, 64)) {
+            assertEquals(1000, segment.getRowCount());
+            assertEquals(16, segment.getBlockCount());
+            assertEquals(FROM, segment.getFrom());
+            assertEquals(TO, segment.getTo());
+            for (long walletId = 1; walletId <= 50; walletId++) {
+                long expectedWallet = walletId;
+                List<ArchivedTransaction> read = new ArrayList<>();
+                segment.read(walletId, Long.MIN_VALUE, Long.MAX_VALUE, read);
+                assertEquals(rows.stream().filter(row -> row.walletId() == expectedWallet).toList(), read);
+            }
+            List<ArchivedTransaction> missing = new ArrayList<>();
+            assertEquals(0, segment.read(51, Long.MIN_VALUE, Long.MAX_VALUE, missing));
+            assertEquals(0, segment.read(0, Long.MIN_VALUE, Long.MAX_VALUE, missing));
+        }
+    }
+
+    @Test
+    void testReadsOnlyRowsInsideTimeRange() throws Exception {
+        List<ArchivedTransaction> rows = rows(5, 20);
+        LocalDateTime from = FROM.plusHours(5);
+        LocalDateTime to = FROM.plusHours(10);
+
+        try (ArchiveSegment segment = write(directory.resolve("transactions-2025-09.wca"), rows, 4)) {
+            List<ArchivedTransaction> read = new ArrayList<>();
+            segment.read(2L, ArchiveFormat.toMicros(from), ArchiveFormat.toMicros(to), read);
+            assertEquals(rows.stream()
+                    .filter(row -> row.walletId() == 2L && !row.timestamp().isBefore(from) && row.timestamp().isBefore(to))
+                    .toList(), read);
+            assertEquals(5, read.size());
+            assertEquals(0, segment.read(2L, ArchiveFormat.toMicros(TO), Long.MAX_VALUE, new ArrayList<>()));
+        }
+    }
+
+    @Test
+    void testCompressesBelowFixedWidthRows() throws Exception {
+        try (ArchiveSegment segment = write(directory.resolve("transactions-2025-09.wca"), rows(200, 50), 4096)) {
+            assertTrue(segment.getRawBytes() > 3 * segment.getFileBytes(),
+                    "expected at least 3x compression but got " + segment.getRawBytes() + " / " + segment.getFileBytes());
+        }
+    }
+
+    @Test
+    void testRejectsUnsortedOrOutOfRangeRows() throws Exception {
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(directory.resolve("bad.wca"), FROM, TO, 64)) {
+            writer.write(ArchivedTransaction.intra(2L, 1L, FROM.plusDays(1), TransactionType.DEPOSIT, 1.0));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.write(ArchivedTransaction.intra(1L, 2L, FROM.plusDays(2), TransactionType.DEPOSIT, 1.0)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.write(ArchivedTransaction.intra(3L, 3L, TO, TransactionType.DEPOSIT, 1.0)));
+        }
+        assertFalse(Files.exists(directory.resolve("bad.wca")));
+        assertFalse(Files.exists(directory.resolve("bad.wca.tmp")));
+    }
+
+    @Test
+    void testClosedSegmentStaysReadableUntilReadersRelease() throws Exception {
+        List<ArchivedTransaction> rows = rows(5, 4);
+        ArchiveSegment segment = write(directory.resolve("transactions-2025-09.wca"), rows, 8);
+
+        assertTrue(segment.acquire());
+        segment.close();
+        segment.close();
+
+        assertEquals(4, segment.read(3L, Long.MIN_VALUE, Long.MAX_VALUE, new ArrayList<>()));
+        segment.release();
+        assertFalse(segment.acquire());
+        assertThrows(ClosedChannelException.class, () -> segment.read(3L, Long.MIN_VALUE, Long.MAX_VALUE, new ArrayList<>()));
+    }
+
+    @Test
+    void testReplacingSegmentKeepsServingReads() throws Exception {
+        TransactionArchive archive = new TransactionArchive(directory.toString(), new SimpleMeterRegistry());
+        try {
+            Path path = directory.resolve("transactions-2025-09.wca");
+            ArchiveSegment replaced = write(path, rows(5, 4), 8);
+            archive.add(replaced);
+            assertTrue(replaced.acquire());
+
+            archive.add(write(path, rows(5, 6), 8));
+
+            assertEquals(6, archive.read(3L, null, null).size());
+            assertEquals(4, replaced.read(3L, Long.MIN_VALUE, Long.MAX_VALUE, new ArrayList<>()));
+            replaced.release();
+            assertFalse(replaced.acquire());
+        } finally {
+            archive.close();
+        }
+    }
+
+    @Test
+    void testArchiveLoadsSegmentsAndReportsHorizon() throws Exception {
+        write(directory.resolve("transactions-2025-09.wca"), rows(5, 4), 8).close();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        TransactionArchive archive = new TransactionArchive(directory.toString(), meterRegistry);
+        try {
+            assertEquals(TO, archive.getHorizon());
+            assertEquals(4, archive.read(3L, null, null).size());
+            assertEquals(1, meterRegistry.get("wallet.archive.read").timer().count());
+            assertTrue(meterRegistry.get("wallet.archive.compression.ratio").gauge().value() > 1.0);
+        } finally {
+            archive.close();
+        }
+        assertNull(new TransactionArchive(directory.resolve("missing").toString(), new SimpleMeterRegistry()).getHorizon());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.wallet.archive;
+
+import com.example.wallet.Enums.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TransactionArchiverTest {
+    private static final LocalDateTime AUGUST = LocalDateTime.of(2025, 8, 1, 0, 0);
+    private static final LocalDateTime SEPTEMBER = LocalDateTime.of(2025, 9, 1, 0, 0);
+    private static final LocalDateTime OCTOBER = LocalDateTime.of(2025, 10, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionArchive archive;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        archive = new TransactionArchive(directory.toString(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.close();
+    }
+
+    private TransactionArchiver archiver() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+        return new TransactionArchiver(jdbcTemplate, new TransactionTemplate(transactionManager), archive, 12, 16, meterRegistry, clock);
+    }
+
+    private ResultSet row(ArchivedTransaction transaction) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(transaction.walletId());
+        when(resultSet.getLong(2)).thenReturn(transaction.id());
+        when(resultSet.getBoolean(3)).thenReturn(transaction.inter());
+        when(resultSet.getTimestamp(4)).thenReturn(Timestamp.valueOf(transaction.timestamp()));
+        when(resultSet.getString(5)).thenReturn(transaction.type().name());
+        when(resultSet.getDouble(6)).thenReturn(transaction.amount());
+        when(resultSet.getLong(7)).thenReturn(transaction.senderWalletId());
+        when(resultSet.getLong(8)).thenReturn(transaction.recipientWalletId());
+        return resultSet;
+    }
+
+    private void rowsFor(LocalDateTime from, ArchivedTransaction... transactions) throws SQLException {
+        List<ResultSet> resultSets = new ArrayList<>();
+        for (ArchivedTransaction transaction : transactions) {
+            resultSets.add(row(transaction));
+        }
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet resultSet : resultSets) {
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(Timestamp.valueOf(from)), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testArchivesWholeMonthsOlderThanRetention() throws SQLException {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class), any(), any()))
+                .thenReturn(Timestamp.valueOf(AUGUST.plusDays(14)));
+        rowsFor(AUGUST,
+                ArchivedTransaction.intra(1L, 10L, AUGUST.plusDays(14), TransactionType.DEPOSIT, 100.0),
+                ArchivedTransaction.inter(1L, 11L, AUGUST.plusDays(20), TransactionType.TRANSFER, 40.0, 1L, 2L),
+                ArchivedTransaction.inter(2L, 11L, AUGUST.plusDays(20), TransactionType.TRANSFER, 40.0, 1L, 2L));
+
+        int months = archiver().archive();
+
+        assertEquals(2, months);
+        assertEquals(OCTOBER, archive.getHorizon());
+        assertTrue(Files.exists(directory.resolve("transactions-2025-08.wca")));
+        assertTrue(Files.exists(directory.resolve("transactions-2025-09.wca")));
+        assertEquals(2, archive.read(1L, null, null).size());
+        assertEquals(List.of(11L), archive.read(2L, null, null).stream().map(ArchivedTransaction::id).toList());
+        verify(jdbcTemplate).update(contains("intra_transactions"), eq(Timestamp.valueOf(AUGUST)), eq(Timestamp.valueOf(SEPTEMBER)));
+        verify(jdbcTemplate).update(contains("inter_transactions"), eq(Timestamp.valueOf(SEPTEMBER)), eq(Timestamp.valueOf(OCTOBER)));
+        assertEquals(3, meterRegistry.get("wallet.archive.archived").counter().count());
+    }
+
+    @Test
+    void testFailedDeleteKeepsPublishedSegmentAndRetriesDelete() throws SQLException {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class), any(), any())).thenReturn(Timestamp.valueOf(SEPTEMBER));
+        rowsFor(SEPTEMBER, ArchivedTransaction.intra(1L, 10L, SEPTEMBER.plusDays(1), TransactionType.DEPOSIT, 100.0));
+        when(jdbcTemplate.update(contains("intra_transactions"), any(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        TransactionArchiver archiver = archiver();
+
+        assertEquals(0, archiver.archive());
+
+        assertEquals(OCTOBER, archive.getHorizon());
+        assertEquals(List.of(10L), archive.read(1L, null, null).stream().map(ArchivedTransaction::id).toList());
+        verify(transactionManager).rollback(any());
+
+        assertEquals(0, archiver.archive());
+
+        verify(jdbcTemplate, times(2)).update(contains("intra_transactions"), any(Timestamp.class), eq(Timestamp.valueOf(OCTOBER)));
+        verify(jdbcTemplate).update(contains("inter_transactions"), any(Timestamp.class), eq(Timestamp.valueOf(OCTOBER)));
+    }
+
+    @Test
+    void testResumesFromHorizonAndDeletesLeftoverRowsOnce() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class), any(), any())).thenReturn(Timestamp.valueOf(AUGUST));
+        TransactionArchiver archiver = archiver();
+        archiver.archive();
+        reset(jdbcTemplate);
+
+        TransactionArchiver restarted = archiver();
+        assertEquals(0, restarted.archive());
+        assertEquals(0, restarted.archive());
+
+        verify(jdbcTemplate, times(1)).update(contains("intra_transactions"), any(Timestamp.class), eq(Timestamp.valueOf(OCTOBER)));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Timestamp.class), any(), any());
+    }
+}
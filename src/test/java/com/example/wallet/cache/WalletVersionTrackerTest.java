@@ -0,0 +1,118 @@
+package com.example.wallet.cache;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.service.WalletChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletVersionTrackerTest {
+
+    private WalletVersionTracker walletVersionTracker;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        walletVersionTracker = new WalletVersionTracker();
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testReadBalanceLoadsOnceWhenMissing() {
+        assertEquals(50.0, walletVersionTracker.readBalance(1L, this::load));
+        assertEquals(50.0, walletVersionTracker.readBalance(1L, this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(0L, walletVersionTracker.currentVersion(1L));
+    }
+
+    @Test
+    void testCommittedWriteIsWrittenThrough() {
+        walletVersionTracker.onWalletChanged(changed(1L, 120.0));
+
+        assertEquals(1L, walletVersionTracker.currentVersion(1L));
+        assertEquals(120.0, walletVersionTracker.readBalance(1L, this::load));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void testVersionIsBumpedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        walletVersionTracker.onWalletChanged(changed(1L, 120.0));
+
+        assertEquals(0L, walletVersionTracker.currentVersion(1L));
+        assertEquals(50.0, walletVersionTracker.readBalance(1L, this::load));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(1L, walletVersionTracker.currentVersion(1L));
+        assertEquals(120.0, walletVersionTracker.readBalance(1L, this::load));
+    }
+
+    @Test
+    void testRolledBackWriteKeepsCachedBalance() {
+        walletVersionTracker.readBalance(1L, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+        walletVersionTracker.onWalletChanged(changed(1L, 120.0));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(0L, walletVersionTracker.currentVersion(1L));
+        assertEquals(50.0, walletVersionTracker.readBalance(1L, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testConcurrentWritersFallBackToDatabase() {
+        TransactionSynchronizationManager.initSynchronization();
+        walletVersionTracker.onWalletChanged(changed(1L, 120.0));
+        walletVersionTracker.onWalletChanged(changed(1L, 80.0));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(2L, walletVersionTracker.currentVersion(1L));
+        assertEquals(50.0, walletVersionTracker.readBalance(1L, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testDatabaseReadIsDiscardedWhenCommitLandsDuringLoad() {
+        double balance = walletVersionTracker.readBalance(1L, walletId -> {
+            walletVersionTracker.onWalletChanged(changed(walletId, 120.0));
+            return 50.0;
+        });
+
+        assertEquals(50.0, balance);
+        assertEquals(120.0, walletVersionTracker.readBalance(1L, this::load));
+        assertEquals(0, loads.get());
+    }
+
+    private static WalletChangedEvent changed(Long walletId, double balance) {
+        return new WalletChangedEvent(walletId, balance, TransactionType.DEPOSIT, balance, null);
+    }
+
+    private Double load(long walletId) {
+        loads.incrementAndGet();
+        return 50.0;
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
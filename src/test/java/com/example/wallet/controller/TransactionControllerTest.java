@@ -1,33 +1,56 @@
 package com.example.wallet.controller;
 
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.Enums.QueuedTransactionStatus;
 import com.example.wallet.Enums.TransactionType;
 import com.example.wallet.Exceptions.*;
+import com.example.wallet.cache.TransactionHistoryCache;
+import com.example.wallet.cache.WalletVersionTracker;
 import com.example.wallet.dto.TransactionDto;
+import com.example.wallet.hold.HoldTransferService;
+import com.example.wallet.metrics.TransactionMetrics;
 import com.example.wallet.model.InterTransaction;
 import com.example.wallet.model.IntraTransaction;
+import com.example.wallet.model.QueuedTransaction;
 import com.example.wallet.model.Wallet;
+import com.example.wallet.queue.TransactionQueue;
+import com.example.wallet.repository.QueuedTransactionRepository;
+import com.example.wallet.service.HistoryFilter;
+import com.example.wallet.service.TransactionDispatcher;
 import com.example.wallet.service.TransactionService;
+import com.example.wallet.service.WalletChangedEvent;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class TransactionControllerTest {
@@ -35,19 +58,33 @@ class TransactionControllerTest {
     private Long userId;
     private Long walletId;
 
-    @InjectMocks
     private TransactionController transactionController;
+    private WalletVersionTracker walletVersionTracker;
 
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionQueue transactionQueue;
+
+    @Mock
+    private HoldTransferService holdTransferService;
+
+    @Mock
+    private QueuedTransactionRepository queuedTransactionRepository;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(transactionController).setControllerAdvice(new GlobalExceptionHandler()).build();
+        walletVersionTracker = new WalletVersionTracker();
+        TransactionHistoryCache transactionHistoryCache = new TransactionHistoryCache(transactionService, walletVersionTracker,
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), 100);
+        transactionController = new TransactionController(transactionService, transactionHistoryCache, transactionQueue,
+                new TransactionDispatcher(transactionService, holdTransferService, queuedTransactionRepository, new TransactionTemplate()));
+        mockMvc = MockMvcBuilders.standaloneSetup(transactionController).setControllerAdvice(new GlobalExceptionHandler(new TransactionMetrics(new SimpleMeterRegistry()))).build();
         objectMapper = new ObjectMapper();
         userId = 1L;
         walletId = 2L;
@@ -303,6 +340,23 @@ class TransactionControllerTest {
                 verify(transactionService, times(1)).createTransaction(userId, senderWalletId, recipientWalletId, amount, "transfer");
             }
 
+            @Test
+            void testTransferGoesThroughHoldsWhenEnabled() throws Exception {
+                Long senderWalletId = 1L;
+                Long recipientWalletId = 2L;
+                Double amount = 30.0;
+                when(holdTransferService.isEnabled()).thenReturn(true);
+                String jsonRequestBody = objectMapper.writeValueAsString(new TransactionDto("transfer", recipientWalletId, amount));
+
+                mockMvc.perform(MockMvcRequestBuilders.post("/users/{userId}/wallets/{senderWalletId}/transactions", userId, senderWalletId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(jsonRequestBody))
+                        .andExpect(status().isOk());
+
+                verify(holdTransferService, times(1)).transfer(userId, senderWalletId, recipientWalletId, amount);
+                verify(transactionService, never()).createTransaction(any(), any(), any(), any(), any());
+            }
+
             @Test
             void testTransferWhenTransactionTypeIsNull() throws Exception {
                 Long senderWalletId = 1L;
@@ -477,7 +531,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 10.0));
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, null, null, null)).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, null, HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId))
                     .andExpect(status().isOk())
@@ -486,29 +540,122 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, null, HistoryFilter.NONE);
+        }
+
+        @Test
+        void testGetTransactionsReturnsNotModifiedWhenETagMatches() throws Exception {
+            List<Object> transactions = new ArrayList<>();
+            transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 10.0));
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, null, HistoryFilter.NONE)).thenReturn(transactions);
+
+            String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+            verify(transactionService, times(2)).authorize(userId, walletId);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, null, HistoryFilter.NONE);
+        }
+
+        @Test
+        void testGetTransactionsReloadsAfterWalletChanged() throws Exception {
+            List<Object> transactions = new ArrayList<>();
+            transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 10.0));
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, null, HistoryFilter.NONE)).thenReturn(transactions);
+
+            String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            walletVersionTracker.onWalletChanged(new WalletChangedEvent(walletId, 10.0, TransactionType.DEPOSIT, 10.0, null));
+
+            String newETag = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            assertNotEquals(eTag, newETag);
+            verify(transactionService, times(2)).getAuthorizedTransactions(walletId, null, null, null, HistoryFilter.NONE);
+        }
+
+        @Test
+        void testGetTransactionsRendersNestedWalletsWithoutWalletState() throws Exception {
+            Wallet wallet = mock(Wallet.class);
+            when(wallet.getId()).thenReturn(walletId);
+            when(wallet.getCurrency()).thenReturn(CurrencyType.INR);
+            when(wallet.getBalance()).thenReturn(500.0);
+            Wallet counterparty = mock(Wallet.class);
+            when(counterparty.getId()).thenReturn(7L);
+            when(counterparty.getCurrency()).thenReturn(CurrencyType.USD);
+            when(counterparty.getBalance()).thenReturn(900.0);
+            List<Object> transactions = new ArrayList<>();
+            transactions.add(new IntraTransaction(wallet, TransactionType.DEPOSIT, 10.0));
+            transactions.add(new InterTransaction(wallet, counterparty, TransactionType.TRANSFER, 20.0));
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, null, HistoryFilter.NONE)).thenReturn(transactions);
+
+            String body = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            when(counterparty.getBalance()).thenReturn(0.0);
+            String cachedBody = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            List<Map<String, Object>> responseBody = objectMapper.readValue(body, new TypeReference<>() {
+            });
+            assertEquals(Map.of("id", walletId.intValue(), "currency", "INR"), responseBody.get(0).get("wallet"));
+            assertEquals(Map.of("id", walletId.intValue(), "currency", "INR"), responseBody.get(1).get("senderWallet"));
+            assertEquals(Map.of("id", 7, "currency", "USD"), responseBody.get(1).get("recipientWallet"));
+            assertFalse(body.contains("balance"));
+            assertEquals(body, cachedBody);
+        }
+
+        @Test
+        void testGetTransactionsWhenAuthorizationFailsBeforeETagCheck() throws Exception {
+            doThrow(new UserNotAuthorizedException("Access denied: User is not authorized")).when(transactionService).authorize(userId, walletId);
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId)
+                            .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                    .andExpect(status().isForbidden());
+
+            verify(transactionService, never()).getAuthorizedTransactions(any(), any(), any(), any(), any());
         }
 
         @Test
         void testGetTransactionsWhenUserNotFoundException() throws Exception {
-            when(transactionService.getTransactions(userId, walletId, null, null, null)).thenThrow(new UserNotFoundException("User not found"));
+            doThrow(new UserNotFoundException("User not found")).when(transactionService).authorize(userId, walletId);
 
             mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId))
                     .andExpect(status().isNotFound())
                     .andExpect(content().string("User not found"));
 
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, null);
+            verify(transactionService, never()).getAuthorizedTransactions(any(), any(), any(), any(), any());
         }
 
         @Test
         void testGetTransactionsWhenWalletDoesNotBelongToUserException() throws Exception {
-            when(transactionService.getTransactions(userId, walletId, null, null, null)).thenThrow(new UserNotAuthorizedException("Access denied: User is not authorized"));
+            doThrow(new UserNotAuthorizedException("Access denied: User is not authorized")).when(transactionService).authorize(userId, walletId);
 
             mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId))
                     .andExpect(status().isForbidden())
                     .andExpect(content().string("Access denied: User is not authorized"));
 
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, null);
+            verify(transactionService, never()).getAuthorizedTransactions(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        void testGetTransactionsAuthorizesOnce() throws Exception {
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, null, HistoryFilter.NONE)).thenReturn(new ArrayList<>());
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions", userId, walletId))
+                    .andExpect(status().isOk());
+
+            verify(transactionService, times(1)).authorize(userId, walletId);
+            verify(transactionService, never()).getTransactions(any(), any(), any(), any(), any(), any());
         }
 
         @Test
@@ -517,7 +664,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 10.0));
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, "timestamp", "ASC", null)).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "timestamp", "ASC", null, HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=timestamp&sortOrder=ASC", userId, walletId))
                     .andExpect(status().isOk())
@@ -526,7 +673,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "timestamp", "ASC", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "timestamp", "ASC", null, HistoryFilter.NONE);
         }
 
         @Test
@@ -535,7 +682,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 10.0));
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, "timestamp", "DESC", null)).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "timestamp", "DESC", null, HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=timestamp&sortOrder=DESC", userId, walletId))
                     .andExpect(status().isOk())
@@ -544,7 +691,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "timestamp", "DESC", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "timestamp", "DESC", null, HistoryFilter.NONE);
         }
 
         @Test
@@ -553,7 +700,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 10.0));
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 70.0));
 
-            when(transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT")).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, "DEPOSIT", HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?transactionType=DEPOSIT", userId, walletId))
                     .andExpect(status().isOk())
@@ -562,7 +709,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, "DEPOSIT");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, "DEPOSIT", HistoryFilter.NONE);
         }
 
         @Test
@@ -571,7 +718,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 10.0));
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 70.0));
 
-            when(transactionService.getTransactions(userId, walletId, null, null, "WITHDRAWAL")).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, "WITHDRAWAL", HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?transactionType=WITHDRAWAL", userId, walletId))
                     .andExpect(status().isOk())
@@ -580,7 +727,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, "WITHDRAWAL");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, "WITHDRAWAL", HistoryFilter.NONE);
         }
 
         @Test
@@ -589,7 +736,7 @@ class TransactionControllerTest {
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 10.0));
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 70.0));
 
-            when(transactionService.getTransactions(userId, walletId, null, null, "TRANSFER")).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, "TRANSFER", HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?transactionType=TRANSFER", userId, walletId))
                     .andExpect(status().isOk())
@@ -598,7 +745,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, "TRANSFER");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, "TRANSFER", HistoryFilter.NONE);
         }
 
         @Test
@@ -607,7 +754,7 @@ class TransactionControllerTest {
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 10.0));
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 70.0));
 
-            when(transactionService.getTransactions(userId, walletId, "timestamp", "ASC", "TRANSFER")).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "timestamp", "ASC", "TRANSFER", HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=timestamp&sortOrder=ASC&transactionType=TRANSFER", userId, walletId))
                     .andExpect(status().isOk())
@@ -616,7 +763,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "timestamp", "ASC", "TRANSFER");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "timestamp", "ASC", "TRANSFER", HistoryFilter.NONE);
         }
 
         @Test
@@ -625,7 +772,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 100.0));
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
 
-            when(transactionService.getTransactions(userId, walletId, "amount", "DESC", "DEPOSIT")).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "amount", "DESC", "DEPOSIT", HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=amount&sortOrder=DESC&transactionType=DEPOSIT", userId, walletId))
                     .andExpect(status().isOk())
@@ -634,7 +781,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "amount", "DESC", "DEPOSIT");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "amount", "DESC", "DEPOSIT", HistoryFilter.NONE);
         }
 
         @Test
@@ -643,7 +790,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, "amount", "DESC", null)).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "amount", "DESC", null, HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=amount&sortOrder=DESC", userId, walletId))
                     .andExpect(status().isOk())
@@ -652,7 +799,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "amount", "DESC", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "amount", "DESC", null, HistoryFilter.NONE);
         }
 
         @Test
@@ -661,7 +808,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, "amount,timestamp", "DESC,DESC", null)).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "amount,timestamp", "DESC,DESC", null, HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=amount,timestamp&sortOrder=DESC,DESC", userId, walletId))
                     .andExpect(status().isOk())
@@ -670,29 +817,29 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "amount,timestamp", "DESC,DESC", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "amount,timestamp", "DESC,DESC", null, HistoryFilter.NONE);
         }
 
         @Test
         void testGetTransactionsWhenSortByInvalidField() throws Exception {
-            when(transactionService.getTransactions(userId, walletId, "amounts", "DESC", null)).thenThrow(new IllegalArgumentException("Invalid sort field: amounts"));
+            when(transactionService.getAuthorizedTransactions(walletId, "amounts", "DESC", null, HistoryFilter.NONE)).thenThrow(new IllegalArgumentException("Invalid sort field: amounts"));
 
             mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=amounts&sortOrder=DESC", userId, walletId))
                     .andExpect(status().isBadRequest())
                     .andExpect(content().string("Bad request: Invalid sort field: amounts"));
 
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "amounts", "DESC", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "amounts", "DESC", null, HistoryFilter.NONE);
         }
 
         @Test
         void testGetTransactionsWhenSortOrderInvalid() throws Exception {
-            when(transactionService.getTransactions(userId, walletId, "amount", "DES", null)).thenThrow(new IllegalArgumentException("Invalid sort order: DES"));
+            when(transactionService.getAuthorizedTransactions(walletId, "amount", "DES", null, HistoryFilter.NONE)).thenThrow(new IllegalArgumentException("Invalid sort order: DES"));
 
             mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=amount&sortOrder=DES", userId, walletId))
                     .andExpect(status().isBadRequest())
                     .andExpect(content().string("Bad request: Invalid sort order: DES"));
 
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "amount", "DES", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "amount", "DES", null, HistoryFilter.NONE);
         }
 
         @Test
@@ -701,7 +848,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, "amount,timestamp", "DESC", null)).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "amount,timestamp", "DESC", null, HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=amount,timestamp&sortOrder=DESC", userId, walletId))
                     .andExpect(status().isOk())
@@ -710,18 +857,18 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "amount,timestamp", "DESC", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "amount,timestamp", "DESC", null, HistoryFilter.NONE);
         }
 
         @Test
         void testGetTransactionsWhenSortOrderLengthIsGreaterThanSortByLength() throws Exception {
-            when(transactionService.getTransactions(userId, walletId, "amount", "DESC,ASC", null)).thenThrow(new IllegalArgumentException("The number of sort fields must be greater than or equal to the number of sort orders"));
+            when(transactionService.getAuthorizedTransactions(walletId, "amount", "DESC,ASC", null, HistoryFilter.NONE)).thenThrow(new IllegalArgumentException("The number of sort fields must be greater than or equal to the number of sort orders"));
 
             mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=amount&sortOrder=DESC,ASC", userId, walletId))
                     .andExpect(status().isBadRequest())
                     .andExpect(content().string("Bad request: The number of sort fields must be greater than or equal to the number of sort orders"));
 
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "amount", "DESC,ASC", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "amount", "DESC,ASC", null, HistoryFilter.NONE);
         }
 
         @Test
@@ -730,7 +877,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, "AMOUNT", "DESC", null)).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "AMOUNT", "DESC", null, HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=AMOUNT&sortOrder=DESC", userId, walletId))
                     .andExpect(status().isOk())
@@ -739,7 +886,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "AMOUNT", "DESC", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "AMOUNT", "DESC", null, HistoryFilter.NONE);
         }
 
         @Test
@@ -748,7 +895,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, "amount", "desc", null)).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, "amount", "desc", null, HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?sortBy=amount&sortOrder=desc", userId, walletId))
                     .andExpect(status().isOk())
@@ -757,7 +904,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, "amount", "desc", null);
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, "amount", "desc", null, HistoryFilter.NONE);
         }
 
         @Test
@@ -769,7 +916,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT,TRANSFER")).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, "DEPOSIT,TRANSFER", HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?transactionType=DEPOSIT,TRANSFER", userId, walletId))
                     .andExpect(status().isOk())
@@ -778,7 +925,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, "DEPOSIT,TRANSFER");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, "DEPOSIT,TRANSFER", HistoryFilter.NONE);
 
         }
 
@@ -792,7 +939,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.WITHDRAWAL, 50.0));
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 100.0));
 
-            when(transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT,TRANSFER,WITHDRAWAL")).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, "DEPOSIT,TRANSFER,WITHDRAWAL", HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?transactionType=DEPOSIT,TRANSFER,WITHDRAWAL", userId, walletId))
                     .andExpect(status().isOk())
@@ -801,7 +948,7 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(transactions.size(), responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, "DEPOSIT,TRANSFER,WITHDRAWAL");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, "DEPOSIT,TRANSFER,WITHDRAWAL", HistoryFilter.NONE);
         }
 
         @Test
@@ -813,7 +960,7 @@ class TransactionControllerTest {
             transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
             transactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 150.0));
 
-            when(transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT,Transfer")).thenReturn(transactions);
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, "DEPOSIT,Transfer", HistoryFilter.NONE)).thenReturn(transactions);
 
             MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?transactionType=DEPOSIT,Transfer", userId, walletId))
                     .andExpect(status().isOk())
@@ -822,20 +969,146 @@ class TransactionControllerTest {
             List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
             });
             assertEquals(3, responseBody.size());
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, "DEPOSIT,Transfer");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, "DEPOSIT,Transfer", HistoryFilter.NONE);
         }
 
         @Test
         void testGetTransactionsWithTransactionTypeInvalid() throws Exception {
             Long walletId = 2L;
 
-            when(transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT,Transf")).thenThrow(new IllegalArgumentException("Invalid transaction type: Transf"));
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, "DEPOSIT,Transf", HistoryFilter.NONE)).thenThrow(new IllegalArgumentException("Invalid transaction type: Transf"));
 
             mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?transactionType=DEPOSIT,Transf", userId, walletId))
                     .andExpect(status().isBadRequest())
                     .andExpect(content().string("Bad request: Invalid transaction type: Transf"));
 
-            verify(transactionService, times(1)).getTransactions(userId, walletId, null, null, "DEPOSIT,Transf");
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, "DEPOSIT,Transf", HistoryFilter.NONE);
+        }
+
+        @Test
+        void testGetTransactionsWithDateAndAmountFilter() throws Exception {
+            HistoryFilter filter = new HistoryFilter(LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0), 50.0, null);
+            List<Object> transactions = new ArrayList<>();
+            transactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 100.0));
+
+            when(transactionService.getAuthorizedTransactions(walletId, null, null, null, filter)).thenReturn(transactions);
+
+            MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?from=2024-01-01T00:00:00&to=2024-02-01T00:00:00&minAmount=50", userId, walletId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            List<Object> responseBody = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            assertEquals(1, responseBody.size());
+            verify(transactionService, times(1)).getAuthorizedTransactions(walletId, null, null, null, filter);
+        }
+
+        @Test
+        void testGetTransactionsWithInvalidDateRange() throws Exception {
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?from=2024-02-01T00:00:00&to=2024-01-01T00:00:00", userId, walletId))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Bad request: from must be before to"));
+
+            verify(transactionService, never()).getAuthorizedTransactions(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        void testGetTransactionsWithMalformedDate() throws Exception {
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions?from=yesterday", userId, walletId))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Bad request: Invalid value for parameter from"));
+
+            verify(transactionService, never()).getAuthorizedTransactions(any(), any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    class GetBalanceTest {
+
+        @Test
+        void testGetBalanceWhenSuccessful() throws Exception {
+            when(transactionService.getBalance(userId, walletId)).thenReturn(42.5);
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/balance", userId, walletId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("{\"walletId\":2,\"balance\":42.5}"));
+
+            verify(transactionService, times(1)).getBalance(userId, walletId);
+        }
+
+        @Test
+        void testGetBalanceWhenWalletDoesNotBelongToUser() throws Exception {
+            when(transactionService.getBalance(userId, walletId)).thenThrow(new UserNotAuthorizedException("Access denied: User is not authorized"));
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/balance", userId, walletId))
+                    .andExpect(status().isForbidden())
+                    .andExpect(content().string("Access denied: User is not authorized"));
+        }
+    }
+
+    @Nested
+    class AsyncTransactionTest {
+
+        private QueuedTransaction queued(QueuedTransactionStatus status) throws Exception {
+            QueuedTransaction queued = new QueuedTransaction(userId, walletId, null, 100.0, "deposit", "user");
+            Field id = QueuedTransaction.class.getDeclaredField("id");
+            id.setAccessible(true);
+            id.set(queued, UUID.fromString("00000000-0000-0000-0000-000000000001"));
+            if (status == QueuedTransactionStatus.FAILED) {
+                queued.fail("INSUFFICIENT_FUNDS");
+            }
+            return queued;
+        }
+
+        @Test
+        void testCreateTransactionWithRespondAsyncIsQueued() throws Exception {
+            TransactionDto request = new TransactionDto("DEPOSIT", 100.0);
+            when(transactionQueue.enqueue(userId, walletId, null, 100.0, "deposit")).thenReturn(queued(QueuedTransactionStatus.PENDING));
+
+            mockMvc.perform(MockMvcRequestBuilders.post("/users/{userId}/wallets/{walletId}/transactions", userId, walletId)
+                            .header("Prefer", "respond-async")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string(HttpHeaders.LOCATION,
+                            "http://localhost/users/1/wallets/2/transactions/queued/00000000-0000-0000-0000-000000000001"))
+                    .andExpect(content().json("{\"transactionId\":\"00000000-0000-0000-0000-000000000001\",\"status\":\"PENDING\"}"));
+
+            verify(transactionService, never()).createTransaction(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        void testCreateTransactionWithRespondAsyncWhenQueueIsFull() throws Exception {
+            TransactionDto request = new TransactionDto("DEPOSIT", 100.0);
+            when(transactionQueue.enqueue(userId, walletId, null, 100.0, "deposit")).thenThrow(new ServerBusyException("Transaction queue is full, please retry"));
+
+            mockMvc.perform(MockMvcRequestBuilders.post("/users/{userId}/wallets/{walletId}/transactions", userId, walletId)
+                            .header("Prefer", "respond-async")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        }
+
+        @Test
+        void testGetQueuedTransactionStatus() throws Exception {
+            UUID transactionId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+            when(transactionQueue.getStatus(userId, walletId, transactionId)).thenReturn(queued(QueuedTransactionStatus.FAILED));
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions/queued/{transactionId}", userId, walletId, transactionId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("{\"status\":\"FAILED\",\"failureCode\":\"INSUFFICIENT_FUNDS\"}"))
+                    .andExpect(jsonPath("$.failureReason").doesNotExist());
+        }
+
+        @Test
+        void testGetQueuedTransactionWhenNotFound() throws Exception {
+            UUID transactionId = UUID.randomUUID();
+            when(transactionQueue.getStatus(userId, walletId, transactionId)).thenThrow(new QueuedTransactionNotFoundException("Transaction not found"));
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/transactions/queued/{transactionId}", userId, walletId, transactionId))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().string("Transaction not found"));
         }
     }
 }
@@ -3,9 +3,11 @@ package com.example.wallet.controller;
 import com.example.wallet.Enums.CurrencyType;
 import com.example.wallet.Exceptions.*;
 import com.example.wallet.dto.RegistrationDto;
+import com.example.wallet.metrics.TransactionMetrics;
 import com.example.wallet.model.User;
 import com.example.wallet.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -37,7 +39,7 @@ class UserControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(userController).setControllerAdvice(new GlobalExceptionHandler()).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(userController).setControllerAdvice(new GlobalExceptionHandler(new TransactionMetrics(new SimpleMeterRegistry()))).build();
         objectMapper = new ObjectMapper();
     }
 
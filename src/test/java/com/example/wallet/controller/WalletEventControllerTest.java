@@ -0,0 +1,95 @@
+package com.example.wallet.controller;
+
+import com.example.wallet.Exceptions.GlobalExceptionHandler;
+import com.example.wallet.Exceptions.UserNotAuthorizedException;
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.events.WalletEventBus;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.service.TransactionService;
+import com.example.wallet.service.WalletChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WalletEventControllerTest {
+
+    private final Long userId = 1L;
+    private final Long walletId = 1L;
+
+    @Mock
+    private TransactionService transactionService;
+
+    private WalletEventBus walletEventBus;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        walletEventBus = new WalletEventBus(new SimpleMeterRegistry(), 16, 1, 60000);
+        WalletEventController walletEventController = new WalletEventController(transactionService, walletEventBus, 60000);
+        mockMvc = MockMvcBuilders.standaloneSetup(walletEventController)
+                .setControllerAdvice(new GlobalExceptionHandler(new TransactionMetrics(new SimpleMeterRegistry()))).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        walletEventBus.close();
+    }
+
+    @Test
+    void testStreamEventsDeliversWalletChanges() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/events", userId, walletId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        walletEventBus.publish(new WalletChangedEvent(walletId, 150.0, TransactionType.DEPOSIT, 50.0, null));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.getResponse().getContentAsString().contains("event:deposit") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:deposit"));
+        assertTrue(body.contains("\"balance\":150.0"));
+        assertEquals(1, walletEventBus.getSubscriberCount());
+        verify(transactionService).authorize(userId, walletId);
+    }
+
+    @Test
+    void testStreamEventsWhenUserNotAuthorized() throws Exception {
+        doThrow(new UserNotAuthorizedException("Access denied: User is not authorized")).when(transactionService).authorize(userId, walletId);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/events", userId, walletId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+
+        assertEquals(0, walletEventBus.getSubscriberCount());
+    }
+
+    @Test
+    void testStreamEventsWhenSubscriberLimitReached() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/events", userId, walletId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}/wallets/{walletId}/events", userId, walletId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.wallet.conversion;
+
+import com.example.wallet.Enums.CurrencyType;
+import conversion.Conversion.ConvertRequest;
+import conversion.ConversionServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversionServerTest {
+
+    @TempDir
+    Path directory;
+
+    private ConversionServer server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private ConversionServiceGrpc.ConversionServiceBlockingStub startInProcess(ConversionRatesFile ratesFile) {
+        String name = "conversion-test-" + System.nanoTime();
+        server = new ConversionServer(ratesFile).startInProcess(name);
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        return ConversionServiceGrpc.newBlockingStub(channel);
+    }
+
+    private ConvertRequest request(String from, String to, double amount) {
+        return ConvertRequest.newBuilder().setFromCurrency(from).setToCurrency(to).setAmount(amount).build();
+    }
+
+    @Test
+    void testConvertWithDefaultRates() {
+        ConversionServiceGrpc.ConversionServiceBlockingStub stub = startInProcess(null);
+
+        double convertedAmount = stub.convert(request("USD", "INR", 10.0)).getConvertedAmount();
+
+        assertEquals(840.0, convertedAmount, 1e-9);
+    }
+
+    @Test
+    void testConvertRejectsUnknownCurrency() {
+        ConversionServiceGrpc.ConversionServiceBlockingStub stub = startInProcess(null);
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () ->
+                stub.convert(request("USD", "XYZ", 10.0)));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+    }
+
+    @Test
+    void testReloadRatesWhenFileChanges() throws IOException {
+        Path ratesPath = directory.resolve("rates.properties");
+        Files.writeString(ratesPath, "USD=80.0\n");
+        ConversionServiceGrpc.ConversionServiceBlockingStub stub = startInProcess(new ConversionRatesFile(ratesPath));
+        assertEquals(800.0, stub.convert(request("USD", "INR", 10.0)).getConvertedAmount(), 1e-9);
+
+        Files.writeString(ratesPath, "USD=90.0\n");
+        Files.setLastModifiedTime(ratesPath, FileTime.from(Instant.now().plusSeconds(10)));
+        server.reloadRates();
+
+        assertEquals(900.0, stub.convert(request("USD", "INR", 10.0)).getConvertedAmount(), 1e-9);
+    }
+
+    @Test
+    void testReloadKeepsPreviousRatesWhenFileIsInvalid() throws IOException {
+        Path ratesPath = directory.resolve("rates.properties");
+        Files.writeString(ratesPath, "EUR=100.0\n");
+        startInProcess(new ConversionRatesFile(ratesPath));
+
+        Files.writeString(ratesPath, "EUR=-1\n");
+        Files.setLastModifiedTime(ratesPath, FileTime.from(Instant.now().plusSeconds(10)));
+        server.reloadRates();
+
+        assertEquals(100.0, server.getService().getRates().rate(CurrencyType.EUR, CurrencyType.INR), 1e-9);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.wallet.conversion;
+
+import com.example.wallet.Enums.CurrencyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrossRateMatrixTest {
+
+    @Test
+    void testDefaultsMatchCurrencyTypeConversion() {
+        CrossRateMatrix matrix = CrossRateMatrix.defaults();
+
+        for (CurrencyType from : CurrencyType.values()) {
+            for (CurrencyType to : CurrencyType.values()) {
+                double expected = to.fromBaseCurrency(from.toBaseCurrency(250.0));
+                assertEquals(expected, matrix.convert(from, to, 250.0), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testSameCurrencyRateIsExactlyOne() {
+        CrossRateMatrix matrix = CrossRateMatrix.defaults();
+
+        assertEquals(1.0, matrix.rate(CurrencyType.JPY, CurrencyType.JPY));
+        assertEquals(123.45, matrix.convert(CurrencyType.USD, CurrencyType.USD, 123.45));
+    }
+
+    @Test
+    void testFromBaseRatesRejectsNonPositiveRate() {
+        double[] baseRates = new double[CurrencyType.values().length];
+        Arrays.fill(baseRates, 1.0);
+        baseRates[CurrencyType.EUR.ordinal()] = 0.0;
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                CrossRateMatrix.fromBaseRates(baseRates));
+
+        assertEquals("Invalid base rate for EUR: 0.0", exception.getMessage());
+    }
+
+    @Test
+    void testFromBaseRatesRejectsWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> CrossRateMatrix.fromBaseRates(new double[] {1.0}));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.wallet.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesTrackerTest {
+
+    @Test
+    void testStickinessExpiresAfterWindow() {
+        long[] now = {0};
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(5000, () -> now[0]);
+        tracker.markWritten(7L);
+
+        now[0] = 4_000_000_000L;
+        assertTrue(tracker.isSticky(7L));
+        assertFalse(tracker.isSticky(8L));
+
+        now[0] = 5_000_000_000L;
+        assertFalse(tracker.isSticky(7L));
+        assertEquals(1, tracker.evictExpired());
+    }
+
+    @Test
+    void testRepeatedWriteExtendsWindow() {
+        long[] now = {0};
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(5000, () -> now[0]);
+        tracker.markWritten(7L);
+
+        now[0] = 4_000_000_000L;
+        tracker.markWritten(7L);
+        now[0] = 8_000_000_000L;
+
+        assertTrue(tracker.isSticky(7L));
+        assertEquals(0, tracker.evictExpired());
+    }
+}
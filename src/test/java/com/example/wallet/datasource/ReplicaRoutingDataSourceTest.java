@@ -0,0 +1,207 @@
+package com.example.wallet.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstReplicaConnection;
+
+    @Mock
+    private Connection secondReplicaConnection;
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private LazyConnectionDataSourceProxy dataSource;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(
+                new ReplicaRoutingDataSource.Replica("replica-0", firstReplica),
+                new ReplicaRoutingDataSource.Replica("replica-1", secondReplica)));
+        routingDataSource.getReplicas().forEach(replica -> replica.markHealthy(0));
+        dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.afterPropertiesSet();
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.restore(null);
+    }
+
+    private Connection routedConnection(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            return ((ConnectionProxy) connection).getTargetConnection();
+        });
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        assertSame(primaryConnection, routedConnection(false));
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        Connection connection = routedConnection(true);
+
+        assertTrue(connection == firstReplicaConnection || connection == secondReplicaConnection);
+    }
+
+    @Test
+    void testReadOnlyTransactionsRoundRobinAcrossReplicas() {
+        Connection first = routedConnection(true);
+        Connection second = routedConnection(true);
+
+        assertNotSame(first, second);
+        assertNotSame(primaryConnection, first);
+        assertNotSame(primaryConnection, second);
+    }
+
+    @Test
+    void testRequirePrimaryOverridesReadOnly() {
+        Boolean previous = ReplicaRoutingContext.requirePrimary();
+        try {
+            assertSame(primaryConnection, routedConnection(true));
+        } finally {
+            ReplicaRoutingContext.restore(previous);
+        }
+
+        assertNotSame(primaryConnection, routedConnection(true));
+    }
+
+    @Test
+    void testPropagateCarriesPrimaryRequirementToWorkerThread() throws InterruptedException {
+        Connection[] routed = new Connection[1];
+        Runnable task = () -> routed[0] = routedConnection(true);
+
+        Boolean previous = ReplicaRoutingContext.requirePrimary();
+        Runnable propagated;
+        try {
+            propagated = ReplicaRoutingContext.propagate(task);
+        } finally {
+            ReplicaRoutingContext.restore(previous);
+        }
+        Thread worker = new Thread(propagated);
+        worker.start();
+        worker.join();
+
+        assertSame(primaryConnection, routed[0]);
+    }
+
+    @Test
+    void testFallsBackToPrimaryWhenNoReplicaIsHealthy() {
+        routingDataSource.getReplicas().forEach(replica -> replica.markUnhealthy(5000));
+
+        assertSame(primaryConnection, routedConnection(true));
+    }
+
+    @Test
+    void testSkipsUnhealthyReplica() {
+        routingDataSource.getReplicas().get(0).markUnhealthy(5000);
+
+        assertSame(secondReplicaConnection, routedConnection(true));
+        assertSame(secondReplicaConnection, routedConnection(true));
+    }
+
+    @Nested
+    class HealthCheckTest {
+        private ReplicaHealthChecker healthChecker;
+        private SimpleMeterRegistry meterRegistry;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            healthChecker = new ReplicaHealthChecker(routingDataSource.getReplicas(), "SELECT lag", 1000, 1, meterRegistry);
+        }
+
+        private void replicaLag(Connection connection, long lagMillis) throws SQLException {
+            Statement statement = mock(Statement.class);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(connection.createStatement()).thenReturn(statement);
+            when(statement.executeQuery(anyString())).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true);
+            when(resultSet.getLong(1)).thenReturn(lagMillis);
+        }
+
+        @Test
+        void testLaggingReplicaIsTakenOutOfRotation() throws SQLException {
+            replicaLag(firstReplicaConnection, 5000);
+            replicaLag(secondReplicaConnection, 10);
+
+            healthChecker.check();
+
+            assertFalse(routingDataSource.getReplicas().get(0).isHealthy());
+            assertTrue(routingDataSource.getReplicas().get(1).isHealthy());
+            assertEquals(5000, meterRegistry.get("wallet.replica.lag").tag("replica", "replica-0").gauge().value());
+            assertSame(secondReplicaConnection, routedConnection(true));
+        }
+
+        @Test
+        void testUnreachableReplicaIsTakenOutOfRotation() throws SQLException {
+            when(firstReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+            when(secondReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+            healthChecker.check();
+
+            assertEquals(0, meterRegistry.get("wallet.replica.healthy").tag("replica", "replica-1").gauge().value());
+            assertSame(primaryConnection, routedConnection(true));
+        }
+
+        @Test
+        void testRecoveredReplicaReturnsToRotation() throws SQLException {
+            routingDataSource.getReplicas().forEach(replica -> replica.markUnhealthy(5000));
+            replicaLag(firstReplicaConnection, 0);
+            replicaLag(secondReplicaConnection, 5000);
+
+            healthChecker.check();
+
+            assertSame(firstReplicaConnection, routedConnection(true));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.wallet.events;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.Exceptions.ServerBusyException;
+import com.example.wallet.service.WalletChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletEventBusTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WalletEventBus walletEventBus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        walletEventBus = new WalletEventBus(meterRegistry, 2, 3, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        walletEventBus.close();
+    }
+
+    @Test
+    void testPublishedEventIsDeliveredToWalletSubscribers() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        RecordingSink otherWalletSink = new RecordingSink();
+        walletEventBus.subscribe(1L, sink);
+        walletEventBus.subscribe(2L, otherWalletSink);
+
+        WalletChangedEvent event = deposit(1L, 100.0);
+        walletEventBus.publish(event);
+
+        assertEquals(event, sink.events.poll(5, TimeUnit.SECONDS));
+        assertNull(otherWalletSink.events.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testSlowSubscriberIsEvictedWhenBufferIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slowSink = new RecordingSink(release);
+        WalletSubscription subscription = walletEventBus.subscribe(1L, slowSink);
+
+        for (int i = 0; i < 10; i++) {
+            walletEventBus.publish(deposit(1L, i));
+        }
+        release.countDown();
+
+        assertTrue(subscription.isClosed());
+        assertTrue(slowSink.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, walletEventBus.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("wallet.events.evicted").counter().count());
+    }
+
+    @Test
+    void testSubscribeIsRejectedBeyondCapacity() {
+        for (int i = 0; i < 3; i++) {
+            walletEventBus.subscribe((long) i, new RecordingSink());
+        }
+
+        assertThrows(ServerBusyException.class, () -> walletEventBus.subscribe(9L, new RecordingSink()));
+        assertEquals(3, walletEventBus.getSubscriberCount());
+    }
+
+    @Test
+    void testClosedSubscriptionIsRemoved() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        WalletSubscription subscription = walletEventBus.subscribe(1L, sink);
+
+        subscription.close();
+        walletEventBus.publish(deposit(1L, 10.0));
+
+        assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, walletEventBus.getSubscriberCount());
+        assertTrue(sink.events.isEmpty());
+    }
+
+    private static WalletChangedEvent deposit(Long walletId, double amount) {
+        return new WalletChangedEvent(walletId, amount, TransactionType.DEPOSIT, amount, null);
+    }
+
+    private static class RecordingSink implements WalletUpdateSink {
+        private final BlockingQueue<WalletChangedEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingSink() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(WalletChangedEvent event) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
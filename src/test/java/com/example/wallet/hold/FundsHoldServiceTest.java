@@ -0,0 +1,144 @@
+package com.example.wallet.hold;
+
+import com.example.wallet.Enums.HoldStatus;
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.Exceptions.HoldNotActiveException;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.model.FundsHold;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.FundsHoldRepository;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.WalletChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class FundsHoldServiceTest {
+
+    @Mock
+    private FundsHoldRepository fundsHoldRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private InterTransactionRepository interTransactionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FundsHoldService fundsHoldService;
+    private final Long walletId = 1L;
+    private final Long recipientWalletId = 2L;
+    private final Long holdId = 7L;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        fundsHoldService = new FundsHoldService(fundsHoldRepository, walletRepository, interTransactionRepository, eventPublisher, 30000);
+        when(fundsHoldRepository.save(any(FundsHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fundsHoldRepository.findById(holdId))
+                .thenReturn(Optional.of(new FundsHold(walletId, recipientWalletId, 30.0, LocalDateTime.now().plusSeconds(30))));
+        when(walletRepository.getReferenceById(anyLong())).thenReturn(new Wallet());
+    }
+
+    @Nested
+    class ReserveTest {
+
+        @Test
+        void testReserveCreatesActiveHold() {
+            when(walletRepository.reserve(walletId, 30.0)).thenReturn(1);
+
+            FundsHold hold = fundsHoldService.reserve(walletId, recipientWalletId, 30.0);
+
+            assertEquals(HoldStatus.ACTIVE, hold.getStatus());
+            assertEquals(30.0, hold.getAmount());
+            assertTrue(hold.getExpiresAt().isAfter(LocalDateTime.now().plusSeconds(25)));
+        }
+
+        @Test
+        void testReserveWhenAvailableBalanceIsTooLow() {
+            when(walletRepository.reserve(walletId, 30.0)).thenReturn(0);
+
+            assertThrows(InsufficientFundsException.class, () -> fundsHoldService.reserve(walletId, recipientWalletId, 30.0));
+
+            verify(fundsHoldRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    class SettleTest {
+
+        @Test
+        void testSettleMovesHeldFundsToRecipient() {
+            when(fundsHoldRepository.close(holdId, HoldStatus.SETTLED)).thenReturn(1);
+            when(walletRepository.findBalanceById(walletId)).thenReturn(Optional.of(70.0));
+            when(walletRepository.findBalanceById(recipientWalletId)).thenReturn(Optional.of(0.36));
+
+            Double newBalance = fundsHoldService.settle(holdId, 0.36, () -> {});
+
+            assertEquals(70.0, newBalance);
+            verify(walletRepository).settle(walletId, 30.0);
+            verify(walletRepository).credit(recipientWalletId, 0.36);
+            verify(interTransactionRepository).save(any(InterTransaction.class));
+            verify(eventPublisher).publishEvent(new WalletChangedEvent(walletId, 70.0, TransactionType.TRANSFER, -30.0, recipientWalletId));
+            verify(eventPublisher).publishEvent(new WalletChangedEvent(recipientWalletId, 0.36, TransactionType.TRANSFER, 0.36, walletId));
+        }
+
+        @Test
+        void testSettleWhenHoldIsNoLongerActive() {
+            when(fundsHoldRepository.close(holdId, HoldStatus.SETTLED)).thenReturn(0);
+
+            assertThrows(HoldNotActiveException.class, () -> fundsHoldService.settle(holdId, 0.36, () -> {}));
+
+            verify(walletRepository, never()).settle(anyLong(), anyDouble());
+            verify(walletRepository, never()).credit(anyLong(), anyDouble());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    @Nested
+    class ReleaseTest {
+
+        @Test
+        void testReleaseReturnsHeldFundsOnce() {
+            when(fundsHoldRepository.close(holdId, HoldStatus.RELEASED)).thenReturn(1, 0);
+
+            assertTrue(fundsHoldService.release(holdId));
+            assertFalse(fundsHoldService.release(holdId));
+
+            verify(walletRepository, times(1)).release(walletId, 30.0);
+        }
+
+        @Test
+        void testSweeperExpiresOverdueHolds() {
+            when(fundsHoldRepository.findExpiredIds(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(holdId, 8L));
+            when(fundsHoldRepository.close(holdId, HoldStatus.EXPIRED)).thenReturn(1);
+            when(fundsHoldRepository.close(8L, HoldStatus.EXPIRED)).thenReturn(0);
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            FundsHoldSweeper sweeper = new FundsHoldSweeper(fundsHoldRepository, fundsHoldService, meterRegistry, 10);
+
+            assertEquals(1, sweeper.sweep());
+
+            verify(walletRepository, times(1)).release(walletId, 30.0);
+            assertEquals(1.0, meterRegistry.get("wallet.holds.expired").counter().count());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.wallet.hold;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.ServerUnavailableException;
+import com.example.wallet.Exceptions.UserNotAuthorizedException;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.model.FundsHold;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.CurrencyConversionService;
+import com.example.wallet.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class HoldTransferServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private FundsHoldService fundsHoldService;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private CurrencyConversionService currencyConversionService;
+
+    @Mock
+    private FundsHold hold;
+
+    private HoldTransferService holdTransferService;
+    private final Long userId = 10L;
+    private final Long senderWalletId = 1L;
+    private final Long recipientWalletId = 2L;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        holdTransferService = new HoldTransferService(transactionService, fundsHoldService, walletRepository, currencyConversionService,
+                new TransactionMetrics(new SimpleMeterRegistry()), true, false);
+        when(walletRepository.findCurrencyById(senderWalletId)).thenReturn(Optional.of(CurrencyType.INR));
+        when(walletRepository.findCurrencyById(recipientWalletId)).thenReturn(Optional.of(CurrencyType.USD));
+        when(hold.getId()).thenReturn(7L);
+        when(fundsHoldService.reserve(senderWalletId, recipientWalletId, 30.0)).thenReturn(hold);
+    }
+
+    @Test
+    void testTransferReservesBeforeConvertingAndSettles() {
+        when(currencyConversionService.convert("INR", "USD", 30.0)).thenReturn(0.36);
+        when(fundsHoldService.settle(eq(7L), eq(0.36), any(Runnable.class))).thenReturn(70.0);
+
+        assertEquals(70.0, holdTransferService.transfer(userId, senderWalletId, recipientWalletId, 30.0));
+
+        InOrder inOrder = inOrder(transactionService, fundsHoldService, currencyConversionService);
+        inOrder.verify(transactionService).authorize(userId, senderWalletId);
+        inOrder.verify(fundsHoldService).reserve(senderWalletId, recipientWalletId, 30.0);
+        inOrder.verify(currencyConversionService).convert("INR", "USD", 30.0);
+        inOrder.verify(fundsHoldService).settle(eq(7L), eq(0.36), any(Runnable.class));
+        verify(fundsHoldService, never()).release(any());
+    }
+
+    @Test
+    void testTransferReleasesHoldWhenConversionFails() {
+        when(currencyConversionService.convert("INR", "USD", 30.0)).thenThrow(new ServerUnavailableException("Currency conversion failed: Server is unavailable"));
+
+        assertThrows(ServerUnavailableException.class, () -> holdTransferService.transfer(userId, senderWalletId, recipientWalletId, 30.0));
+
+        verify(fundsHoldService).release(7L);
+        verify(fundsHoldService, never()).settle(any(), any(), any());
+    }
+
+    @Test
+    void testTransferWithInsufficientAvailableBalanceSkipsConversion() {
+        when(fundsHoldService.reserve(senderWalletId, recipientWalletId, 30.0)).thenThrow(new InsufficientFundsException("Insufficient funds for transfer"));
+
+        assertThrows(InsufficientFundsException.class, () -> holdTransferService.transfer(userId, senderWalletId, recipientWalletId, 30.0));
+
+        verifyNoInteractions(currencyConversionService);
+        verify(fundsHoldService, never()).release(any());
+    }
+
+    @Test
+    void testTransferWhenUserNotAuthorized() {
+        doThrow(new UserNotAuthorizedException("Access denied: User is not authorized")).when(transactionService).authorize(userId, senderWalletId);
+
+        assertThrows(UserNotAuthorizedException.class, () -> holdTransferService.transfer(userId, senderWalletId, recipientWalletId, 30.0));
+
+        verifyNoInteractions(fundsHoldService);
+    }
+
+    @Test
+    void testHoldsAreDisabledInLedgerMode() {
+        HoldTransferService ledgerMode = new HoldTransferService(transactionService, fundsHoldService, walletRepository, currencyConversionService,
+                new TransactionMetrics(new SimpleMeterRegistry()), true, true);
+
+        assertFalse(ledgerMode.isEnabled());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.model.InterTransaction;
+import com.example.wallet.model.IntraTransaction;
+import com.example.wallet.model.LedgerCheckpoint;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.LedgerCheckpointRepository;
+import com.example.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class LedgerJournalFlusherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private WalletRepository walletRepository;
+    @Mock
+    private IntraTransactionRepository intraTransactionRepository;
+    @Mock
+    private InterTransactionRepository interTransactionRepository;
+    @Mock
+    private LedgerCheckpointRepository checkpointRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LedgerJournal journal;
+    private LedgerJournalFlusher flusher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(walletRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(new Wallet(CurrencyType.INR)));
+        when(checkpointRepository.findById(any())).thenReturn(Optional.empty());
+        journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 2, 16);
+        flusher = new LedgerJournalFlusher(journal, walletRepository, intraTransactionRepository, interTransactionRepository,
+                checkpointRepository, new TransactionTemplate(transactionManager), eventPublisher, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void testFlushWritesCheckpointAndMarksJournal() {
+        journal.segment(0).append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+        journal.segment(0).append(TransactionType.WITHDRAWAL, 1L, 40.0, 60.0);
+
+        flusher.flush();
+
+        ArgumentCaptor<LedgerCheckpoint> checkpoint = ArgumentCaptor.forClass(LedgerCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(0, checkpoint.getValue().getSegment());
+        assertEquals(journal.segment(0).getJournalId(), checkpoint.getValue().getJournalId());
+        assertEquals(2L, checkpoint.getValue().getFlushedSequence());
+        verify(intraTransactionRepository, times(2)).save(any(IntraTransaction.class));
+        assertEquals(2L, journal.segment(0).getFlushedSequence());
+    }
+
+    @Test
+    void testFlushSkipsEntriesAlreadyCommitted() {
+        journal.segment(0).append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+        journal.segment(0).append(TransactionType.WITHDRAWAL, 1L, 40.0, 60.0);
+        LedgerCheckpoint committed = new LedgerCheckpoint(0, journal.segment(0).getJournalId());
+        committed.advance(journal.segment(0).getJournalId(), 1L);
+        when(checkpointRepository.findById(0)).thenReturn(Optional.of(committed));
+
+        flusher.flush();
+
+        ArgumentCaptor<IntraTransaction> saved = ArgumentCaptor.forClass(IntraTransaction.class);
+        verify(intraTransactionRepository).save(saved.capture());
+        assertEquals(TransactionType.WITHDRAWAL, saved.getValue().getType());
+        assertEquals(2L, committed.getFlushedSequence());
+        assertEquals(2L, journal.segment(0).getFlushedSequence());
+    }
+
+    @Test
+    void testFlushIgnoresCheckpointOfEarlierJournal() {
+        journal.segment(0).append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+        LedgerCheckpoint stale = new LedgerCheckpoint(0, journal.segment(0).getJournalId() + 1);
+        stale.advance(journal.segment(0).getJournalId() + 1, 50L);
+        when(checkpointRepository.findById(0)).thenReturn(Optional.of(stale));
+
+        flusher.flush();
+
+        verify(intraTransactionRepository).save(any(IntraTransaction.class));
+        assertEquals(journal.segment(0).getJournalId(), stale.getJournalId());
+        assertEquals(1L, stale.getFlushedSequence());
+    }
+
+    @Test
+    void testFlushLeavesJournalUnmarkedWhenCommitFails() {
+        journal.segment(0).append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        assertThrows(TransactionSystemException.class, () -> flusher.flush());
+
+        assertEquals(0L, journal.segment(0).getFlushedSequence());
+    }
+
+    @Test
+    void testFlushWaitsForDebitLegOfCrossSegmentTransfer() {
+        journal.segment(1).append(TransactionType.TRANSFER, JournalEntry.Leg.CREDIT, 2L, 1L, 40.0, 40.0, 40.0, 60.0, 0, 1L);
+
+        flusher.flush();
+
+        verifyNoInteractions(interTransactionRepository);
+        assertEquals(0L, journal.segment(1).getFlushedSequence());
+
+        journal.segment(0).append(TransactionType.TRANSFER, JournalEntry.Leg.DEBIT, 1L, 2L, 40.0, 40.0, 60.0, 40.0, 1, 1L);
+        flusher.flush();
+
+        verify(interTransactionRepository).save(any(InterTransaction.class));
+        verify(checkpointRepository, times(2)).save(any(LedgerCheckpoint.class));
+        assertEquals(1L, journal.segment(0).getFlushedSequence());
+        assertEquals(1L, journal.segment(1).getFlushedSequence());
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.Exceptions.ServerUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAppendAndReadUnflushedEntries() {
+        try (LedgerJournal journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 1, 16)) {
+            JournalSegment segment = journal.segment(0);
+            segment.append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+            segment.append(TransactionType.TRANSFER, 1L, 2L, 40.0, 3360.0, 60.0, 3360.0);
+
+            List<JournalEntry> entries = segment.readUnflushed(10);
+
+            assertEquals(2, entries.size());
+            assertEquals(TransactionType.DEPOSIT, entries.get(0).type());
+            assertEquals(100.0, entries.get(0).balance());
+            assertEquals(2L, entries.get(1).counterpartyWalletId());
+            assertEquals(3360.0, entries.get(1).counterpartyBalance());
+            assertTrue(entries.get(1).carriesCounterpartyBalance());
+        }
+    }
+
+    @Test
+    void testMarkFlushedHidesFlushedEntries() {
+        try (LedgerJournal journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 1, 16)) {
+            JournalSegment segment = journal.segment(0);
+            segment.append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+            long sequence = segment.append(TransactionType.WITHDRAWAL, 1L, 30.0, 70.0);
+            segment.append(TransactionType.DEPOSIT, 1L, 5.0, 75.0);
+
+            segment.markFlushed(sequence);
+
+            List<JournalEntry> entries = segment.readUnflushed(10);
+            assertEquals(1, entries.size());
+            assertEquals(75.0, entries.get(0).balance());
+        }
+    }
+
+    @Test
+    void testAppendWrapsAroundAfterEntriesAreFlushed() {
+        try (LedgerJournal journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 1, 2)) {
+            JournalSegment segment = journal.segment(0);
+            segment.append(TransactionType.DEPOSIT, 1L, 10.0, 10.0);
+            long sequence = segment.append(TransactionType.DEPOSIT, 1L, 10.0, 20.0);
+            segment.markFlushed(sequence);
+
+            segment.append(TransactionType.DEPOSIT, 1L, 10.0, 30.0);
+
+            assertEquals(3L, segment.getLastSequence());
+            assertEquals(30.0, segment.readUnflushed(10).get(0).balance());
+        }
+    }
+
+    @Test
+    void testAppendWhenJournalIsFull() {
+        try (LedgerJournal journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 1, 2)) {
+            JournalSegment segment = journal.segment(0);
+            segment.append(TransactionType.DEPOSIT, 1L, 10.0, 10.0);
+            segment.append(TransactionType.DEPOSIT, 1L, 10.0, 20.0);
+
+            assertThrows(ServerUnavailableException.class, () -> segment.append(TransactionType.DEPOSIT, 1L, 10.0, 30.0));
+        }
+    }
+
+    @Test
+    void testSegmentsAreIndependent() {
+        try (LedgerJournal journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 2, 16)) {
+            journal.segment(0).append(TransactionType.DEPOSIT, 1L, 10.0, 10.0);
+            journal.segment(1).append(TransactionType.DEPOSIT, 2L, 20.0, 20.0);
+            journal.segment(1).append(TransactionType.DEPOSIT, 2L, 5.0, 25.0);
+
+            assertEquals(List.of(1L, 2L), journal.getLastSequences());
+            assertEquals(3L, journal.getPendingEntries());
+            assertNotEquals(journal.segment(0).getJournalId(), journal.segment(1).getJournalId());
+        }
+    }
+
+    @Test
+    void testCrossSegmentTransferWritesLinkedCreditThenDebit() {
+        try (LedgerJournal journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 2, 16)) {
+            journal.appendTransfer(0, 1, 1L, 2L, 40.0, 3360.0, 60.0, 3360.0);
+
+            JournalEntry debit = journal.segment(0).readUnflushed(10).get(0);
+            JournalEntry credit = journal.segment(1).readUnflushed(10).get(0);
+
+            assertEquals(JournalEntry.Leg.DEBIT, debit.leg());
+            assertEquals(1L, debit.walletId());
+            assertEquals(60.0, debit.balance());
+            assertEquals(1, debit.linkSegment());
+            assertEquals(credit.sequence(), debit.linkSequence());
+            assertEquals(JournalEntry.Leg.CREDIT, credit.leg());
+            assertEquals(2L, credit.walletId());
+            assertEquals(3360.0, credit.amount());
+            assertEquals(3360.0, credit.balance());
+            assertEquals(0, credit.linkSegment());
+            assertEquals(debit.sequence(), credit.linkSequence());
+            assertTrue(journal.isComplete(credit));
+            assertFalse(debit.carriesCounterpartyBalance());
+        }
+    }
+
+    @Test
+    void testCrossSegmentTransferIsRejectedWhenSenderSegmentIsFull() {
+        try (LedgerJournal journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 2, 1)) {
+            journal.segment(0).append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+
+            assertThrows(ServerUnavailableException.class, () -> journal.appendTransfer(0, 1, 1L, 2L, 40.0, 40.0, 60.0, 40.0));
+            assertEquals(0L, journal.segment(1).getLastSequence());
+        }
+    }
+
+    @Test
+    void testReplayDiscardsCreditLegWithoutDebit() {
+        Path path = tempDir.resolve("ledger.journal");
+        try (LedgerJournal journal = new LedgerJournal(path, 2, 16)) {
+            journal.segment(1).append(TransactionType.DEPOSIT, 2L, 5.0, 5.0);
+            journal.segment(1).append(TransactionType.TRANSFER, JournalEntry.Leg.CREDIT, 2L, 1L, 40.0, 40.0, 45.0, 60.0, 0, 1L);
+        }
+
+        try (LedgerJournal journal = new LedgerJournal(path, 2, 16)) {
+            assertFalse(journal.isComplete(journal.segment(1).readUnflushed(10).get(1)));
+            List<JournalEntry> replayed = new ArrayList<>();
+            journal.replayUnflushed(replayed::add);
+
+            assertEquals(1, replayed.size());
+            assertEquals(5.0, replayed.get(0).balance());
+            assertEquals(1L, journal.segment(1).getLastSequence());
+        }
+    }
+
+    @Test
+    void testReopenRecoversFlushedSequenceAndPendingEntries() {
+        Path path = tempDir.resolve("ledger.journal");
+        long journalId;
+        try (LedgerJournal journal = new LedgerJournal(path, 1, 16)) {
+            JournalSegment segment = journal.segment(0);
+            segment.append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+            segment.append(TransactionType.DEPOSIT, 1L, 50.0, 150.0);
+            segment.markFlushed(1L);
+            journalId = segment.getJournalId();
+        }
+
+        try (LedgerJournal journal = new LedgerJournal(path, 1, 16)) {
+            JournalSegment segment = journal.segment(0);
+            assertEquals(journalId, segment.getJournalId());
+            assertEquals(1L, segment.getFlushedSequence());
+            assertEquals(2L, segment.getLastSequence());
+            assertEquals(150.0, segment.readUnflushed(10).get(0).balance());
+        }
+    }
+
+    @Test
+    void testReopenWithDifferentSegmentCountFailsWhenEntriesAreUnflushed() {
+        Path path = tempDir.resolve("ledger.journal");
+        try (LedgerJournal journal = new LedgerJournal(path, 2, 16)) {
+            journal.segment(0).append(TransactionType.DEPOSIT, 1L, 100.0, 100.0);
+        }
+
+        assertThrows(IllegalStateException.class, () -> new LedgerJournal(path, 1, 16));
+    }
+
+    @Test
+    void testSingleFileJournalFailsFast() throws Exception {
+        Path path = tempDir.resolve("ledger.journal");
+        Files.write(path, new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> new LedgerJournal(path, 1, 16));
+    }
+
+    @Test
+    void testBalancesAreDurableAfterProcessIsKilled() throws Exception {
+        Path path = tempDir.resolve("ledger.journal");
+        String javaBinary = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(javaBinary, "-cp", System.getProperty("java.class.path"),
+                CrashingWriter.class.getName(), path.toString())
+                .inheritIO()
+                .start();
+
+        assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+        assertEquals(137, process.exitValue());
+
+        try (LedgerJournal journal = new LedgerJournal(path, 4, 16)) {
+            StripedLedger ledger = new StripedLedger(4, journal, walletId -> {
+                throw new AssertionError("Wallet " + walletId + " should be recovered from the journal");
+            });
+            ledger.recover();
+
+            assertTrue(journal.getPendingEntries() >= 3L);
+            assertEquals(50.0, ledger.balance(1L));
+            assertEquals(20.0, ledger.balance(2L));
+        }
+    }
+
+    public static class CrashingWriter {
+        public static void main(String[] args) {
+            LedgerJournal journal = new LedgerJournal(Path.of(args[0]), 4, 16);
+            StripedLedger ledger = new StripedLedger(4, journal, walletId -> 0.0);
+            ledger.deposit(1L, 100.0);
+            ledger.withdraw(1L, 30.0);
+            ledger.transfer(1L, 2L, 20.0, 20.0);
+            Runtime.getRuntime().halt(137);
+        }
+    }
+}
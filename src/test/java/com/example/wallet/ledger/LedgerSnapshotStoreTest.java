@@ -0,0 +1,172 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class LedgerSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private WalletRepository walletRepository;
+    @Mock
+    private IntraTransactionRepository intraTransactionRepository;
+    @Mock
+    private InterTransactionRepository interTransactionRepository;
+
+    private LedgerJournal journal;
+    private LedgerSnapshotStore snapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 4, 1024);
+        snapshotStore = new LedgerSnapshotStore(tempDir.resolve("ledger.snapshot"), journal, walletRepository, intraTransactionRepository, interTransactionRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void testWriteAndReadSnapshot() {
+        StripedLedger ledger = new StripedLedger(4, journal, walletId -> 0.0);
+        for (long walletId = 1; walletId <= 500; walletId++) {
+            ledger.deposit(walletId, walletId * 2.0);
+        }
+
+        LedgerSnapshot written = snapshotStore.write(ledger);
+        LongDoubleMap balances = new LongDoubleMap(500);
+        LedgerSnapshot read = snapshotStore.read(balances::put);
+
+        assertEquals(500L, written.walletCount());
+        assertEquals(written, read);
+        assertEquals(4, read.highWaterMarks().size());
+        assertEquals(500L, read.highWaterMarks().stream().mapToLong(Long::longValue).sum());
+        assertEquals(1000.0, balances.get(500L, -1.0));
+    }
+
+    @Test
+    void testRestoreWithoutSnapshotIsNoOp() {
+        StripedLedger ledger = new StripedLedger(4, journal, walletId -> 7.0);
+
+        snapshotStore.restore(ledger);
+
+        assertEquals(7.0, ledger.balance(1L));
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    void testRestoreLoadsBalancesWithoutTouchingDatabase() {
+        StripedLedger ledger = new StripedLedger(4, journal, walletId -> 0.0);
+        ledger.deposit(1L, 100.0);
+        ledger.deposit(2L, 50.0);
+        snapshotStore.write(ledger);
+
+        StripedLedger restored = new StripedLedger(4, journal, walletId -> {
+            throw new AssertionError("Wallet " + walletId + " should come from the snapshot");
+        });
+        snapshotStore.restore(restored);
+
+        assertEquals(100.0, restored.balance(1L));
+        assertEquals(50.0, restored.balance(2L));
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    void testRestoreReloadsWalletsFlushedAfterSnapshot() {
+        Wallet wallet = spy(new Wallet(CurrencyType.INR));
+        wallet.setBalance(175.0);
+        when(wallet.getId()).thenReturn(1L);
+        when(intraTransactionRepository.findWalletIdsWithTransactionsSince(any(LocalDateTime.class))).thenReturn(List.of(1L));
+        when(interTransactionRepository.findSenderWalletIdsWithTransactionsSince(any(LocalDateTime.class))).thenReturn(List.of());
+        when(interTransactionRepository.findRecipientWalletIdsWithTransactionsSince(any(LocalDateTime.class))).thenReturn(List.of());
+        when(walletRepository.findAllById(Set.of(1L))).thenReturn(List.of(wallet));
+
+        StripedLedger ledger = new StripedLedger(4, journal, walletId -> 0.0);
+        ledger.deposit(1L, 100.0);
+        ledger.deposit(2L, 50.0);
+        snapshotStore.write(ledger);
+        ledger.deposit(1L, 75.0);
+        journal.markAllFlushed();
+
+        StripedLedger restored = new StripedLedger(4, journal, walletId -> 0.0);
+        snapshotStore.restore(restored);
+        restored.recover();
+
+        assertEquals(175.0, restored.balance(1L));
+        assertEquals(50.0, restored.balance(2L));
+    }
+
+    @Test
+    void testRestoreThenRecoverReplaysUnflushedEntries() {
+        StripedLedger ledger = new StripedLedger(4, journal, walletId -> 0.0);
+        ledger.deposit(1L, 100.0);
+        snapshotStore.write(ledger);
+        ledger.withdraw(1L, 40.0);
+
+        StripedLedger restored = new StripedLedger(4, journal, walletId -> 0.0);
+        snapshotStore.restore(restored);
+        restored.recover();
+
+        assertEquals(60.0, restored.balance(1L));
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    void testRestoreIgnoresSnapshotInEarlierFormat() throws Exception {
+        Path path = tempDir.resolve("ledger.snapshot");
+        ByteBuffer header = ByteBuffer.allocate(48).putInt(0x574C5331).putInt(1).putLong(1L).putLong(0L).putLong(1L)
+                .putLong(1L).putDouble(100.0);
+        Files.write(path, header.array());
+
+        StripedLedger ledger = new StripedLedger(4, journal, walletId -> 7.0);
+        snapshotStore.restore(ledger);
+
+        assertEquals(7.0, ledger.balance(1L));
+    }
+
+    @Test
+    void testSnapshotOfRunningPipeline() {
+        LedgerJournal pipelineJournal = new LedgerJournal(tempDir.resolve("pipeline.journal"), 3, 1024);
+        LedgerSnapshotStore pipelineSnapshotStore = new LedgerSnapshotStore(tempDir.resolve("pipeline.snapshot"), pipelineJournal,
+                walletRepository, intraTransactionRepository, interTransactionRepository);
+        ShardedLedgerPipeline pipeline = new ShardedLedgerPipeline(3, 16, 4, pipelineJournal, walletId -> 0.0);
+        pipeline.start();
+        try {
+            for (long walletId = 1; walletId <= 20; walletId++) {
+                pipeline.deposit(walletId, 10.0);
+            }
+
+            LedgerSnapshot snapshot = pipelineSnapshotStore.write(pipeline);
+
+            assertEquals(20L, snapshot.walletCount());
+            assertEquals(3, snapshot.highWaterMarks().size());
+        } finally {
+            pipeline.close();
+            pipelineJournal.close();
+        }
+    }
+}
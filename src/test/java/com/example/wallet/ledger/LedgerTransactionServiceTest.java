@@ -0,0 +1,137 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.UserNotAuthorizedException;
+import com.example.wallet.archive.TransactionArchive;
+import com.example.wallet.metrics.TransactionMetrics;
+import com.example.wallet.model.IntraTransaction;
+import com.example.wallet.model.User;
+import com.example.wallet.model.Wallet;
+import com.example.wallet.repository.InterTransactionRepository;
+import com.example.wallet.repository.IntraTransactionRepository;
+import com.example.wallet.repository.UserRepository;
+import com.example.wallet.repository.WalletRepository;
+import com.example.wallet.service.CurrencyConversionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LedgerTransactionServiceTest {
+
+    private Long userId;
+    private Long walletId;
+
+    @InjectMocks
+    private LedgerTransactionService ledgerTransactionService;
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private WalletRepository walletRepository;
+    @Mock
+    private IntraTransactionRepository intraTransactionRepository;
+    @Mock
+    private InterTransactionRepository interTransactionRepository;
+    @Mock
+    private CurrencyConversionService currencyConversionService;
+    @Mock
+    private LedgerEngine ledgerEngine;
+    @Mock
+    private TransactionArchive transactionArchive;
+    @Spy
+    private TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userId = 10L;
+        walletId = 1L;
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("testUser");
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        User user = new User("testUser", "password", CurrencyType.INR);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+    }
+
+    @Test
+    void testDepositIsAppliedToLedger() {
+        when(ledgerEngine.deposit(walletId, 100.0)).thenReturn(100.0);
+
+        Double newBalance = ledgerTransactionService.deposit(userId, walletId, 100.0);
+
+        assertEquals(100.0, newBalance);
+        verify(intraTransactionRepository, never()).save(any(IntraTransaction.class));
+        verify(walletRepository, never()).save(any(Wallet.class));
+    }
+
+    @Test
+    void testGetBalanceIsReadFromLedger() {
+        when(ledgerEngine.balance(walletId)).thenReturn(75.0);
+
+        Double balance = ledgerTransactionService.getBalance(userId, walletId);
+
+        assertEquals(75.0, balance);
+        verify(walletRepository, never()).findById(walletId);
+    }
+
+    @Test
+    void testWithdrawIsAppliedToLedger() {
+        when(ledgerEngine.withdraw(walletId, 40.0)).thenReturn(60.0);
+
+        Double newBalance = ledgerTransactionService.withdraw(userId, walletId, 40.0);
+
+        assertEquals(60.0, newBalance);
+    }
+
+    @Test
+    void testDepositWhenWalletDoesNotBelongToUser() {
+        assertThrows(UserNotAuthorizedException.class, () -> ledgerTransactionService.deposit(userId, 99L, 100.0));
+
+        verifyNoInteractions(ledgerEngine);
+    }
+
+    @Test
+    void testTransferConvertsAmountBeforeApplyingToLedger() {
+        Long recipientWalletId = 2L;
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(new Wallet(CurrencyType.USD)));
+        when(walletRepository.findById(recipientWalletId)).thenReturn(Optional.of(new Wallet(CurrencyType.INR)));
+        when(ledgerEngine.balance(walletId)).thenReturn(100.0);
+        when(currencyConversionService.convert("USD", "INR", 10.0)).thenReturn(840.0);
+        when(ledgerEngine.transfer(walletId, recipientWalletId, 10.0, 840.0)).thenReturn(90.0);
+
+        Double senderNewBalance = ledgerTransactionService.transfer(userId, walletId, recipientWalletId, 10.0);
+
+        assertEquals(90.0, senderNewBalance);
+        verify(ledgerEngine, times(1)).transfer(walletId, recipientWalletId, 10.0, 840.0);
+    }
+
+    @Test
+    void testTransferWithInsufficientFundsSkipsConversion() {
+        Long recipientWalletId = 2L;
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(new Wallet(CurrencyType.USD)));
+        when(walletRepository.findById(recipientWalletId)).thenReturn(Optional.of(new Wallet(CurrencyType.INR)));
+        when(ledgerEngine.balance(walletId)).thenReturn(5.0);
+
+        assertThrows(InsufficientFundsException.class, () -> ledgerTransactionService.transfer(userId, walletId, recipientWalletId, 10.0));
+
+        verifyNoInteractions(currencyConversionService);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Exceptions.DepositAmountMustBePositiveException;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.ServerUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedLedgerPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LedgerJournal journal;
+    private ShardedLedgerPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 4, 100_000);
+        pipeline = new ShardedLedgerPipeline(4, 64, 16, journal, walletId -> 100.0);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+        journal.close();
+    }
+
+    @Test
+    void testSubmitDepositCompletesWithNewBalance() {
+        CompletableFuture<Double> result = pipeline.submitDeposit(1L, 50.0);
+
+        assertEquals(150.0, result.join());
+        assertEquals(1L, journal.getPendingEntries());
+    }
+
+    @Test
+    void testSubmitWithdrawWithInsufficientFundsCompletesExceptionally() {
+        CompletableFuture<Double> result = pipeline.submitWithdraw(1L, 500.0);
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(InsufficientFundsException.class, exception.getCause());
+    }
+
+    @Test
+    void testDepositNegativeAmount() {
+        assertThrows(DepositAmountMustBePositiveException.class, () -> pipeline.deposit(1L, -5.0));
+    }
+
+    @Test
+    void testTransfer() {
+        double senderNewBalance = pipeline.transfer(1L, 3L, 10.0, 840.0);
+
+        assertEquals(90.0, senderNewBalance);
+        assertEquals(940.0, pipeline.balance(3L));
+    }
+
+    @Test
+    void testConcurrentCrossShardTransfersPreserveTotalBalance() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            long seed = i;
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    long sender = (seed + j) % 10;
+                    long recipient = (seed * 7 + j * 3) % 10;
+                    try {
+                        pipeline.transfer(sender, recipient, 1.0, 1.0);
+                    } catch (InsufficientFundsException ignored) {
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        double total = 0.0;
+        for (long walletId = 0; walletId < 10; walletId++) {
+            total += pipeline.balance(walletId);
+        }
+        assertEquals(1000.0, total);
+    }
+
+    @Test
+    void testRecoverRestoresBalancesFromJournal() {
+        pipeline.deposit(1L, 50.0);
+        pipeline.transfer(1L, 2L, 20.0, 20.0);
+        pipeline.close();
+
+        ShardedLedgerPipeline recovered = new ShardedLedgerPipeline(4, 16, 4, journal, walletId -> 0.0);
+        recovered.recover();
+        recovered.start();
+        try {
+            assertEquals(130.0, recovered.balance(1L));
+            assertEquals(120.0, recovered.balance(2L));
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void testSubmitAfterCloseIsRejected() {
+        pipeline.close();
+
+        assertThrows(ServerUnavailableException.class, () -> pipeline.deposit(1L, 10.0));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.wallet.ledger;
+
+import com.example.wallet.Exceptions.DepositAmountMustBePositiveException;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.TransferAmountMustBePositiveException;
+import com.example.wallet.Exceptions.WithdrawAmountMustBePositiveException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedLedgerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LedgerJournal journal;
+    private StripedLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        journal = new LedgerJournal(tempDir.resolve("ledger.journal"), 8, 100_000);
+        ledger = new StripedLedger(8, journal, walletId -> walletId == 1L ? 100.0 : 0.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void testBalanceIsLoadedOnFirstAccess() {
+        assertEquals(100.0, ledger.balance(1L));
+        assertEquals(0.0, ledger.balance(2L));
+    }
+
+    @Test
+    void testDeposit() {
+        double newBalance = ledger.deposit(1L, 50.0);
+
+        assertEquals(150.0, newBalance);
+        assertEquals(1L, journal.getPendingEntries());
+    }
+
+    @Test
+    void testDepositNegativeAmount() {
+        assertThrows(DepositAmountMustBePositiveException.class, () -> ledger.deposit(1L, -50.0));
+        assertEquals(0L, journal.getPendingEntries());
+    }
+
+    @Test
+    void testWithdraw() {
+        double newBalance = ledger.withdraw(1L, 40.0);
+
+        assertEquals(60.0, newBalance);
+    }
+
+    @Test
+    void testWithdrawNegativeAmount() {
+        assertThrows(WithdrawAmountMustBePositiveException.class, () -> ledger.withdraw(1L, -40.0));
+    }
+
+    @Test
+    void testWithdrawWithInsufficientFunds() {
+        assertThrows(InsufficientFundsException.class, () -> ledger.withdraw(1L, 140.0));
+        assertEquals(100.0, ledger.balance(1L));
+        assertEquals(0L, journal.getPendingEntries());
+    }
+
+    @Test
+    void testTransfer() {
+        double senderNewBalance = ledger.transfer(1L, 2L, 30.0, 2520.0);
+
+        assertEquals(70.0, senderNewBalance);
+        assertEquals(2520.0, ledger.balance(2L));
+    }
+
+    @Test
+    void testTransferAmountMustBePositive() {
+        assertThrows(TransferAmountMustBePositiveException.class, () -> ledger.transfer(1L, 2L, 0.0, 0.0));
+    }
+
+    @Test
+    void testTransferWithInsufficientFunds() {
+        assertThrows(InsufficientFundsException.class, () -> ledger.transfer(1L, 2L, 300.0, 300.0));
+        assertEquals(100.0, ledger.balance(1L));
+        assertEquals(0.0, ledger.balance(2L));
+    }
+
+    @Test
+    void testConcurrentTransfersPreserveTotalBalance() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            boolean forward = i % 2 == 0;
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    try {
+                        ledger.transfer(forward ? 1L : 2L, forward ? 2L : 1L, 1.0, 1.0);
+                    } catch (InsufficientFundsException ignored) {
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(100.0, ledger.balance(1L) + ledger.balance(2L));
+    }
+
+    @Test
+    void testJournalSegmentMustMatchStripes() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedLedger(4, journal, walletId -> 0.0));
+    }
+
+    @Test
+    void testRecoverRestoresBalancesFromUnflushedEntries() {
+        ledger.deposit(1L, 50.0);
+        ledger.transfer(1L, 2L, 20.0, 20.0);
+
+        StripedLedger recovered = new StripedLedger(8, journal, walletId -> 0.0);
+        recovered.recover();
+
+        assertEquals(130.0, recovered.balance(1L));
+        assertEquals(20.0, recovered.balance(2L));
+    }
+}
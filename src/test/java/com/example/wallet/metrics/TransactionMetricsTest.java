@@ -0,0 +1,119 @@
+package com.example.wallet.metrics;
+
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionMetrics transactionMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transactionMetrics = new TransactionMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Timer phaseTimer(String operation, String phase) {
+        return meterRegistry.get("wallet.transaction.phase").tag("operation", operation).tag("phase", phase).timer();
+    }
+
+    private Timer transactionTimer(String operation, String outcome) {
+        return meterRegistry.get("wallet.transaction").tag("operation", operation).tag("outcome", outcome).timer();
+    }
+
+    @Test
+    void testRecordsPhasesAndSuccessfulTransactionWithoutTransaction() {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.TRANSFER, 1L, 100.0);
+
+        timing.phase(TransactionPhase.AUTH);
+        timing.phase(TransactionPhase.FX);
+        timing.succeeded();
+        timing.stop();
+
+        assertEquals(1, phaseTimer("transfer", "auth").count());
+        assertEquals(1, phaseTimer("transfer", "fx").count());
+        assertNull(meterRegistry.find("wallet.transaction.phase").tag("operation", "transfer").tag("phase", "db_write").timer());
+        assertEquals(1, transactionTimer("transfer", "success").count());
+        assertEquals(0, transactionTimer("transfer", "failure").count());
+    }
+
+    @Test
+    void testRecordsFailureWhenNotSucceeded() {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.WITHDRAWAL, 1L, 100.0);
+
+        timing.phase(TransactionPhase.AUTH);
+        timing.stop();
+
+        assertEquals(1, transactionTimer("withdrawal", "failure").count());
+        assertEquals(0, transactionTimer("withdrawal", "success").count());
+    }
+
+    @Test
+    void testRecordsCommitPhaseAfterTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.DEPOSIT, 1L, 100.0);
+        timing.phase(TransactionPhase.DB_WRITE);
+        timing.succeeded();
+        timing.stop();
+
+        assertEquals(0, transactionTimer("deposit", "success").count());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(1, phaseTimer("deposit", "commit").count());
+        assertEquals(1, transactionTimer("deposit", "success").count());
+    }
+
+    @Test
+    void testRecordsRolledBackTransactionAsFailure() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.DEPOSIT, 1L, 100.0);
+        timing.succeeded();
+        timing.stop();
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertNull(meterRegistry.find("wallet.transaction.phase").tag("operation", "deposit").tag("phase", "commit").timer());
+        assertEquals(1, transactionTimer("deposit", "failure").count());
+    }
+
+    @Test
+    void testRegistersOnlyPhasesThatWereRecorded() {
+        TransactionTiming timing = transactionMetrics.start(TransactionOperation.HISTORY, 1L, null);
+        timing.phase(TransactionPhase.AUTH);
+        timing.phase(TransactionPhase.DB_READ);
+        timing.phase(TransactionPhase.DB_READ);
+
+        assertEquals(2, meterRegistry.find("wallet.transaction.phase").timers().size());
+        assertEquals(2, phaseTimer("history", "db_read").count());
+        assertEquals(0, phaseTimer("history", "db_read").takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void testCountExceptionTagsBySimpleName() {
+        transactionMetrics.countException(new InsufficientFundsException("Insufficient funds"));
+        transactionMetrics.countException(new InsufficientFundsException("Insufficient funds"));
+
+        assertEquals(2.0, meterRegistry.get("wallet.exceptions").tag("exception", "InsufficientFundsException").counter().count());
+    }
+}
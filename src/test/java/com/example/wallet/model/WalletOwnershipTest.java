@@ -0,0 +1,71 @@
+package com.example.wallet.model;
+
+import com.example.wallet.Enums.CurrencyType;
+import com.example.wallet.repository.UserRepository;
+import com.example.wallet.repository.WalletRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "wallet.hibernate-statistics.enabled=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class WalletOwnershipTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private CacheRegionStatistics ownershipRegion() {
+        return statistics.getCacheRegionStatistics("wallet-ownership");
+    }
+
+    @Test
+    void testOwnershipIsServedFromCacheAfterBalanceUpdate() {
+        User user = userRepository.save(new User("owner", "password", CurrencyType.INR));
+        Long walletId = user.getWallet().getId();
+        statistics.clear();
+
+        assertEquals(Optional.of(walletId), walletRepository.findIdByUserId(user.getId()));
+        transactionTemplate.executeWithoutResult(status -> walletRepository.credit(walletId, 100.0));
+        assertEquals(Optional.of(walletId), walletRepository.findIdByUserId(user.getId()));
+
+        assertEquals(100.0, walletRepository.findBalanceById(walletId).orElseThrow());
+        assertEquals(1, ownershipRegion().getMissCount());
+        assertEquals(1, ownershipRegion().getHitCount());
+    }
+
+    @Test
+    void testOwnershipOfUnknownUserIsEmpty() {
+        assertEquals(Optional.empty(), walletRepository.findIdByUserId(-1L));
+    }
+}
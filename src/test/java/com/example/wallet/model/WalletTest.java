@@ -6,8 +6,11 @@ import com.example.wallet.Enums.CurrencyType;
 import com.example.wallet.Exceptions.DepositAmountMustBePositiveException;
 import com.example.wallet.Exceptions.InsufficientFundsException;
 import com.example.wallet.Exceptions.WithdrawAmountMustBePositiveException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 public class WalletTest {
 
     @Test
@@ -147,4 +150,16 @@ public class WalletTest {
             wallet.withdraw(-50.0);
         });
     }
+
+    @Test
+    void testHeldAmountsAreNotSerialized() {
+        Wallet wallet = new Wallet();
+        wallet.deposit(100.0);
+
+        Map<?, ?> json = new ObjectMapper().convertValue(wallet, Map.class);
+
+        assertEquals(100.0, json.get("balance"));
+        assertFalse(json.containsKey("held"));
+        assertFalse(json.containsKey("availableBalance"));
+    }
 }
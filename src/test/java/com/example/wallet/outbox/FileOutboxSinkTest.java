@@ -0,0 +1,44 @@
+package com.example.wallet.outbox;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.model.OutboxEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FileOutboxSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testPublishAppendsOneJsonLinePerEvent() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Path path = directory.resolve("outbox/events.jsonl");
+
+        try (FileOutboxSink sink = new FileOutboxSink(path, objectMapper)) {
+            sink.publish(List.of(new OutboxEvent(1L, TransactionType.DEPOSIT, 50.0, 150.0, null)));
+            sink.publish(List.of(new OutboxEvent(1L, TransactionType.TRANSFER, -20.0, 130.0, 2L),
+                    new OutboxEvent(2L, TransactionType.TRANSFER, 20.0, 20.0, 1L)));
+        }
+        try (FileOutboxSink sink = new FileOutboxSink(path, objectMapper)) {
+            sink.publish(List.of(new OutboxEvent(2L, TransactionType.WITHDRAWAL, -5.0, 15.0, null)));
+        }
+
+        List<String> lines = Files.readAllLines(path);
+        assertEquals(4, lines.size());
+        JsonNode transfer = objectMapper.readTree(lines.get(1));
+        assertEquals("TRANSFER", transfer.get("type").asText());
+        assertEquals(-20.0, transfer.get("balanceChange").asDouble());
+        assertEquals(2L, transfer.get("counterpartyWalletId").asLong());
+        assertEquals("WITHDRAWAL", objectMapper.readTree(lines.get(3)).get("type").asText());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.wallet.outbox;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.model.OutboxEvent;
+import com.example.wallet.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryOutboxSink inMemoryOutboxSink;
+    private SimpleMeterRegistry meterRegistry;
+    private List<OutboxEvent> received;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        inMemoryOutboxSink = new InMemoryOutboxSink();
+        meterRegistry = new SimpleMeterRegistry();
+        received = new ArrayList<>();
+        inMemoryOutboxSink.subscribe(received::add);
+    }
+
+    private OutboxDispatcher dispatcher(List<OutboxSink> sinks, int batchSize) {
+        return new OutboxDispatcher(outboxEventRepository, sinks, new TransactionTemplate(transactionManager), meterRegistry, batchSize);
+    }
+
+    private OutboxEvent event(long id, long walletId) throws Exception {
+        OutboxEvent event = new OutboxEvent(walletId, TransactionType.DEPOSIT, 10.0, 110.0, null, LocalDateTime.now().minusSeconds(1));
+        Field field = OutboxEvent.class.getDeclaredField("id");
+        field.setAccessible(true);
+        field.set(event, id);
+        return event;
+    }
+
+    @Test
+    void testDispatchPublishesBatchesAndDeletesThem() throws Exception {
+        List<OutboxEvent> first = List.of(event(1L, 1L), event(2L, 2L));
+        List<OutboxEvent> second = List.of(event(3L, 1L));
+        when(outboxEventRepository.findNextBatch(any(Limit.class))).thenReturn(first, second);
+
+        dispatcher(List.of(inMemoryOutboxSink), 2).dispatch();
+
+        assertEquals(3, received.size());
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteByIds(List.of(3L));
+        verify(outboxEventRepository, times(2)).findNextBatch(Limit.of(2));
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3.0, meterRegistry.get("wallet.outbox.dispatched").counter().count());
+        assertEquals(3, meterRegistry.get("wallet.outbox.lag").timer().count());
+    }
+
+    @Test
+    void testDispatchWithEmptyOutbox() {
+        when(outboxEventRepository.findNextBatch(any(Limit.class))).thenReturn(List.of());
+
+        dispatcher(List.of(inMemoryOutboxSink), 10).dispatch();
+
+        assertEquals(0, received.size());
+        verify(outboxEventRepository, never()).deleteByIds(any());
+        assertEquals(0.0, meterRegistry.get("wallet.outbox.dispatched").counter().count());
+    }
+
+    @Test
+    void testDispatchKeepsEventsWhenSinkFails() throws Exception {
+        when(outboxEventRepository.findNextBatch(any(Limit.class))).thenReturn(List.of(event(1L, 1L)));
+        OutboxSink failingSink = events -> {
+            throw new IOException("Disk full");
+        };
+
+        dispatcher(List.of(inMemoryOutboxSink, failingSink), 10).dispatch();
+
+        verify(outboxEventRepository, never()).deleteByIds(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.get("wallet.outbox.failures").counter().count());
+        assertEquals(0.0, meterRegistry.get("wallet.outbox.dispatched").counter().count());
+    }
+
+    @Test
+    void testSubscriberFailureDoesNotBlockOtherSubscribers() throws Exception {
+        inMemoryOutboxSink.subscribe(event -> {
+            throw new IllegalStateException("Broken subscriber");
+        });
+        List<OutboxEvent> late = new ArrayList<>();
+        inMemoryOutboxSink.subscribe(late::add);
+        when(outboxEventRepository.findNextBatch(any(Limit.class))).thenReturn(List.of(event(1L, 1L)));
+
+        dispatcher(List.of(inMemoryOutboxSink), 10).dispatch();
+
+        assertEquals(1, received.size());
+        assertEquals(1, late.size());
+        verify(outboxEventRepository).deleteByIds(List.of(1L));
+    }
+}
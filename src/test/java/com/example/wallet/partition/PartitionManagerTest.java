@@ -0,0 +1,98 @@
+package com.example.wallet.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+        partitionManager = new PartitionManager(jdbcTemplate, 2, 12, clock);
+    }
+
+    private void existingPartitions(String... names) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyString())).thenAnswer(invocation ->
+                List.of(names).contains(invocation.<String>getArgument(2)));
+    }
+
+    @Test
+    void testCreatesCurrentAndPremadeMonths() {
+        existingPartitions("intra_transactions_p2026_10");
+
+        List<String> created = partitionManager.createFuturePartitions("intra_transactions");
+
+        assertEquals(List.of("intra_transactions_p2026_11", "intra_transactions_p2026_12"), created);
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS intra_transactions_p2026_12 PARTITION OF intra_transactions"
+                + " FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')");
+        verify(jdbcTemplate, times(2)).execute(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDetachesPartitionsPastRetention() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("inter_transactions"))).thenReturn(List.of(
+                new PartitionManager.Partition("inter_transactions_legacy", LocalDateTime.parse("2025-09-01T00:00")),
+                new PartitionManager.Partition("inter_transactions_p2025_09", LocalDateTime.parse("2025-10-01T00:00")),
+                new PartitionManager.Partition("inter_transactions_p2025_10", LocalDateTime.parse("2025-11-01T00:00")),
+                new PartitionManager.Partition("inter_transactions_default", null)));
+
+        List<String> detached = partitionManager.detachExpiredPartitions("inter_transactions");
+
+        assertEquals(List.of("inter_transactions_legacy", "inter_transactions_p2025_09"), detached);
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).execute(statements.capture());
+        assertEquals("ALTER TABLE inter_transactions DETACH PARTITION inter_transactions_p2025_09 CONCURRENTLY", statements.getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMaintainContinuesAfterTableFailure() {
+        existingPartitions();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("intra_transactions"))).thenThrow(new IllegalStateException("lock timeout"));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("inter_transactions"))).thenReturn(List.of());
+
+        partitionManager.maintain();
+
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS inter_transactions_p2026_10"));
+    }
+
+    @Test
+    void testParsesPostgresBoundExpressions() {
+        assertEquals(LocalDateTime.parse("2026-11-01T00:00"),
+                PartitionManager.upperBound("FOR VALUES FROM ('2026-10-01 00:00:00') TO ('2026-11-01 00:00:00')"));
+        assertEquals(LocalDateTime.parse("2026-10-01T00:00"),
+                PartitionManager.upperBound("FOR VALUES FROM (MINVALUE) TO ('2026-10-01')"));
+        assertNull(PartitionManager.upperBound("DEFAULT"));
+        assertEquals("intra_transactions_p2027_01", PartitionManager.partitionName("intra_transactions", YearMonth.of(2027, 1)));
+    }
+
+    @Test
+    void testRejectsEmptyWindows() {
+        assertThrows(IllegalArgumentException.class, () -> new PartitionManager(jdbcTemplate, 0, 12));
+    }
+}
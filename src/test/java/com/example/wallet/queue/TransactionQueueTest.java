@@ -0,0 +1,111 @@
+package com.example.wallet.queue;
+
+import com.example.wallet.Enums.QueuedTransactionStatus;
+import com.example.wallet.Exceptions.*;
+import com.example.wallet.model.QueuedTransaction;
+import com.example.wallet.repository.QueuedTransactionRepository;
+import com.example.wallet.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TransactionQueueTest {
+
+    @Mock
+    private QueuedTransactionRepository queuedTransactionRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionQueue transactionQueue;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(queuedTransactionRepository.countByStatusIn(List.of(QueuedTransactionStatus.PENDING, QueuedTransactionStatus.PROCESSING))).thenReturn(1L);
+        when(queuedTransactionRepository.save(any(QueuedTransaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("user", null, List.of()));
+        transactionQueue = new TransactionQueue(queuedTransactionRepository, transactionService, meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testEnqueueStoresPendingTransactionForAuthenticatedUser() {
+        QueuedTransaction queued = transactionQueue.enqueue(1L, 2L, 3L, 50.0, "transfer");
+
+        assertEquals(QueuedTransactionStatus.PENDING, queued.getStatus());
+        assertEquals("user", queued.getUsername());
+        assertEquals(3L, queued.getRecipientWalletId());
+        assertEquals(2, transactionQueue.getDepth());
+        assertEquals(2.0, meterRegistry.get("wallet.async.queue.depth").gauge().value());
+        verify(transactionService).authorize(1L, 2L);
+    }
+
+    @Test
+    void testEnqueueRejectsWhenQueueIsFull() {
+        transactionQueue.enqueue(1L, 2L, null, 50.0, "deposit");
+
+        assertThrows(ServerBusyException.class, () -> transactionQueue.enqueue(1L, 2L, null, 50.0, "deposit"));
+
+        assertEquals(2, transactionQueue.getDepth());
+        assertEquals(1.0, meterRegistry.get("wallet.async.rejected").counter().count());
+        verify(queuedTransactionRepository, times(1)).save(any());
+    }
+
+    @Test
+    void testEnqueueValidatesBeforeQueueing() {
+        assertThrows(InvalidTransactionTypeException.class, () -> transactionQueue.enqueue(1L, 2L, null, 50.0, "refund"));
+        assertThrows(WithdrawAmountMustBePositiveException.class, () -> transactionQueue.enqueue(1L, 2L, null, -5.0, "withdrawal"));
+        assertThrows(RecipientWalletIdCannotBeNullException.class, () -> transactionQueue.enqueue(1L, 2L, null, 5.0, "transfer"));
+
+        verify(queuedTransactionRepository, never()).save(any());
+        assertEquals(1, transactionQueue.getDepth());
+    }
+
+    @Test
+    void testEnqueueWhenUserNotAuthorized() {
+        doThrow(new UserNotAuthorizedException("Access denied: User is not authorized")).when(transactionService).authorize(1L, 2L);
+
+        assertThrows(UserNotAuthorizedException.class, () -> transactionQueue.enqueue(1L, 2L, null, 50.0, "deposit"));
+
+        verify(queuedTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    void testGetStatusOfAnotherWalletsTransaction() {
+        UUID transactionId = UUID.randomUUID();
+        when(queuedTransactionRepository.findById(transactionId))
+                .thenReturn(Optional.of(new QueuedTransaction(5L, 6L, null, 50.0, "deposit", "other")));
+
+        assertThrows(QueuedTransactionNotFoundException.class, () -> transactionQueue.getStatus(1L, 2L, transactionId));
+    }
+
+    @Test
+    void testRecordFinishedReleasesCapacity() {
+        transactionQueue.enqueue(1L, 2L, null, 50.0, "deposit");
+
+        transactionQueue.recordFinished(QueuedTransactionStatus.COMPLETED);
+
+        assertEquals(1, transactionQueue.getDepth());
+        assertEquals(1.0, meterRegistry.get("wallet.async.transactions").tag("outcome", "completed").counter().count());
+    }
+}
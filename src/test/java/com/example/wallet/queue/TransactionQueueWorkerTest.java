@@ -0,0 +1,274 @@
+package com.example.wallet.queue;
+
+import com.example.wallet.Enums.QueuedTransactionStatus;
+import com.example.wallet.Exceptions.InsufficientFundsException;
+import com.example.wallet.Exceptions.ServerUnavailableException;
+import com.example.wallet.hold.HoldTransferService;
+import com.example.wallet.model.QueuedTransaction;
+import com.example.wallet.repository.QueuedTransactionRepository;
+import com.example.wallet.service.TransactionDispatcher;
+import com.example.wallet.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TransactionQueueWorkerTest {
+
+    @Mock
+    private QueuedTransactionRepository queuedTransactionRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private HoldTransferService holdTransferService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionQueue transactionQueue;
+    private TransactionDispatcher transactionDispatcher;
+    private TransactionQueueWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        transactionQueue = new TransactionQueue(queuedTransactionRepository, transactionService, meterRegistry, 100);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionDispatcher = new TransactionDispatcher(transactionService, holdTransferService, queuedTransactionRepository, transactionTemplate);
+        worker = new TransactionQueueWorker(transactionQueue, queuedTransactionRepository, transactionDispatcher,
+                transactionTemplate, 2, 10, 2, 500, 60000, 10, 300000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.stop();
+    }
+
+    private QueuedTransaction queued(String transactionType, Long walletId) throws Exception {
+        return queued(transactionType, walletId, null);
+    }
+
+    private QueuedTransaction queued(String transactionType, Long walletId, Long recipientWalletId) throws Exception {
+        QueuedTransaction queued = new QueuedTransaction(1L, walletId, recipientWalletId, 50.0, transactionType, "user");
+        Field id = QueuedTransaction.class.getDeclaredField("id");
+        id.setAccessible(true);
+        id.set(queued, UUID.randomUUID());
+        when(queuedTransactionRepository.lockPending(queued.getId())).thenReturn(Optional.of(queued));
+        when(queuedTransactionRepository.lockClaimed(eq(queued.getId()), any())).thenReturn(Optional.of(queued));
+        return queued;
+    }
+
+    @Test
+    void testProcessRunsTransactionAsQueuingUser() throws Exception {
+        QueuedTransaction queued = queued("deposit", 2L);
+        AtomicReference<String> principal = new AtomicReference<>();
+        doAnswer(invocation -> {
+            principal.set(SecurityContextHolder.getContext().getAuthentication().getName());
+            return null;
+        }).when(transactionService).createTransaction(1L, 2L, null, 50.0, "deposit");
+
+        worker.process(queued);
+
+        assertEquals("user", principal.get());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(QueuedTransactionStatus.COMPLETED, queued.getStatus());
+        assertEquals(1.0, meterRegistry.get("wallet.async.transactions").tag("outcome", "completed").counter().count());
+        assertEquals(1, meterRegistry.get("wallet.async.queue.wait").timer().count());
+    }
+
+    @Test
+    void testProcessMarksBusinessRejectionAsFailed() throws Exception {
+        QueuedTransaction queued = queued("withdrawal", 2L);
+        doThrow(new InsufficientFundsException("Insufficient funds")).when(transactionService).createTransaction(1L, 2L, null, 50.0, "withdrawal");
+
+        worker.process(queued);
+
+        assertEquals(QueuedTransactionStatus.FAILED, queued.getStatus());
+        assertEquals("INSUFFICIENT_FUNDS", queued.getFailureCode());
+        assertEquals(1.0, meterRegistry.get("wallet.async.transactions").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void testProcessRetriesTransientFailureUpToMaxAttempts() throws Exception {
+        QueuedTransaction queued = queued("deposit", 2L);
+        doThrow(new ServerUnavailableException("Server is unavailable")).when(transactionService).createTransaction(1L, 2L, null, 50.0, "deposit");
+
+        assertFalse(worker.process(queued));
+        assertEquals(QueuedTransactionStatus.PENDING, queued.getStatus());
+
+        assertTrue(worker.process(queued));
+        assertEquals(QueuedTransactionStatus.FAILED, queued.getStatus());
+        assertEquals(2, queued.getAttempts());
+        assertEquals(1, meterRegistry.get("wallet.async.queue.wait").timer().count());
+    }
+
+    @Test
+    void testProcessSchedulesRetryWithBackoff() throws Exception {
+        QueuedTransaction queued = queued("deposit", 2L);
+        doThrow(new ServerUnavailableException("Server is unavailable")).when(transactionService).createTransaction(1L, 2L, null, 50.0, "deposit");
+        LocalDateTime before = LocalDateTime.now();
+
+        worker.process(queued);
+
+        assertNotNull(queued.getNextAttemptAt());
+        assertFalse(queued.getNextAttemptAt().isBefore(before.plusNanos(500_000_000L)));
+    }
+
+    @Test
+    void testBackoffDoublesUpToMaximum() {
+        assertEquals(500, worker.backoffMillis(1));
+        assertEquals(1000, worker.backoffMillis(2));
+        assertEquals(2000, worker.backoffMillis(3));
+        assertEquals(60000, worker.backoffMillis(20));
+        assertEquals(60000, worker.backoffMillis(100));
+    }
+
+    @Test
+    void testProcessDispatchesTransferThroughHoldsWhenEnabled() throws Exception {
+        QueuedTransaction queued = queued("transfer", 2L, 3L);
+        when(holdTransferService.isEnabled()).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(4).run();
+            return 0.6;
+        }).when(holdTransferService).transfer(eq(1L), eq(2L), eq(3L), eq(50.0), any(Runnable.class));
+
+        worker.process(queued);
+
+        verify(holdTransferService).transfer(eq(1L), eq(2L), eq(3L), eq(50.0), any(Runnable.class));
+        verify(transactionService, never()).createTransaction(any(), any(), any(), any(), any());
+        assertEquals(QueuedTransactionStatus.COMPLETED, queued.getStatus());
+    }
+
+    @Test
+    void testProcessDispatchesOutsideClaimTransaction() throws Exception {
+        QueuedTransaction queued = queued("deposit", 2L);
+
+        worker.process(queued);
+
+        InOrder inOrder = inOrder(queuedTransactionRepository, transactionManager, transactionService);
+        inOrder.verify(queuedTransactionRepository).lockPending(queued.getId());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(queuedTransactionRepository).lockClaimed(queued.getId(), queued.getClaimedAt());
+        inOrder.verify(transactionService).createTransaction(1L, 2L, null, 50.0, "deposit");
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testDispatchQueuedRejectsTransactionNoLongerClaimed() throws Exception {
+        QueuedTransaction queued = queued("deposit", 2L);
+        worker.process(queued);
+        when(queuedTransactionRepository.lockClaimed(eq(queued.getId()), any())).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> transactionDispatcher.dispatchQueued(queued));
+
+        verify(transactionService, times(1)).createTransaction(1L, 2L, null, 50.0, "deposit");
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testProcessRecordsInternalErrorCodeForUnexpectedFailure() throws Exception {
+        QueuedTransaction queued = queued("deposit", 2L);
+        doThrow(new IllegalArgumentException("column \"amount\" violates constraint")).when(transactionService).createTransaction(1L, 2L, null, 50.0, "deposit");
+
+        worker.process(queued);
+        worker.process(queued);
+
+        assertEquals(QueuedTransactionStatus.FAILED, queued.getStatus());
+        assertEquals(TransactionQueueWorker.INTERNAL_ERROR, queued.getFailureCode());
+    }
+
+    @Test
+    void testProcessLeavesTransactionClaimedWhenRecordingFailureFails() throws Exception {
+        QueuedTransaction queued = queued("deposit", 2L);
+        doThrow(new ServerUnavailableException("Server is unavailable")).when(transactionService).createTransaction(1L, 2L, null, 50.0, "deposit");
+        when(queuedTransactionRepository.lockClaimed(eq(queued.getId()), any()))
+                .thenReturn(Optional.of(queued))
+                .thenThrow(new IllegalStateException("Connection lost"));
+
+        assertFalse(worker.process(queued));
+
+        assertEquals(0, queued.getAttempts());
+        assertEquals(0.0, meterRegistry.get("wallet.async.transactions").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void testDrainBatchReclaimsStaleClaimsBeforePolling() throws Exception {
+        when(queuedTransactionRepository.findPending(any(), any(Limit.class))).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        worker.drainBatch();
+
+        InOrder inOrder = inOrder(queuedTransactionRepository);
+        inOrder.verify(queuedTransactionRepository).reclaimStale(argThat(claimedBefore -> !claimedBefore.isAfter(before.minusMinutes(5).plusSeconds(5))));
+        inOrder.verify(queuedTransactionRepository).findPending(any(), any(Limit.class));
+    }
+
+    @Test
+    void testProcessSkipsTransactionClaimedElsewhere() throws Exception {
+        QueuedTransaction queued = queued("deposit", 2L);
+        when(queuedTransactionRepository.lockPending(queued.getId())).thenReturn(Optional.empty());
+
+        worker.process(queued);
+
+        verify(transactionService, never()).createTransaction(any(), any(), any(), any(), any());
+        assertEquals(QueuedTransactionStatus.PENDING, queued.getStatus());
+    }
+
+    @Test
+    void testDrainBatchKeepsOrderWithinWallet() throws Exception {
+        QueuedTransaction first = queued("deposit", 2L);
+        QueuedTransaction second = queued("withdrawal", 2L);
+        QueuedTransaction other = queued("deposit", 3L);
+        when(queuedTransactionRepository.findPending(any(), any(Limit.class))).thenReturn(List.of(first, second, other));
+
+        assertEquals(3, worker.drainBatch());
+
+        InOrder inOrder = inOrder(transactionService);
+        inOrder.verify(transactionService).createTransaction(1L, 2L, null, 50.0, "deposit");
+        inOrder.verify(transactionService).createTransaction(1L, 2L, null, 50.0, "withdrawal");
+        verify(transactionService).createTransaction(1L, 3L, null, 50.0, "deposit");
+        assertEquals(0.0, transactionQueue.getOldestPendingAgeSeconds(), 5.0);
+    }
+
+    @Test
+    void testDrainBatchHoldsLaterTransactionsOfWalletAwaitingRetry() throws Exception {
+        QueuedTransaction first = queued("deposit", 2L);
+        QueuedTransaction second = queued("withdrawal", 2L);
+        QueuedTransaction other = queued("deposit", 3L);
+        when(queuedTransactionRepository.findPending(any(), any(Limit.class))).thenReturn(List.of(first, second, other));
+        doThrow(new ServerUnavailableException("Server is unavailable")).when(transactionService).createTransaction(1L, 2L, null, 50.0, "deposit");
+
+        worker.drainBatch();
+
+        verify(transactionService, never()).createTransaction(1L, 2L, null, 50.0, "withdrawal");
+        verify(transactionService).createTransaction(1L, 3L, null, 50.0, "deposit");
+        assertEquals(QueuedTransactionStatus.PENDING, second.getStatus());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.wallet.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistoryFilterTest {
+
+    private final LocalDateTime january = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private final LocalDateTime february = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Test
+    void testIncludesTreatsFromAsInclusiveAndToAsExclusive() {
+        HistoryFilter filter = new HistoryFilter(january, february, null, null);
+
+        assertTrue(filter.includes(january, 10.0));
+        assertTrue(filter.includes(february.minusNanos(1000), 10.0));
+        assertFalse(filter.includes(february, 10.0));
+        assertFalse(filter.includes(january.minusNanos(1000), 10.0));
+    }
+
+    @Test
+    void testIncludesTreatsAmountBoundsAsInclusive() {
+        HistoryFilter filter = new HistoryFilter(null, null, 10.0, 20.0);
+
+        assertTrue(filter.includes(january, 10.0));
+        assertTrue(filter.includes(january, 20.0));
+        assertFalse(filter.includes(january, 9.99));
+        assertFalse(filter.includes(january, 20.01));
+    }
+
+    @Test
+    void testIsEmpty() {
+        assertTrue(HistoryFilter.NONE.isEmpty());
+        assertTrue(new HistoryFilter(null, null, null, null).isEmpty());
+        assertFalse(new HistoryFilter(null, null, null, 5.0).isEmpty());
+    }
+
+    @Test
+    void testRejectsInvalidRanges() {
+        IllegalArgumentException dateException = assertThrows(IllegalArgumentException.class,
+                () -> new HistoryFilter(february, january, null, null));
+        assertEquals("from must be before to", dateException.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new HistoryFilter(january, january, null, null));
+
+        IllegalArgumentException amountException = assertThrows(IllegalArgumentException.class,
+                () -> new HistoryFilter(null, null, 20.0, 10.0));
+        assertEquals("minAmount must not be greater than maxAmount", amountException.getMessage());
+    }
+}
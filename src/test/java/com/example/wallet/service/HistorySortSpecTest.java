@@ -0,0 +1,64 @@
+package com.example.wallet.service;
+
+import com.example.wallet.Enums.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistorySortSpecTest {
+
+    private final HistoryEntry early = new HistoryEntry(1_000L, 50.0, TransactionType.DEPOSIT, "early");
+    private final HistoryEntry middle = new HistoryEntry(2_000L, 50.0, TransactionType.WITHDRAWAL, "middle");
+    private final HistoryEntry late = new HistoryEntry(3_000L, 10.0, TransactionType.TRANSFER, "late");
+
+    @Test
+    void testCompileTimestampAscending() {
+        HistorySortSpec sortSpec = HistorySortSpec.compile(List.of("timestamp"), List.of("ASC"));
+
+        assertEquals(List.of(early, middle, late), sorted(sortSpec, late, early, middle));
+        assertEquals(Sort.by(Sort.Order.asc("timestamp")), sortSpec.getSort());
+    }
+
+    @Test
+    void testCompileAmountDescendingThenTimestampDescending() {
+        HistorySortSpec sortSpec = HistorySortSpec.compile(List.of("amount", "timestamp"), List.of("DESC", "DESC"));
+
+        assertEquals(List.of(middle, early, late), sorted(sortSpec, early, late, middle));
+        assertEquals(Sort.by(Sort.Order.desc("amount"), Sort.Order.desc("timestamp")), sortSpec.getSort());
+    }
+
+    @Test
+    void testCompileDefaultsMissingOrdersToAscendingAndIgnoresCase() {
+        HistorySortSpec sortSpec = HistorySortSpec.compile(List.of("AMOUNT", "Timestamp"), List.of("desc"));
+
+        assertEquals(List.of(middle, early, late), sorted(sortSpec, late, middle, early));
+        assertEquals(Sort.by(Sort.Order.desc("amount"), Sort.Order.asc("timestamp")), sortSpec.getSort());
+    }
+
+    @Test
+    void testCompileWithoutSortFieldsKeepsInputOrder() {
+        HistorySortSpec sortSpec = HistorySortSpec.compile(Collections.emptyList(), Collections.emptyList());
+
+        assertEquals(List.of(late, early, middle), sorted(sortSpec, late, early, middle));
+        assertTrue(sortSpec.getSort().isUnsorted());
+    }
+
+    @Test
+    void testCompileRejectsUnknownField() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                HistorySortSpec.compile(List.of("amounts"), List.of("ASC")));
+
+        assertEquals("Invalid sort field: amounts", exception.getMessage());
+    }
+
+    private List<HistoryEntry> sorted(HistorySortSpec sortSpec, HistoryEntry... entries) {
+        List<HistoryEntry> result = new ArrayList<>(List.of(entries));
+        result.sort(sortSpec.getComparator());
+        return result;
+    }
+}
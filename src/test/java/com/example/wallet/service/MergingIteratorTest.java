@@ -0,0 +1,57 @@
+package com.example.wallet.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MergingIteratorTest {
+
+    @Test
+    void testMergesSortedSourcesInOrder() {
+        Iterator<Integer> merged = new MergingIterator<>(Comparator.naturalOrder(),
+                List.of(1, 4, 7).iterator(), List.of(2, 3, 8, 9).iterator(), List.of(5).iterator());
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 7, 8, 9), drain(merged));
+    }
+
+    @Test
+    void testMergesWithReversedComparator() {
+        Iterator<Integer> merged = new MergingIterator<>(Comparator.reverseOrder(),
+                List.of(9, 3).iterator(), List.of(8, 4, 1).iterator());
+
+        assertEquals(List.of(9, 8, 4, 3, 1), drain(merged));
+    }
+
+    @Test
+    void testEqualElementsAreTakenFromEarlierSourceFirst() {
+        String first = new String("a");
+        String second = new String("a");
+        Iterator<String> merged = new MergingIterator<>(Comparator.naturalOrder(),
+                List.of(first).iterator(), List.of(second).iterator());
+
+        assertSame(first, merged.next());
+        assertSame(second, merged.next());
+    }
+
+    @Test
+    void testEmptySources() {
+        Iterator<Integer> merged = new MergingIterator<>(Comparator.naturalOrder(),
+                Collections.<Integer>emptyIterator(), Collections.<Integer>emptyIterator());
+
+        assertFalse(merged.hasNext());
+        assertThrows(NoSuchElementException.class, merged::next);
+    }
+
+    private <T> List<T> drain(Iterator<T> iterator) {
+        List<T> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+}
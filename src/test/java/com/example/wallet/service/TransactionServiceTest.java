@@ -3,6 +3,11 @@ package com.example.wallet.service;
 import com.example.wallet.Enums.CurrencyType;
 import com.example.wallet.Enums.TransactionType;
 import com.example.wallet.Exceptions.*;
+import com.example.wallet.archive.ArchiveSegmentWriter;
+import com.example.wallet.archive.ArchivedTransaction;
+import com.example.wallet.archive.TransactionArchive;
+import com.example.wallet.cache.WalletVersionTracker;
+import com.example.wallet.metrics.TransactionMetrics;
 import com.example.wallet.model.InterTransaction;
 import com.example.wallet.model.IntraTransaction;
 import com.example.wallet.model.User;
@@ -11,19 +16,35 @@ import com.example.wallet.repository.InterTransactionRepository;
 import com.example.wallet.repository.IntraTransactionRepository;
 import com.example.wallet.repository.UserRepository;
 import com.example.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -47,6 +68,18 @@ public class TransactionServiceTest {
     private InterTransactionRepository interTransactionRepository;
     @Mock
     private CurrencyConversionService currencyConversionService;
+    @Spy
+    private Executor historyQueryExecutor = new SyncTaskExecutor();
+    @Spy
+    private TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private WalletVersionTracker walletVersionTracker = new WalletVersionTracker();
+    @Mock
+    private TransactionArchive transactionArchive;
+    @Mock
+    private TransactionArchive.Snapshot archiveSnapshot;
 
     @BeforeEach
     void setUp() {
@@ -55,6 +88,7 @@ public class TransactionServiceTest {
         wallet = new Wallet(CurrencyType.INR);
         userId = 10L;
         mockWallet = mock(Wallet.class);
+        when(transactionArchive.snapshot()).thenReturn(archiveSnapshot);
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getName()).thenReturn("testUser");
@@ -72,7 +106,7 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(walletId)).thenReturn(Optional.of(mockWallet));
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(mockWallet));
 
             transactionService.createTransaction(userId, walletId, null, depositAmount, "deposit");
 
@@ -86,7 +120,7 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(walletId)).thenReturn(Optional.of(mockWallet));
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(mockWallet));
 
             transactionService.createTransaction(userId, walletId, null, withdrawAmount, "withdrawal");
 
@@ -101,10 +135,10 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(mockWallet.getBalance()).thenReturn(150.0);
+            when(mockWallet.getAvailableBalance()).thenReturn(150.0);
             when(mockWallet.getCurrency()).thenReturn(CurrencyType.INR);
-            when(walletRepository.findById(walletId)).thenReturn(Optional.of(mockWallet));
-            when(walletRepository.findById(recipientWalletId)).thenReturn(Optional.of(wallet));
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(mockWallet));
+            when(walletRepository.findByIdForUpdate(recipientWalletId)).thenReturn(Optional.of(wallet));
             when(currencyConversionService.convert(anyString(), anyString(), anyDouble())).thenReturn(100.0);
 
             transactionService.createTransaction(userId, walletId, 5L, transferAmount, "transfer");
@@ -133,26 +167,27 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
 
             Double newBalance = transactionService.deposit(userId, walletId, depositAmount);
 
             assertEquals(depositAmount, newBalance);
-            verify(walletRepository, times(1)).findById(walletId);
+            verify(walletRepository, times(1)).findByIdForUpdate(walletId);
             verify(intraTransactionRepository, times(1)).save(any(IntraTransaction.class));
+            verify(eventPublisher, times(1)).publishEvent(new WalletChangedEvent(walletId, depositAmount, TransactionType.DEPOSIT, depositAmount, null));
         }
 
         @Test
         void testDepositWhenUserNotFound() {
             Double depositAmount = 100.0;
             when(userRepository.findById(userId)).thenReturn(Optional.empty());
-            when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.empty());
 
             assertThrows(UserNotFoundException.class, () ->
                     transactionService.deposit(userId, walletId, depositAmount)
             );
             verify(userRepository, times(1)).findById(userId);
-            verify(walletRepository, times(0)).findById(walletId);
+            verify(walletRepository, times(0)).findByIdForUpdate(walletId);
             verify(intraTransactionRepository, times(0)).save(any(IntraTransaction.class));
         }
 
@@ -176,12 +211,12 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
 
             assertThrows(DepositAmountMustBePositiveException.class, () ->
                     transactionService.deposit(userId, walletId, depositAmount)
             );
-            verify(walletRepository, times(1)).findById(walletId);
+            verify(walletRepository, times(1)).findByIdForUpdate(walletId);
             verify(intraTransactionRepository, times(0)).save(any(IntraTransaction.class));
         }
     }
@@ -195,13 +230,13 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
             transactionService.deposit(userId, walletId, 100.0);
 
             Double newBalance = transactionService.withdraw(userId, walletId, withdrawAmount);
 
             assertEquals(50.0, newBalance);
-            verify(walletRepository, times(2)).findById(walletId);
+            verify(walletRepository, times(2)).findByIdForUpdate(walletId);
             verify(intraTransactionRepository, times(2)).save(any(IntraTransaction.class));
         }
 
@@ -209,13 +244,13 @@ public class TransactionServiceTest {
         void testWithdrawWhenUserNotFound() {
             Double withdrawAmount = 100.0;
             when(userRepository.findById(userId)).thenReturn(Optional.empty());
-            when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.empty());
 
             assertThrows(UserNotFoundException.class, () ->
                     transactionService.withdraw(userId, walletId, withdrawAmount)
             );
             verify(userRepository, times(1)).findById(userId);
-            verify(walletRepository, times(0)).findById(walletId);
+            verify(walletRepository, times(0)).findByIdForUpdate(walletId);
             verify(intraTransactionRepository, times(0)).save(any(IntraTransaction.class));
         }
 
@@ -239,13 +274,13 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
             transactionService.deposit(userId, walletId, 100.0);
 
             assertThrows(WithdrawAmountMustBePositiveException.class, () ->
                     transactionService.withdraw(userId, walletId, withdrawAmount)
             );
-            verify(walletRepository, times(2)).findById(walletId);
+            verify(walletRepository, times(2)).findByIdForUpdate(walletId);
             verify(intraTransactionRepository, times(1)).save(any(IntraTransaction.class));
         }
 
@@ -255,13 +290,13 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+            when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(wallet));
             transactionService.deposit(userId, walletId, 100.0);
 
             assertThrows(InsufficientFundsException.class, () ->
                     transactionService.withdraw(userId, walletId, withdrawAmount)
             );
-            verify(walletRepository, times(2)).findById(walletId);
+            verify(walletRepository, times(2)).findByIdForUpdate(walletId);
             verify(intraTransactionRepository, times(1)).save(any(IntraTransaction.class));
         }
     }
@@ -277,18 +312,20 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(senderWalletId)).thenReturn(Optional.of(new Wallet()));
-            when(walletRepository.findById(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(walletRepository.findByIdForUpdate(senderWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(walletRepository.findByIdForUpdate(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
             when(currencyConversionService.convert(anyString(), anyString(), anyDouble())).thenReturn(30.0);
 
             transactionService.deposit(userId, senderWalletId, 100.0);
             Double newBalance = transactionService.transfer(userId, senderWalletId, recipientWalletId, transferAmount);
 
             assertEquals(70.0, newBalance);
-            verify(walletRepository, times(2)).findById(senderWalletId);
-            verify(walletRepository, times(1)).findById(recipientWalletId);
+            verify(walletRepository, times(2)).findByIdForUpdate(senderWalletId);
+            verify(walletRepository, times(1)).findByIdForUpdate(recipientWalletId);
             verify(intraTransactionRepository, times(1)).save(any(IntraTransaction.class));
             verify(interTransactionRepository, times(1)).save(any(InterTransaction.class));
+            verify(eventPublisher, times(1)).publishEvent(new WalletChangedEvent(senderWalletId, 70.0, TransactionType.TRANSFER, -30.0, recipientWalletId));
+            verify(eventPublisher, times(1)).publishEvent(new WalletChangedEvent(recipientWalletId, 30.0, TransactionType.TRANSFER, 30.0, senderWalletId));
         }
 
         @Test
@@ -300,16 +337,16 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(invalidSenderWalletId)).thenReturn(Optional.empty());
-            when(walletRepository.findById(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(walletRepository.findByIdForUpdate(invalidSenderWalletId)).thenReturn(Optional.empty());
+            when(walletRepository.findByIdForUpdate(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
 
             Exception exception = assertThrows(UserNotFoundException.class, () -> {
                 transactionService.transfer(userId, invalidSenderWalletId, recipientWalletId, transferAmount);
             });
 
             assertEquals("Sender not found", exception.getMessage());
-            verify(walletRepository, times(1)).findById(invalidSenderWalletId);
-            verify(walletRepository, times(0)).findById(recipientWalletId);
+            verify(walletRepository, times(1)).findByIdForUpdate(invalidSenderWalletId);
+            verify(walletRepository, times(0)).findByIdForUpdate(recipientWalletId);
             verify(interTransactionRepository, times(0)).save(any(InterTransaction.class));
         }
 
@@ -339,8 +376,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(senderWalletId)).thenReturn(Optional.of(new Wallet()));
-            when(walletRepository.findById(invalidRecipientWalletId)).thenReturn(Optional.empty());
+            when(walletRepository.findByIdForUpdate(senderWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(walletRepository.findByIdForUpdate(invalidRecipientWalletId)).thenReturn(Optional.empty());
 
             transactionService.deposit(userId, senderWalletId, 100.0);
             Exception exception = assertThrows(UserNotFoundException.class, () -> {
@@ -348,8 +385,8 @@ public class TransactionServiceTest {
             });
 
             assertEquals("Recipient not found", exception.getMessage());
-            verify(walletRepository, times(2)).findById(senderWalletId);
-            verify(walletRepository, times(1)).findById(invalidRecipientWalletId);
+            verify(walletRepository, times(2)).findByIdForUpdate(senderWalletId);
+            verify(walletRepository, times(1)).findByIdForUpdate(invalidRecipientWalletId);
             verify(intraTransactionRepository, times(1)).save(any(IntraTransaction.class));
             verify(interTransactionRepository, times(0)).save(any(InterTransaction.class));
         }
@@ -363,8 +400,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(senderWalletId)).thenReturn(Optional.of(new Wallet()));
-            when(walletRepository.findById(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(walletRepository.findByIdForUpdate(senderWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(walletRepository.findByIdForUpdate(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
 
             transactionService.deposit(userId, senderWalletId, 100.0);
             Exception exception = assertThrows(TransferAmountMustBePositiveException.class, () -> {
@@ -372,8 +409,8 @@ public class TransactionServiceTest {
             });
 
             assertEquals("Transfer amount must be positive", exception.getMessage());
-            verify(walletRepository, times(2)).findById(senderWalletId);
-            verify(walletRepository, times(1)).findById(recipientWalletId);
+            verify(walletRepository, times(2)).findByIdForUpdate(senderWalletId);
+            verify(walletRepository, times(1)).findByIdForUpdate(recipientWalletId);
             verify(intraTransactionRepository, times(1)).save(any(IntraTransaction.class));
             verify(interTransactionRepository, times(0)).save(any(InterTransaction.class));
         }
@@ -387,8 +424,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(walletRepository.findById(senderWalletId)).thenReturn(Optional.of(new Wallet()));
-            when(walletRepository.findById(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(walletRepository.findByIdForUpdate(senderWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(walletRepository.findByIdForUpdate(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
 
             transactionService.deposit(userId, senderWalletId, 100.0);
             Exception exception = assertThrows(InsufficientFundsException.class, () -> {
@@ -396,11 +433,33 @@ public class TransactionServiceTest {
             });
 
             assertEquals("Insufficient funds for transfer", exception.getMessage());
-            verify(walletRepository, times(2)).findById(senderWalletId);
-            verify(walletRepository, times(1)).findById(recipientWalletId);
+            verify(walletRepository, times(2)).findByIdForUpdate(senderWalletId);
+            verify(walletRepository, times(1)).findByIdForUpdate(recipientWalletId);
             verify(intraTransactionRepository, times(1)).save(any(IntraTransaction.class));
             verify(interTransactionRepository, times(0)).save(any(InterTransaction.class));
         }
+
+        @Test
+        void testTransferLocksLowerWalletIdFirst() {
+            Long senderWalletId = 5L;
+            Long recipientWalletId = 2L;
+            Wallet senderWallet = new Wallet();
+            senderWallet.setBalance(100.0);
+
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(senderWalletId));
+            when(walletRepository.findByIdForUpdate(senderWalletId)).thenReturn(Optional.of(senderWallet));
+            when(walletRepository.findByIdForUpdate(recipientWalletId)).thenReturn(Optional.of(new Wallet()));
+            when(currencyConversionService.convert(anyString(), anyString(), anyDouble())).thenReturn(30.0);
+
+            transactionService.transfer(userId, senderWalletId, recipientWalletId, 30.0);
+
+            InOrder inOrder = inOrder(walletRepository);
+            inOrder.verify(walletRepository).findByIdForUpdate(recipientWalletId);
+            inOrder.verify(walletRepository).findByIdForUpdate(senderWalletId);
+            verify(walletRepository, never()).findById(any());
+        }
     }
 
     @Nested
@@ -437,8 +496,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, null);
 
@@ -455,8 +514,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(interTransactions);
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(interTransactions);
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, null);
 
@@ -478,8 +537,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(interTransactions);
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(interTransactions);
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, null);
 
@@ -493,8 +552,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, null);
 
@@ -517,8 +576,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(interTransactions);
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(interTransactions);
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "timestamp", "ASC", null);
 
@@ -540,8 +599,8 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(interTransactions);
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(interTransactions);
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "timestamp", "DESC", null);
 
@@ -558,14 +617,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT");
 
             assertEquals(1, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -578,14 +637,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, "WITHDRAWAL");
 
             assertEquals(1, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -598,14 +657,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(interTransactions);
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(interTransactions);
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, "TRANSFER");
 
             assertEquals(1, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -619,14 +678,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(interTransactions);
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(interTransactions);
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "timestamp", "ASC", "TRANSFER");
 
             assertEquals(2, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -640,14 +699,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "timestamp", "DESC", "DEPOSIT");
 
             assertEquals(2, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -661,14 +720,38 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "amount", "DESC", null);
             assertEquals(2, result.size());
 
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+        }
+
+        @Test
+        void testGetTransactionsPushesSortToRepositoriesAndMergesResults() {
+            Long walletId = 2L;
+
+            List<IntraTransaction> intraTransactions = new ArrayList<>();
+            intraTransactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 200.0));
+            intraTransactions.add(new IntraTransaction(new Wallet(), TransactionType.DEPOSIT, 50.0));
+            List<InterTransaction> interTransactions = new ArrayList<>();
+            interTransactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 150.0));
+            interTransactions.add(new InterTransaction(new Wallet(), new Wallet(), TransactionType.TRANSFER, 100.0));
+            Sort expectedSort = Sort.by(Sort.Order.desc("amount"), Sort.Order.asc("timestamp"));
+
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+            when(intraTransactionRepository.findByWalletId(walletId, expectedSort)).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(walletId, expectedSort)).thenReturn(interTransactions);
+
+            List<Object> result = transactionService.getTransactions(userId, walletId, "amount,TIMESTAMP", "DESC", null);
+
+            assertEquals(List.of(intraTransactions.get(0), interTransactions.get(0), interTransactions.get(1), intraTransactions.get(1)), result);
+            verify(historyQueryExecutor, times(2)).execute(any(Runnable.class));
         }
 
         @Test
@@ -682,14 +765,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "amount,timestamp", "DESC,DESC", null);
             assertEquals(2, result.size());
 
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -734,14 +817,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "amount,timestamp", "DESC", null);
 
             assertEquals(2, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -771,14 +854,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "AMOUNT", "DESC", null);
             assertEquals(2, result.size());
 
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -792,14 +875,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, "amount", "desc", null);
             assertEquals(2, result.size());
 
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -814,14 +897,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT,TRANSFER");
 
             assertEquals(2, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -836,14 +919,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT,TRANSFER,WITHDRAWAL");
 
             assertEquals(3, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -858,14 +941,14 @@ public class TransactionServiceTest {
             User user = new User("testUser", "password", CurrencyType.INR);
             when(userRepository.findById(userId)).thenReturn(Optional.of(user));
             when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
-            when(intraTransactionRepository.findByWalletId(walletId)).thenReturn(intraTransactions);
-            when(interTransactionRepository.findByWalletId(walletId)).thenReturn(new ArrayList<>());
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
 
             List<Object> result = transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT,Transfer");
 
             assertEquals(2, result.size());
-            verify(intraTransactionRepository, times(1)).findByWalletId(walletId);
-            verify(interTransactionRepository, times(1)).findByWalletId(walletId);
+            verify(intraTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
+            verify(interTransactionRepository, times(1)).findByWalletId(eq(walletId), any(Sort.class));
         }
 
         @Test
@@ -883,5 +966,221 @@ public class TransactionServiceTest {
             assertEquals("Invalid transaction type: Transf", exception.getMessage());
             verifyNoInteractions(intraTransactionRepository, interTransactionRepository);
         }
+
+        @Test
+        void testGetTransactionsMergesArchivedHistory() {
+            Long walletId = 2L;
+            LocalDateTime horizon = LocalDateTime.of(2025, 10, 1, 0, 0);
+            Wallet wallet = mock(Wallet.class);
+            when(wallet.getId()).thenReturn(walletId);
+            Wallet counterparty = mock(Wallet.class);
+            when(counterparty.getId()).thenReturn(3L);
+
+            List<IntraTransaction> intraTransactions = new ArrayList<>();
+            intraTransactions.add(new IntraTransaction(wallet, TransactionType.DEPOSIT, 100.0, horizon.plusDays(5)));
+            intraTransactions.add(new IntraTransaction(wallet, TransactionType.DEPOSIT, 999.0, horizon.minusDays(1)));
+
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+            when(walletRepository.findAllById(anySet())).thenReturn(List.of(wallet, counterparty));
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(intraTransactions);
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
+            when(archiveSnapshot.getHorizon()).thenReturn(horizon);
+            when(archiveSnapshot.read(walletId, null, null)).thenReturn(List.of(
+                    ArchivedTransaction.intra(walletId, 7L, horizon.minusMonths(3), TransactionType.WITHDRAWAL, 20.0),
+                    ArchivedTransaction.inter(walletId, 8L, horizon.minusMonths(2), TransactionType.TRANSFER, 30.0, 3L, walletId)));
+
+            List<Object> result = transactionService.getTransactions(userId, walletId, "timestamp", "DESC", null);
+
+            assertEquals(3, result.size());
+            assertEquals(100.0, ((IntraTransaction) result.get(0)).getAmount());
+            InterTransaction archivedTransfer = (InterTransaction) result.get(1);
+            assertEquals(8L, archivedTransfer.getId());
+            assertSame(counterparty, archivedTransfer.getSenderWallet());
+            assertSame(wallet, archivedTransfer.getRecipientWallet());
+            assertEquals(7L, ((IntraTransaction) result.get(2)).getId());
+        }
+
+        @Test
+        void testGetTransactionsSkipsArchiveWhenNothingIsArchived() {
+            Long walletId = 2L;
+
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(new ArrayList<>());
+
+            transactionService.getTransactions(userId, walletId, null, null, null);
+
+            verify(archiveSnapshot, never()).read(anyLong(), any(), any());
+            verify(walletRepository, never()).findAllById(any());
+        }
+
+        @Test
+        void testGetTransactionsWithFilterQueriesSpecificationsAndFiltersArchive() {
+            Long walletId = 2L;
+            LocalDateTime horizon = LocalDateTime.of(2025, 10, 1, 0, 0);
+            HistoryFilter filter = new HistoryFilter(horizon.minusMonths(2), null, 25.0, null);
+            Wallet wallet = mock(Wallet.class);
+            when(wallet.getId()).thenReturn(walletId);
+
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+            when(walletRepository.findAllById(anySet())).thenReturn(List.of(wallet));
+            when(intraTransactionRepository.findAll(ArgumentMatchers.<Specification<IntraTransaction>>any(), any(Sort.class)))
+                    .thenReturn(List.of(new IntraTransaction(wallet, TransactionType.DEPOSIT, 100.0, horizon.plusDays(5))));
+            when(interTransactionRepository.findAll(ArgumentMatchers.<Specification<InterTransaction>>any(), any(Sort.class)))
+                    .thenReturn(new ArrayList<>());
+            when(archiveSnapshot.getHorizon()).thenReturn(horizon);
+            when(archiveSnapshot.read(walletId, filter.from(), null)).thenReturn(List.of(
+                    ArchivedTransaction.intra(walletId, 7L, horizon.minusMonths(1), TransactionType.DEPOSIT, 20.0),
+                    ArchivedTransaction.intra(walletId, 8L, horizon.minusDays(3), TransactionType.DEPOSIT, 30.0)));
+
+            List<Object> result = transactionService.getTransactions(userId, walletId, "timestamp", "DESC", null, filter);
+
+            assertEquals(2, result.size());
+            assertEquals(100.0, ((IntraTransaction) result.get(0)).getAmount());
+            assertEquals(8L, ((IntraTransaction) result.get(1)).getId());
+            verify(intraTransactionRepository, never()).findByWalletId(anyLong(), any(Sort.class));
+            verify(interTransactionRepository, never()).findByWalletId(anyLong(), any(Sort.class));
+        }
+
+        @Test
+        void testGetTransactionsWithFilterSkipsTransfersAndArchiveWhenNotRequested() {
+            Long walletId = 2L;
+            LocalDateTime horizon = LocalDateTime.of(2025, 10, 1, 0, 0);
+            HistoryFilter filter = new HistoryFilter(horizon, null, null, null);
+
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+            when(intraTransactionRepository.findAll(ArgumentMatchers.<Specification<IntraTransaction>>any(), any(Sort.class)))
+                    .thenReturn(new ArrayList<>());
+            when(archiveSnapshot.getHorizon()).thenReturn(horizon);
+
+            transactionService.getTransactions(userId, walletId, null, null, "DEPOSIT", filter);
+
+            verify(intraTransactionRepository, times(1)).findAll(ArgumentMatchers.<Specification<IntraTransaction>>any(), any(Sort.class));
+            verifyNoInteractions(interTransactionRepository);
+            verify(archiveSnapshot, never()).read(anyLong(), any(), any());
+        }
+    }
+
+    @Nested
+    class ArchiveInterleavingTest {
+        private final LocalDateTime horizon = LocalDateTime.of(2025, 10, 1, 0, 0);
+
+        @TempDir
+        Path directory;
+
+        private TransactionArchive archive;
+        private ExecutorService executor;
+        private TransactionService service;
+        private Wallet historyWallet;
+
+        @BeforeEach
+        void setUp() {
+            archive = new TransactionArchive(directory.toString(), new SimpleMeterRegistry());
+            executor = Executors.newFixedThreadPool(2);
+            service = new TransactionService(userRepository, walletRepository, intraTransactionRepository, interTransactionRepository,
+                    currencyConversionService, executor, transactionMetrics, eventPublisher, walletVersionTracker, archive);
+            historyWallet = mock(Wallet.class);
+            when(historyWallet.getId()).thenReturn(walletId);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(new User("testUser", "password", CurrencyType.INR)));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+            when(walletRepository.findAllById(anySet())).thenReturn(List.of(historyWallet));
+        }
+
+        @AfterEach
+        void tearDown() {
+            executor.shutdownNow();
+            archive.close();
+        }
+
+        /**
+         * Publishes the segment holding transaction 7, as an archive run does before it deletes the archived rows.
+         */
+        private void publishArchiveRun() throws IOException {
+            Path path = directory.resolve("transactions-2025-09.wca");
+            try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(path, horizon.minusMonths(1), horizon, 16)) {
+                writer.write(ArchivedTransaction.intra(walletId, 7L, horizon.minusDays(3), TransactionType.DEPOSIT, 20.0));
+                archive.add(writer.commit());
+            }
+        }
+
+        private List<Long> historyIds() {
+            return service.getTransactions(userId, walletId, "timestamp", "DESC", null).stream()
+                    .map(transaction -> ((IntraTransaction) transaction).getId())
+                    .toList();
+        }
+
+        @Test
+        void testRowsDeletedByArchiveRunDuringDatabaseReadAreReadFromArchive() {
+            IntraTransaction recent = new IntraTransaction(8L, historyWallet, TransactionType.DEPOSIT, 50.0, horizon.plusDays(1));
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenAnswer(invocation -> {
+                publishArchiveRun();
+                return List.of(recent);
+            });
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(List.of());
+
+            assertEquals(List.of(8L, 7L), historyIds());
+        }
+
+        @Test
+        void testRowsArchivedAfterDatabaseReadAreNotDuplicated() {
+            IntraTransaction recent = new IntraTransaction(8L, historyWallet, TransactionType.DEPOSIT, 50.0, horizon.plusDays(1));
+            IntraTransaction archived = new IntraTransaction(7L, historyWallet, TransactionType.DEPOSIT, 20.0, horizon.minusDays(3));
+            when(intraTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenReturn(List.of(recent, archived));
+            when(interTransactionRepository.findByWalletId(eq(walletId), any(Sort.class))).thenAnswer(invocation -> {
+                publishArchiveRun();
+                return List.of();
+            });
+
+            assertEquals(List.of(8L, 7L), historyIds());
+        }
+    }
+
+    @Nested
+    class GetBalanceTest {
+
+        @Test
+        void testGetBalanceLoadsFromDatabaseOnce() {
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+            wallet.deposit(40.0);
+            when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+
+            assertEquals(40.0, transactionService.getBalance(userId, walletId));
+            assertEquals(40.0, transactionService.getBalance(userId, walletId));
+
+            verify(walletRepository, times(1)).findById(walletId);
+        }
+
+        @Test
+        void testGetBalanceReturnsCommittedBalanceWithoutDatabaseRead() {
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(walletId));
+            walletVersionTracker.onWalletChanged(new WalletChangedEvent(walletId, 25.0, TransactionType.DEPOSIT, 25.0, null));
+
+            assertEquals(25.0, transactionService.getBalance(userId, walletId));
+
+            verify(walletRepository, never()).findById(walletId);
+        }
+
+        @Test
+        void testGetBalanceWhenWalletDoesNotBelongToUser() {
+            User user = new User("testUser", "password", CurrencyType.INR);
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(walletRepository.findIdByUserId(userId)).thenReturn(Optional.of(2L));
+
+            assertThrows(UserNotAuthorizedException.class, () -> transactionService.getBalance(userId, walletId));
+
+            verify(walletRepository, never()).findById(walletId);
+        }
     }
 }
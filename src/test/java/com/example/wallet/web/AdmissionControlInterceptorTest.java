@@ -0,0 +1,117 @@
+package com.example.wallet.web;
+
+import com.example.wallet.Exceptions.RateLimitExceededException;
+import com.example.wallet.web.RateLimitPolicy.BucketLimit;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class AdmissionControlInterceptorTest {
+
+    @Mock
+    private HikariDataSource dataSource;
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlInterceptor interceptor;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getMaximumPoolSize()).thenReturn(10);
+        RateLimitPolicy policy = new RateLimitPolicy(Map.of(
+                RequestClass.WRITE, new BucketLimit(2, 1),
+                RequestClass.READ, new BucketLimit(100, 100),
+                RequestClass.HISTORY, new BucketLimit(100, 100)), 0.7, 0.9);
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(policy);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new AdmissionControlInterceptor(rateLimiter, new PoolSaturationShedder(dataSource, rateLimiter::getPolicy), meterRegistry);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private void poolUsage(int active, int waiting) {
+        when(pool.getActiveConnections()).thenReturn(active);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(waiting);
+    }
+
+    @Test
+    void testRequestsPassWhenPoolHasHeadroom() {
+        poolUsage(2, 0);
+
+        assertTrue(interceptor.preHandle(request("GET", "/users/1/wallets/1/transactions"), response, new Object()));
+        assertTrue(interceptor.preHandle(request("GET", "/users/1/wallets/1/balance"), response, new Object()));
+        assertTrue(interceptor.preHandle(request("POST", "/users/1/wallets/1/transactions"), response, new Object()));
+    }
+
+    @Test
+    void testHistoryIsShedBeforeReadsAndWrites() {
+        poolUsage(8, 0);
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(request("GET", "/users/1/wallets/1/transactions"), response, new Object()));
+
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertTrue(interceptor.preHandle(request("GET", "/users/1/wallets/1/balance"), response, new Object()));
+        assertTrue(interceptor.preHandle(request("POST", "/users/1/wallets/1/transactions"), response, new Object()));
+        assertEquals(1.0, meterRegistry.get("wallet.admission.rejected").tag("class", "history").tag("reason", "shed").counter().count());
+    }
+
+    @Test
+    void testReadsAreShedWhenThreadsWaitForConnections() {
+        poolUsage(10, 3);
+
+        assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(request("GET", "/users/1/wallets/1/balance"), response, new Object()));
+        assertTrue(interceptor.preHandle(request("POST", "/users/1/wallets/1/transactions"), response, new Object()));
+    }
+
+    @Test
+    void testWritesAreRateLimitedPerUser() {
+        poolUsage(0, 0);
+        interceptor.preHandle(request("POST", "/users/1/wallets/1/transactions"), response, new Object());
+        interceptor.preHandle(request("POST", "/users/1/wallets/1/transactions"), response, new Object());
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(request("POST", "/users/1/wallets/1/transactions"), response, new Object()));
+        assertEquals(1, exception.getRetryAfterSeconds());
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("bob", null, List.of()));
+        assertTrue(interceptor.preHandle(request("POST", "/users/2/wallets/2/transactions"), response, new Object()));
+        assertEquals(1.0, meterRegistry.get("wallet.admission.rejected").tag("class", "write").tag("reason", "rate_limit").counter().count());
+    }
+
+    @Test
+    void testPoolNotStartedDoesNotShed() {
+        when(dataSource.getHikariPoolMXBean()).thenReturn(null);
+
+        assertTrue(interceptor.preHandle(request("GET", "/users/1/wallets/1/transactions"), response, new Object()));
+    }
+}
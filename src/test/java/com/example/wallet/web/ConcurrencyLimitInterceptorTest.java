@@ -0,0 +1,69 @@
+package com.example.wallet.web;
+
+import com.example.wallet.Exceptions.ServerBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private DatabaseConcurrencyLimiter limiter;
+    private ConcurrencyLimitInterceptor interceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new DatabaseConcurrencyLimiter(2, 10);
+        interceptor = new ConcurrencyLimitInterceptor(limiter);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testPreHandleAcquiresPermit() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        assertTrue(proceed);
+        assertEquals(1, limiter.getAvailablePermits());
+    }
+
+    @Test
+    void testAfterCompletionReleasesPermitOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        interceptor.preHandle(request, response, new Object());
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertEquals(2, limiter.getAvailablePermits());
+    }
+
+    @Test
+    void testAsyncRequestReleasesPermitWhenHandlingStarts() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        interceptor.preHandle(request, response, new Object());
+
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+        assertEquals(2, limiter.getAvailablePermits());
+    }
+
+    @Test
+    void testPreHandleWhenAllPermitsAreTaken() {
+        interceptor.preHandle(new MockHttpServletRequest(), response, new Object());
+        interceptor.preHandle(new MockHttpServletRequest(), response, new Object());
+
+        assertThrows(ServerBusyException.class, () -> interceptor.preHandle(new MockHttpServletRequest(), response, new Object()));
+    }
+
+    @Test
+    void testAfterCompletionWithoutPermitDoesNotRelease() {
+        interceptor.afterCompletion(new MockHttpServletRequest(), response, new Object(), null);
+
+        assertEquals(2, limiter.getAvailablePermits());
+    }
+}
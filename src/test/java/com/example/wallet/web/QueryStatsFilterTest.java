@@ -0,0 +1,77 @@
+package com.example.wallet.web;
+
+import com.example.wallet.metrics.RequestQueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryStatsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryStatsFilter filter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryStatsFilter(meterRegistry, 500, 20, 0.0);
+        request = new MockHttpServletRequest("GET", "/users/1/wallets/1/transactions");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/{userId}/wallets/{walletId}/transactions");
+    }
+
+    @Test
+    void testRecordsStatementCountPerEndpoint() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestQueryStats.recordStatement(TimeUnit.MILLISECONDS.toNanos(2));
+            RequestQueryStats.recordStatement(TimeUnit.MILLISECONDS.toNanos(3));
+        });
+
+        DistributionSummary statements = meterRegistry.get("wallet.http.statements")
+                .tag("method", "GET").tag("uri", "/users/{userId}/wallets/{walletId}/transactions").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+        assertEquals(5.0, meterRegistry.get("wallet.http.database.time").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertNull(RequestQueryStats.current());
+    }
+
+    @Test
+    void testCountsStatementsFromPropagatedTasks() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                    CompletableFuture.runAsync(RequestQueryStats.propagate(() -> RequestQueryStats.recordStatement(1_000)), executor).join());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1.0, meterRegistry.get("wallet.http.statements").summary().totalAmount());
+    }
+
+    @Test
+    void testStatementsOutsideRequestAreIgnored() {
+        RequestQueryStats.recordStatement(1_000);
+
+        assertNull(RequestQueryStats.current());
+        assertTrue(meterRegistry.find("wallet.http.statements").summaries().isEmpty());
+    }
+
+    @Test
+    void testUnmappedRequestIsTaggedUnmapped() throws Exception {
+        MockHttpServletRequest unmapped = new MockHttpServletRequest("POST", "/unknown");
+
+        filter.doFilter(unmapped, new MockHttpServletResponse(), (req, res) -> {});
+
+        assertEquals(1, meterRegistry.get("wallet.http.statements").tag("uri", "unmapped").summary().count());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.wallet.web;
+
+import com.example.wallet.Enums.TransactionType;
+import com.example.wallet.datasource.ReadYourWritesTracker;
+import com.example.wallet.datasource.ReplicaRoutingContext;
+import com.example.wallet.service.WalletChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesInterceptorTest {
+    private ReadYourWritesTracker tracker;
+    private ReadYourWritesInterceptor interceptor;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(5000);
+        interceptor = new ReadYourWritesInterceptor(tracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.restore(null);
+    }
+
+    private MockHttpServletRequest request(String method, long walletId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/users/1/wallets/" + walletId + "/transactions");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("userId", "1", "walletId", String.valueOf(walletId)));
+        return request;
+    }
+
+    @Test
+    void testReadOfUntouchedWalletMayUseReplica() {
+        MockHttpServletRequest request = request("GET", 7);
+
+        interceptor.preHandle(request, response, null);
+
+        assertFalse(ReplicaRoutingContext.isPrimaryRequired());
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+    @Test
+    void testWriteRequestPinsWalletToPrimary() {
+        MockHttpServletRequest write = request("POST", 7);
+        interceptor.preHandle(write, response, null);
+        assertTrue(ReplicaRoutingContext.isPrimaryRequired());
+        interceptor.afterCompletion(write, response, null, null);
+        assertFalse(ReplicaRoutingContext.isPrimaryRequired());
+
+        MockHttpServletRequest read = request("GET", 7);
+        interceptor.preHandle(read, response, null);
+        assertTrue(ReplicaRoutingContext.isPrimaryRequired());
+        interceptor.afterCompletion(read, response, null, null);
+
+        assertFalse(ReplicaRoutingContext.isPrimaryRequired());
+        assertFalse(tracker.isSticky(8L));
+    }
+
+    @Test
+    void testWalletChangedEventPinsCounterpartyToPrimary() {
+        tracker.onWalletChanged(new WalletChangedEvent(9L, 50.0, TransactionType.TRANSFER, 50.0, 7L));
+        MockHttpServletRequest read = request("GET", 9);
+        interceptor.preHandle(read, response, null);
+
+        assertTrue(ReplicaRoutingContext.isPrimaryRequired());
+        interceptor.afterCompletion(read, response, null, null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.wallet.web;
+
+import com.example.wallet.web.RateLimitPolicy.BucketLimit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private RateLimitPolicy policy;
+    private TokenBucketRateLimiter rateLimiter;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        policy = new RateLimitPolicy(Map.of(
+                RequestClass.WRITE, new BucketLimit(3, 10),
+                RequestClass.READ, new BucketLimit(5, 5),
+                RequestClass.HISTORY, new BucketLimit(1, 1)), 0.75, 0.95);
+        rateLimiter = new TokenBucketRateLimiter(policy, clock::get);
+    }
+
+    @Test
+    void testBurstIsAllowedThenRejectedWithWaitTime() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("alice", RequestClass.WRITE));
+        }
+
+        long waitNanos = rateLimiter.tryAcquire("alice", RequestClass.WRITE);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+    }
+
+    @Test
+    void testTokensRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("alice", RequestClass.WRITE);
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, rateLimiter.tryAcquire("alice", RequestClass.WRITE));
+        assertTrue(rateLimiter.tryAcquire("alice", RequestClass.WRITE) > 0);
+    }
+
+    @Test
+    void testBucketsAreIsolatedPerUserAndRequestClass() {
+        assertEquals(0, rateLimiter.tryAcquire("alice", RequestClass.HISTORY));
+        assertTrue(rateLimiter.tryAcquire("alice", RequestClass.HISTORY) > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("bob", RequestClass.HISTORY));
+        assertEquals(0, rateLimiter.tryAcquire("alice", RequestClass.READ));
+    }
+
+    @Test
+    void testUpdatedPolicyAppliesToExistingBuckets() {
+        assertEquals(0, rateLimiter.tryAcquire("alice", RequestClass.HISTORY));
+        assertTrue(rateLimiter.tryAcquire("alice", RequestClass.HISTORY) > 0);
+
+        rateLimiter.updatePolicy(new RateLimitPolicy(Map.of(
+                RequestClass.WRITE, new BucketLimit(3, 10),
+                RequestClass.READ, new BucketLimit(5, 5),
+                RequestClass.HISTORY, new BucketLimit(5, 1)), 0.75, 0.95));
+
+        assertEquals(0, rateLimiter.tryAcquire("alice", RequestClass.HISTORY));
+    }
+
+    @Test
+    void testEvictIdleRemovesFullBuckets() {
+        rateLimiter.tryAcquire("alice", RequestClass.WRITE);
+        rateLimiter.tryAcquire("bob", RequestClass.HISTORY);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(1, rateLimiter.evictIdle());
+        assertEquals(1, rateLimiter.getBucketCount());
+    }
+
+    @Test
+    void testPolicyFileOverridesDefaultsAndDetectsChanges() throws Exception {
+        Path path = directory.resolve("rate-limits.properties");
+        Files.writeString(path, "history.burst=4\nhistory.per-second=0.5\nshed.history-utilization=0.6\n");
+        RateLimitPolicyFile policyFile = new RateLimitPolicyFile(path);
+
+        RateLimitPolicy loaded = policyFile.load(policy);
+
+        assertEquals(new BucketLimit(4, 0.5), loaded.limit(RequestClass.HISTORY));
+        assertEquals(new BucketLimit(3, 10), loaded.limit(RequestClass.WRITE));
+        assertEquals(0.6, loaded.historyShedUtilization());
+        assertFalse(policyFile.isModified());
+
+        Files.writeString(path, "write.burst=0\n");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        assertTrue(policyFile.isModified());
+        assertThrows(IllegalArgumentException.class, () -> policyFile.load(policy));
+    }
+}